@@ -0,0 +1,72 @@
+package com.pgc.book.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.RentalMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 직렬화 벤치마크
+ * : 컨트롤러가 돌려주는 DTO 목록을 Jackson 으로 JSON 바이트로 만드는 비용만 따로 측정합니다. (DB 시간 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int books;
+
+    // 스프링 부트의 기본 ObjectMapper 처럼 클래스패스의 모듈(JavaTimeModule 등)을 등록합니다.
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private List<BookDTO> allBooks;
+    private List<BookRentalCountDTO> rentalCounts;
+    private List<BookDTO> unreturnedBooks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        try (LibraryFixture fixture = LibraryFixture.create("json" + books, books);
+             SqlSession session = fixture.getSqlSessionFactory().openSession()) {
+            allBooks = session.getMapper(BookMapper.class).findAllBooks();
+            rentalCounts = session.getMapper(BookMapper.class).getBookRentalCounts(true);
+            unreturnedBooks = session.getMapper(RentalMapper.class).findUnreturnedBooks();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeAllBooks() throws Exception {
+        return objectMapper.writeValueAsBytes(allBooks);
+    }
+
+    @Benchmark
+    public byte[] serializeRentalCounts() throws Exception {
+        return objectMapper.writeValueAsBytes(rentalCounts);
+    }
+
+    @Benchmark
+    public byte[] serializeUnreturnedBooks() throws Exception {
+        return objectMapper.writeValueAsBytes(unreturnedBooks);
+    }
+}
@@ -0,0 +1,165 @@
+package com.pgc.book.bench;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.parsing.PropertyParser;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * 벤치마크용 임베디드(H2, MariaDB 모드) 도서관 DB + MyBatis Mapper 계층
+ * : 운영과 같은 mappers/*.xml 을 그대로 읽고, 크기를 지정한 데이터셋을 고정 시드로 생성합니다.
+ * (회원 = 도서의 1/10, 대출 = 도서의 5배, 대출의 5%는 미반납)
+ */
+public final class LibraryFixture implements AutoCloseable {
+
+    public static final String KNOWN_MEMBER_NAME = "홍길동";
+
+    private static final List<String> MAPPERS = List.of(
+            "mappers/BookMapper.xml", "mappers/MemberMapper.xml", "mappers/RentalMapper.xml",
+            "mappers/RentalArchiveMapper.xml");
+    private static final String[] FAMILY_NAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "시우", "지유", "주원", "서윤", "하준", "지민"};
+    private static final String[] PUBLISHERS = {"에이콘", "IT출판", "데이터북", "코딩출판", "인사이트", "한빛미디어", "길벗"};
+
+    private final JdbcConnectionPool dataSource;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    private LibraryFixture(JdbcConnectionPool dataSource, SqlSessionFactory sqlSessionFactory) {
+        this.dataSource = dataSource;
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    public static LibraryFixture create(String name, int books) throws SQLException, IOException {
+        JdbcConnectionPool dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:" + name + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection()) {
+            createSchema(connection);
+            generate(connection, books);
+        }
+        return new LibraryFixture(dataSource, buildSqlSessionFactory(dataSource));
+    }
+
+    public SqlSessionFactory getSqlSessionFactory() {
+        return sqlSessionFactory;
+    }
+
+    @Override
+    public void close() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        } catch (SQLException ignored) {
+            // 이미 종료된 DB
+        }
+        dataSource.dispose();
+    }
+
+    private static SqlSessionFactory buildSqlSessionFactory(JdbcConnectionPool dataSource) throws IOException {
+        Configuration configuration = new Configuration(
+                new Environment("bench", new JdbcTransactionFactory(), dataSource));
+        // application.properties 의 mybatis.* 설정과 동일
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.pgc.book.dto");
+        // 같은 세션에서 같은 쿼리를 반복해도 매번 DB를 읽도록 1차 캐시를 구문 단위로 제한하고,
+        // 매퍼 XML 의 2차 캐시(OffHeapCache)도 끕니다. (캐시 속도가 아니라 쿼리 속도를 측정)
+        configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+        configuration.setCacheEnabled(false);
+        // 매퍼 XML 의 ${name:default} 자리 표시자를 기본값으로 해석합니다.
+        Properties variables = new Properties();
+        variables.setProperty(PropertyParser.KEY_ENABLE_DEFAULT_VALUE, "true");
+        configuration.setVariables(variables);
+
+        for (String resource : MAPPERS) {
+            try (InputStream in = Resources.getResourceAsStream(resource)) {
+                new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+            }
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static void createSchema(Connection connection) throws IOException, SQLException {
+        String schema;
+        try (InputStream in = Resources.getResourceAsStream("dbquary/hrdbook-h2.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.replaceAll("(?m)^--.*$", "").isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static void generate(Connection connection, int books) throws SQLException {
+        Random random = new Random(42);
+        int members = Math.max(books / 10, 1);
+        int rentals = books * 5;
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO member (name, phone, address) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < members; i++) {
+                String name = (i == 0) ? KNOWN_MEMBER_NAME
+                        : FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+                insert.setString(1, name);
+                insert.setString(2, String.format("010-%04d-%04d", i / 10000, i % 10000));
+                insert.setString(3, "서울시 " + (i % 25) + "구");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO book (title, author, publisher, price, pub_year) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < books; i++) {
+                insert.setString(1, "도서 " + i + " - 프로그래밍 입문");
+                insert.setString(2, FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + "작가" + (i % 500));
+                insert.setString(3, PUBLISHERS[random.nextInt(PUBLISHERS.length)]);
+                insert.setInt(4, 5000 + random.nextInt(95) * 500);
+                insert.setString(5, String.valueOf(1990 + random.nextInt(36)));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO rental (member_id, book_id, rent_date, return_date) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rentals; i++) {
+                LocalDate rentDate = firstDay.plusDays(random.nextInt(2000));
+                boolean returned = random.nextInt(100) >= 5;
+                insert.setInt(1, 1 + random.nextInt(members));
+                insert.setInt(2, 1 + random.nextInt(books));
+                insert.setDate(3, Date.valueOf(rentDate));
+                insert.setDate(4, returned ? Date.valueOf(rentDate.plusDays(1 + random.nextInt(30))) : null);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
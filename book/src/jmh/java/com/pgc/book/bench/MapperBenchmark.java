@@ -0,0 +1,82 @@
+package com.pgc.book.bench;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.MemberMapper;
+import com.pgc.book.mapper.RentalMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapper 조회 쿼리 벤치마크 (임베디드 H2, 도서 수별)
+ * : 전체 조회, 대출 횟수 집계, 회원 이름 조인, 미반납 조회의 평균 소요 시간을 측정합니다.
+ * ex) ./gradlew jmh -Pjmh.includes=MapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int books;
+
+    private LibraryFixture fixture;
+    private SqlSession session;
+    private BookMapper bookMapper;
+    private MemberMapper memberMapper;
+    private RentalMapper rentalMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = LibraryFixture.create("mapper" + books, books);
+        session = fixture.getSqlSessionFactory().openSession();
+        bookMapper = session.getMapper(BookMapper.class);
+        memberMapper = session.getMapper(MemberMapper.class);
+        rentalMapper = session.getMapper(RentalMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<BookDTO> findAllBooks() {
+        return bookMapper.findAllBooks();
+    }
+
+    @Benchmark
+    public List<BookRentalCountDTO> getBookRentalCounts() {
+        return bookMapper.getBookRentalCounts(true);
+    }
+
+    @Benchmark
+    public List<BookDTO> findBooksRentedByMemberName() {
+        return memberMapper.findBooksRentedByMemberName(LibraryFixture.KNOWN_MEMBER_NAME);
+    }
+
+    @Benchmark
+    public List<BookDTO> findUnreturnedBooks() {
+        return rentalMapper.findUnreturnedBooks();
+    }
+}
@@ -0,0 +1,118 @@
+package com.pgc.book.bench;
+
+import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.RentalArchiveMapper;
+import com.pgc.book.mapper.RentalMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대출 보관(hot / archive 분리) 전후의 대출 조회 쿼리 벤치마크 (임베디드 H2)
+ * : archived=true 이면 측정 전에 CUTOFF 이전에 반납된 대출(생성 데이터의 약 70%)을 RentalArchiver 와 같은
+ * 쿼리로 rental_archive 에 옮긴 뒤, 기본(hot) 조회와 history 조회의 평균 소요 시간을 측정합니다.
+ * ex) ./gradlew jmh -Pjmh.includes=RentalArchiveBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalArchiveBenchmark {
+
+    // LibraryFixture 의 대출일은 2020-01-01 부터 약 5.5년에 고르게 분포합니다.
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+    private static final int ARCHIVE_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int books;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private LibraryFixture fixture;
+    private SqlSession session;
+    private BookMapper bookMapper;
+    private RentalMapper rentalMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = LibraryFixture.create("archive" + books + archived, books);
+        if (archived) {
+            archive();
+        }
+        session = fixture.getSqlSessionFactory().openSession();
+        bookMapper = session.getMapper(BookMapper.class);
+        rentalMapper = session.getMapper(RentalMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<RentalDTO> findAllRentals() {
+        return rentalMapper.findAllRentals(false);
+    }
+
+    @Benchmark
+    public List<RentalDTO> findAllRentalsWithHistory() {
+        return rentalMapper.findAllRentals(true);
+    }
+
+    @Benchmark
+    public List<RentalDTO> findRentalsPage() {
+        return rentalMapper.findRentalsPage(null, 51, false);
+    }
+
+    @Benchmark
+    public List<RentalDTO> findOpenRentals() {
+        return rentalMapper.findOpenRentals();
+    }
+
+    @Benchmark
+    public List<BookRentalCountDTO> getBookRentalCounts() {
+        return bookMapper.getBookRentalCounts(false);
+    }
+
+    @Benchmark
+    public List<BookRentalCountDTO> getBookRentalCountsWithHistory() {
+        return bookMapper.getBookRentalCounts(true);
+    }
+
+    // RentalArchiver.moveBatch 와 같은 순서로 한 배치씩 커밋합니다.
+    private void archive() {
+        try (SqlSession archiveSession = fixture.getSqlSessionFactory().openSession()) {
+            RentalArchiveMapper archiveMapper = archiveSession.getMapper(RentalArchiveMapper.class);
+            List<Integer> ids;
+            do {
+                ids = archiveMapper.findArchivableIds(CUTOFF, ARCHIVE_BATCH_SIZE);
+                if (!ids.isEmpty()) {
+                    archiveMapper.copyToArchive(ids);
+                    archiveMapper.deleteArchived(ids);
+                }
+                archiveSession.commit();
+            } while (ids.size() == ARCHIVE_BATCH_SIZE);
+        }
+    }
+}
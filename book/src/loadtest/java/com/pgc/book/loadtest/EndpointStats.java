@@ -0,0 +1,57 @@
+package com.pgc.book.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트 하나의 지연 시간 분포(HdrHistogram, ns)와 응답 결과 수
+ * : 여러 가상 스레드가 동시에 기록하므로 ConcurrentHistogram 을 사용합니다.
+ * 4xx(재고 없음 409 등)는 정상적인 업무 응답으로 보고 오류(5xx / 연결 실패 / 타임아웃)와 따로 셉니다.
+ */
+class EndpointStats {
+
+    // 1분 넘는 응답은 1분으로 기록합니다. (유효 숫자 3자리)
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String endpoint;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+        histogram.setTag(endpoint.replaceAll("[^A-Za-z0-9/{}_-]", "_"));
+    }
+
+    void record(long latencyNanos, int status) {
+        histogram.recordValue(Math.min(Math.max(latencyNanos, 1), MAX_TRACKABLE_NANOS));
+        if (status >= 500 || status < 0) {
+            errors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long requests() {
+        return histogram.getTotalCount();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,204 @@
+package com.pgc.book.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * 도서관 REST API 호출 + 엔드포인트별 지연 시간 기록
+ * : 요청마다 endpoint 이름(경로 변수는 {id} 로 묶은 이름)으로 EndpointStats 에 기록합니다.
+ * 지연 시간은 intendedStart(열린 모델에서 요청이 "도착했어야 할" 시각)부터 재므로,
+ * 서버가 밀려서 요청이 늦게 나간 시간도 지연 시간에 포함됩니다. (coordinated omission 보정)
+ */
+class LibraryClient {
+
+    static final String[] WORDS = {"스프링", "자바", "데이터베이스", "알고리즘", "클라우드", "보안", "네트워크", "운영체제"};
+    static final String[] LEVELS = {"입문", "실전", "설계", "완벽 가이드", "핵심 원리"};
+    static final String[] FAMILY_NAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "시우", "지유", "주원", "서윤", "하준", "지민"};
+    private static final String[] PUBLISHERS = {"에이콘", "IT출판", "데이터북", "코딩출판", "인사이트", "한빛미디어", "길벗"};
+    private static final int SEED_CHUNK = 500;
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private volatile Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private int books;
+    private int members;
+
+    LibraryClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    int books() {
+        return books;
+    }
+
+    int members() {
+        return members;
+    }
+
+    /**
+     * 측정 구간을 새로 시작합니다. (이전 구간의 기록은 반환된 Map 에 남습니다.)
+     */
+    Map<String, EndpointStats> reset() {
+        Map<String, EndpointStats> previous = stats;
+        stats = new ConcurrentHashMap<>();
+        return previous;
+    }
+
+    EndpointStats stats(String endpoint) {
+        return stats.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+
+    Response get(String endpoint, String path, long intendedStart) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).GET(), intendedStart);
+    }
+
+    Response post(String endpoint, String path, Object body, long intendedStart) {
+        return send(endpoint, json(HttpRequest.newBuilder(uri(path)))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))), intendedStart);
+    }
+
+    Response put(String endpoint, String path, long intendedStart) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).PUT(HttpRequest.BodyPublishers.noBody()), intendedStart);
+    }
+
+    /**
+     * 데이터가 없는 DB를 batch API 로 채웁니다. (도서 / 회원 / 최근 1년 안에 반납된 대출 기록)
+     * 빈 DB에서 시작하므로 ID는 1부터 차례로 부여됩니다.
+     */
+    void seed(int books, int members, Random random) throws IOException, InterruptedException {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            Map<String, Object> book = new LinkedHashMap<>();
+            book.put("title", WORDS[random.nextInt(WORDS.length)] + " " + LEVELS[random.nextInt(LEVELS.length)] + " " + i);
+            book.put("author", FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + "작가" + (i % 300));
+            book.put("publisher", PUBLISHERS[random.nextInt(PUBLISHERS.length)]);
+            book.put("price", 5000 + random.nextInt(95) * 500);
+            book.put("pubYear", String.valueOf(1990 + random.nextInt(36)));
+            rows.add(book);
+        }
+        postInChunks("/api/books/batch", rows);
+
+        rows.clear();
+        for (int i = 0; i < members; i++) {
+            Map<String, Object> member = new LinkedHashMap<>();
+            member.put("name", FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+            member.put("phone", String.format("010-%04d-%04d", i / 10000, i % 10000));
+            member.put("address", "서울시 " + (i % 25) + "구");
+            rows.add(member);
+        }
+        postInChunks("/api/members/batch", rows);
+
+        rows.clear();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < books * 2; i++) {
+            LocalDate rentDate = today.minusDays(15 + random.nextInt(300));
+            rows.add(Map.of(
+                    "memberId", 1 + random.nextInt(members),
+                    "bookId", 1 + random.nextInt(books),
+                    "rentDate", rentDate.toString(),
+                    "returnDate", rentDate.plusDays(1 + random.nextInt(14)).toString()));
+        }
+        postInChunks("/api/rentals/batch", rows);
+
+        this.books = books;
+        this.members = members;
+    }
+
+    /**
+     * 이미 데이터가 있는 서버를 대상으로 할 때 ID 범위만 지정합니다.
+     */
+    void assumeExisting(int books, int members) {
+        this.books = books;
+        this.members = members;
+    }
+
+    int rentalId(Response response) {
+        if (response.body() == null) {
+            return 0;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("rentalId").asInt();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void postInChunks(String path, List<Object> rows) throws IOException, InterruptedException {
+        for (int from = 0; from < rows.size(); from += SEED_CHUNK) {
+            List<Object> chunk = rows.subList(from, Math.min(from + SEED_CHUNK, rows.size()));
+            HttpResponse<String> response = client.send(json(HttpRequest.newBuilder(uri(path)))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(chunk))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode result = objectMapper.readTree(response.body());
+            if (response.statusCode() >= 300 || result.path("errors").size() > 0) {
+                throw new IllegalStateException("초기 데이터 등록 실패: " + path + " → " + response.statusCode()
+                        + " " + result.path("errors"));
+            }
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder, long intendedStart) {
+        HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+        int status;
+        byte[] body = null;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            body = response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        } catch (IOException e) {
+            status = -1;
+        }
+        stats(endpoint).record(System.nanoTime() - intendedStart, status);
+        return new Response(status, body);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder) {
+        return builder.header("Content-Type", "application/json");
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    record Response(int status, byte[] body) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
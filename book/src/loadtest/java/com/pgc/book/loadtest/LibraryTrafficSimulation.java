@@ -0,0 +1,181 @@
+package com.pgc.book.loadtest;
+
+import com.pgc.book.BookApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 도서관 트래픽 시뮬레이션 부하 테스트 (열린 모델, open model)
+ * : 응답을 기다리지 않고 초당 rate 건(포아송 도착)으로 시나리오를 시작합니다. 서버가 느려져도 도착률은 그대로이므로
+ * 실제 사용자처럼 요청이 밀리고, 지연 시간은 "도착했어야 할" 시각부터 잽니다. 요청마다 가상 스레드 하나를 씁니다.
+ *
+ * baseUrl 을 주지 않으면 애플리케이션을 loadtest 프로파일(임베디드 H2)로 직접 띄우고 batch API 로 데이터를 채웁니다.
+ * 결과 : 엔드포인트별 요청 수 / 처리량 / 4xx / 오류율 / 지연 시간 백분위 표,
+ * outputDir 에 엔드포인트별 HdrHistogram 백분위 분포(*.hgrm, ms)와 전체 히스토그램 로그(traffic.hlog)
+ * <pre>
+ * ./gradlew simulateTraffic -Prate=300 -PdurationSeconds=60 -Pmix=browse=50,search=25,checkout=10,stats=15
+ * ./gradlew simulateTraffic -PbaseUrl=http://localhost:8080 -Pbooks=5 -Pmembers=3   (실행 중인 서버, 기존 ID 범위)
+ * </pre>
+ */
+public class LibraryTrafficSimulation {
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("rate", "200"));
+        Duration duration = Duration.ofSeconds(Long.getLong("durationSeconds", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("warmupSeconds", 5));
+        TrafficMix mix = TrafficMix.parse(System.getProperty("mix", TrafficMix.DEFAULT));
+        int books = Integer.getInteger("books", 2000);
+        int members = Integer.getInteger("members", 200);
+        int maxInFlight = Integer.getInteger("maxInFlight", 5000);
+        String baseUrl = System.getProperty("baseUrl", "");
+        String profiles = System.getProperty("profiles", "loadtest,virtual");
+        Path outputDir = Path.of(System.getProperty("outputDir", "build/loadtest"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate는 0보다 커야 합니다: " + rate);
+        }
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isBlank()) {
+            context = SpringApplication.run(BookApplication.class,
+                    "--spring.profiles.active=" + profiles, "--server.port=0");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LibraryClient client = new LibraryClient(baseUrl);
+            SplittableRandom random = new SplittableRandom(42);
+            if (context != null) {
+                client.seed(books, members, new Random(42));
+            } else {
+                client.assumeExisting(books, members);
+            }
+
+            System.out.printf("%s : %.0f req/s, mix %s, 준비 %d초 + 측정 %d초%n",
+                    baseUrl, rate, mix, warmup.toSeconds(), duration.toSeconds());
+            run(client, mix, rate, warmup, maxInFlight, random);
+            client.reset();
+            long startMillis = System.currentTimeMillis();
+            long dropped = run(client, mix, rate, duration, maxInFlight, random);
+            long endMillis = System.currentTimeMillis();
+
+            Map<String, EndpointStats> stats = client.reset();
+            report(stats, duration, dropped);
+            write(stats, outputDir, startMillis, endMillis);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * 포아송 도착(지수 분포 간격)으로 duration 동안 시나리오를 시작합니다.
+     * 진행 중인 시나리오가 maxInFlight 를 넘으면 보내지 않고 버립니다. (클라이언트 메모리 보호)
+     * @return 버린 도착 수
+     */
+    private static long run(LibraryClient client, TrafficMix mix, double rate, Duration duration,
+                            int maxInFlight, SplittableRandom random) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+        long dropped = 0;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = next;
+                Scenario scenario = mix.next(random);
+                if (inFlight.tryAcquire()) {
+                    workers.execute(() -> {
+                        try {
+                            scenario.run(client, intendedStart);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    dropped++;
+                }
+                next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            }
+        }
+        return dropped;
+    }
+
+    private static void report(Map<String, EndpointStats> stats, Duration duration, long dropped) {
+        System.out.printf("%n%-36s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+                "4xx", "errors", "err%", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (EndpointStats endpoint : sorted(stats)) {
+            Histogram histogram = endpoint.histogram();
+            long requests = endpoint.requests();
+            System.out.printf("%-36s %9d %9.1f %7d %7d %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), requests, requests / (double) duration.toSeconds(),
+                    endpoint.clientErrors(), endpoint.errors(),
+                    requests == 0 ? 0 : endpoint.errors() * 100.0 / requests,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        if (dropped > 0) {
+            System.out.printf("동시 요청 상한(maxInFlight)으로 보내지 못한 도착: %d%n", dropped);
+        }
+    }
+
+    // 엔드포인트별 백분위 분포(.hgrm, ms 단위)와 태그가 붙은 히스토그램 로그(.hlog, HistogramLogProcessor 등으로 분석)
+    private static void write(Map<String, EndpointStats> stats, Path outputDir, long startMillis, long endMillis)
+            throws IOException {
+        Files.createDirectories(outputDir);
+        try (PrintStream log = new PrintStream(Files.newOutputStream(outputDir.resolve("traffic.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+            for (EndpointStats endpoint : sorted(stats)) {
+                Histogram histogram = endpoint.histogram();
+                histogram.setStartTimeStamp(startMillis);
+                histogram.setEndTimeStamp(endMillis);
+                writer.outputIntervalHistogram(histogram);
+
+                Path file = outputDir.resolve(histogram.getTag().replaceAll("[^A-Za-z0-9_-]", "_") + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    histogram.outputPercentileDistribution(out, 1_000_000.0);
+                }
+            }
+        }
+        System.out.printf("HdrHistogram 결과: %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static List<EndpointStats> sorted(Map<String, EndpointStats> stats) {
+        List<EndpointStats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparing(EndpointStats::endpoint));
+        return list;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,89 @@
+package com.pgc.book.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 도서관 트래픽 시나리오 (도착 한 번 = 시나리오 한 번)
+ * : 시나리오 안에서 요청 하나를 골라 보내고, 대출(CHECKOUT)은 대출 → (대부분) 바로 반납까지 이어서 보냅니다.
+ * 이어지는 요청의 지연 시간은 그 요청을 보낸 시각부터 잽니다.
+ */
+enum Scenario {
+
+    // 목록 / 단건 조회
+    BROWSE {
+        @Override
+        void run(LibraryClient client, long intendedStart) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (random.nextInt(3)) {
+                case 0 -> client.get("GET /api/books?cursor", "/api/books?size=20&cursor=" + (1 + random.nextInt(client.books())), intendedStart);
+                case 1 -> client.get("GET /api/books/{id}", "/api/books/" + (1 + random.nextInt(client.books())), intendedStart);
+                default -> client.get("GET /api/members/{id}", "/api/members/" + (1 + random.nextInt(client.members())), intendedStart);
+            }
+        }
+    },
+
+    // 전문 검색 / 회원 이름 자동완성 / 가격대 검색
+    SEARCH {
+        @Override
+        void run(LibraryClient client, long intendedStart) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (random.nextInt(3)) {
+                case 0 -> client.get("GET /api/books/fulltext", "/api/books/fulltext?size=20&q="
+                        + encode(pick(LibraryClient.WORDS) + " " + pick(LibraryClient.LEVELS)), intendedStart);
+                case 1 -> client.get("GET /api/members/typeahead", "/api/members/typeahead?q="
+                        + encode(pick(LibraryClient.FAMILY_NAMES)), intendedStart);
+                default -> {
+                    int min = 5000 + random.nextInt(80) * 500;
+                    client.get("GET /api/books/search/price", "/api/books/search/price?min=" + min + "&max=" + (min + 2000), intendedStart);
+                }
+            }
+        }
+    },
+
+    // 대출 후 80%는 바로 반납 (나머지는 미반납으로 남아 재고 / 미반납 통계에 반영됩니다.)
+    CHECKOUT {
+        @Override
+        void run(LibraryClient client, long intendedStart) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<String, Object> rental = Map.of(
+                    "memberId", 1 + random.nextInt(client.members()),
+                    "bookId", 1 + random.nextInt(client.books()),
+                    "rentDate", LocalDate.now().toString());
+            LibraryClient.Response response = client.post("POST /api/rentals", "/api/rentals", rental, intendedStart);
+            // (write-behind 모드의 202 는 rental_id 가 아직 없으므로 반납하지 않습니다.)
+            if (response.status() == 201 && random.nextInt(100) < 80) {
+                int rentalId = client.rentalId(response);
+                if (rentalId > 0) {
+                    client.put("PUT /api/rentals/{id}/return", "/api/rentals/" + rentalId + "/return", System.nanoTime());
+                }
+            }
+        }
+    },
+
+    // 대시보드 통계 폴링
+    STATS {
+        @Override
+        void run(LibraryClient client, long intendedStart) {
+            switch (ThreadLocalRandom.current().nextInt(4)) {
+                case 0 -> client.get("GET /api/books/stats/rental-counts", "/api/books/stats/rental-counts?limit=10", intendedStart);
+                case 1 -> client.get("GET /api/books/stats/most-expensive", "/api/books/stats/most-expensive", intendedStart);
+                case 2 -> client.get("GET /api/rentals/unreturned", "/api/rentals/unreturned", intendedStart);
+                default -> client.get("GET /api/rentals/overdue", "/api/rentals/overdue", intendedStart);
+            }
+        }
+    };
+
+    abstract void run(LibraryClient client, long intendedStart);
+
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,174 @@
+package com.pgc.book.loadtest;
+
+import com.pgc.book.BookApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플랫폼 스레드 모드 vs 가상 스레드 모드 비교 부하 테스트
+ * : 애플리케이션을 모드별로 한 번씩 띄우고(같은 DB), 같은 동시 사용자 수 / 같은 시간 동안
+ * 같은 요청들을 보낸 뒤 처리량(req/s)과 p50/p99 지연 시간을 표로 출력합니다.
+ * 두 실행은 커넥션 풀 크기와 DB bulkhead 설정이 같고 spring.threads.virtual.enabled 만 다릅니다.
+ * (virtual 프로필은 풀 / bulkhead 값까지 바꾸므로 쓰지 않습니다.)
+ * <pre>
+ * ./gradlew compareThreadModes -Pconcurrency=400 -PdurationSeconds=30 -PpoolSize=20 -Pbulkhead=true
+ * </pre>
+ */
+public class ThreadModeComparison {
+
+    private static final List<String> PATHS = List.of(
+            "/api/books?size=20",
+            "/api/books/1",
+            "/api/books/stats/rental-counts?limit=10",
+            "/api/rentals/unreturned",
+            "/api/members/1");
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("concurrency", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("durationSeconds", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("warmupSeconds", 5));
+        int poolSize = Integer.getInteger("poolSize", 20);
+        boolean bulkhead = Boolean.parseBoolean(System.getProperty("bulkhead", "true"));
+
+        List<Result> results = new ArrayList<>();
+        results.add(runMode("platform", concurrency, warmup, duration, dbArgs(poolSize, bulkhead, false)));
+        results.add(runMode("virtual", concurrency, warmup, duration, dbArgs(poolSize, bulkhead, true)));
+
+        System.out.printf("%n동시 사용자 %d명, 측정 %d초, 커넥션 풀 %d, bulkhead %s%n",
+                concurrency, duration.toSeconds(), poolSize, bulkhead ? "on" : "off");
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "mode", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %10d%n", result.mode(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors());
+        }
+    }
+
+    // 스레드 모드만 다르고 나머지(풀 / bulkhead)는 두 실행이 같은 애플리케이션 인자
+    private static String[] dbArgs(int poolSize, boolean bulkhead, boolean virtualThreads) {
+        return new String[]{
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=5000",
+                "--book.db.bulkhead.enabled=" + bulkhead,
+                "--book.db.bulkhead.max-concurrent=" + poolSize,
+                "--book.db.bulkhead.acquire-timeout-ms=2000"};
+    }
+
+    private static Result runMode(String mode, int concurrency, Duration warmup, Duration duration,
+                                  String... appArgs) throws Exception {
+        String[] args = Arrays.copyOf(appArgs, appArgs.length + 2);
+        args[appArgs.length] = "--server.port=0";
+        // 부하 중에는 행 단위 TRACE 로그가 결과를 왜곡하므로 끕니다.
+        args[appArgs.length + 1] = "--logging.level.com.pgc=WARN";
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(BookApplication.class, args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            run(client, baseUrl, concurrency, warmup);
+            return summarize(mode, run(client, baseUrl, concurrency, duration), duration);
+        }
+    }
+
+    /**
+     * 닫힌 모델(closed model): 각 가상 사용자가 응답을 받자마자 다음 요청을 보냅니다.
+     */
+    private static Measurement run(HttpClient client, String baseUrl, int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String path = PATHS.get(ThreadLocalRandom.current().nextInt(PATHS.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        long[] latencies = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.toArray()))
+                .sorted()
+                .toArray();
+        return new Measurement(latencies, errors.get());
+    }
+
+    private static Result summarize(String mode, Measurement measurement, Duration duration) {
+        long errors = measurement.errors();
+        long[] all = measurement.sortedLatencies();
+        if (all.length == 0) {
+            return new Result(mode, 0, 0, 0, 0, errors);
+        }
+        return new Result(mode,
+                all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50) / 1e6,
+                percentile(all, 0.99) / 1e6,
+                all[all.length - 1] / 1e6,
+                errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private record Measurement(long[] sortedLatencies, long errors) {
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis,
+                          double maxMillis, long errors) {
+    }
+
+    // 가상 사용자 한 명의 지연 시간 기록 (스레드 하나만 쓰므로 동기화가 필요 없습니다)
+    private static class LatencyRecorder {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.pgc.book.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 시나리오 가중치 (ex. "browse=50,search=25,checkout=10,stats=15")
+ * : 도착마다 가중치 비율대로 시나리오 하나를 고릅니다. 가중치 합이 100일 필요는 없습니다.
+ */
+final class TrafficMix {
+
+    static final String DEFAULT = "browse=50,search=25,checkout=10,stats=15";
+
+    private final Scenario[] scenarios;
+    // 누적 가중치 (이진 탐색용)
+    private final int[] cumulative;
+
+    private TrafficMix(Map<Scenario, Integer> weights) {
+        this.scenarios = weights.keySet().toArray(Scenario[]::new);
+        this.cumulative = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += weights.get(scenarios[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("mix 형식은 name=weight,... 입니다: " + spec);
+            }
+            Scenario scenario = Scenario.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("가중치는 0 이상이어야 합니다: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(scenario, weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("가중치가 0보다 큰 시나리오가 하나 이상 필요합니다: " + spec);
+        }
+        return new TrafficMix(weights);
+    }
+
+    Scenario next(RandomGenerator random) {
+        int point = random.nextInt(cumulative[cumulative.length - 1]);
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > point) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return scenarios[low];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(scenarios[i].name().toLowerCase(Locale.ROOT)).append('=').append(cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return text.toString();
+    }
+}
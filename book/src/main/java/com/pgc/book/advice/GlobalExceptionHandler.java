@@ -1,10 +1,12 @@
 package com.pgc.book.advice;
 
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -39,6 +41,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
 
+    /**
+     * [ 잘못된 요청 파라미터 처리 ]
+     * : 지원하지 않는 포맷 등 Service/Controller에서 IllegalArgumentException을 던지면
+     * 400 Bad Request로 응답합니다.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "잘못된 요청입니다.");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * [ 상태 코드를 지정한 예외 처리 ]
+     * : Service에서 ResponseStatusException(429, 503 등)을 던지면
+     * (2)번 기타 예외(500)로 처리하지 않고, 지정한 상태 코드 그대로 응답합니다.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleResponseStatus(ResponseStatusException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getStatusCode().toString());
+        errorResponse.put("message", ex.getReason());
+        return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
+    }
+
+    /**
+     * [ 잠금 경합 처리 ]
+     * : 동시에 같은 행을 쓰다가 교착(deadlock)되거나 잠금 대기 시간이 지나 DB가 트랜잭션을 롤백하면
+     * 서버 오류(500)가 아니라 409 Conflict 로 응답합니다. (클라이언트가 다시 시도하면 되는 오류)
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleLockFailure(PessimisticLockingFailureException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "동시에 처리 중인 요청과 충돌했습니다. 다시 시도해 주세요.");
+        errorResponse.put("message", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * [ ⭐️ 2. 모든 기타 예외 처리 ⭐️ ]
      * @ExceptionHandler(Exception.class)
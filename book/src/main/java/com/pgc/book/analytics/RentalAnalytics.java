@@ -0,0 +1,99 @@
+package com.pgc.book.analytics;
+
+import com.pgc.book.dto.RentalFactDTO;
+import com.pgc.book.dto.RentalStatDTO;
+import com.pgc.book.mapper.RentalMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 대출 통계 스냅샷 관리
+ * : 월별 / 출판사별 / 저자별 / 회원별 통계를 DB의 GROUP BY 로 매번 계산하면 대출 처리와 같은 DB를 오래 붙잡으므로,
+ * 주기적으로 대출(보관분 포함) + 도서를 한 번 스트리밍으로 읽어 컬럼형 스냅샷(RentalColumns)을 만들고
+ * 통계 요청은 스냅샷에서 메모리로 집계합니다.
+ *
+ * 적재는 readOnly 트랜잭션이라 읽기 복제본이 있으면 복제본에서 읽습니다.
+ * 새 스냅샷이 다 만들어진 뒤에 한 번에 바꿔 끼우므로, 적재 중에도 이전 스냅샷으로 응답합니다.
+ * (통계는 book.analytics.refresh-interval-ms 만큼 늦을 수 있습니다.)
+ */
+@Slf4j
+@Component
+public class RentalAnalytics {
+
+    private final RentalMapper rentalMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile RentalColumns snapshot;
+
+    public RentalAnalytics(RentalMapper rentalMapper, PlatformTransactionManager transactionManager) {
+        this.rentalMapper = rentalMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 애플리케이션 시작 시, 그리고 주기적으로 스냅샷을 다시 만듭니다.
+     * (실패하면 이전 스냅샷을 그대로 씁니다.)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${book.analytics.refresh-interval-ms:300000}",
+            fixedDelayString = "${book.analytics.refresh-interval-ms:300000}")
+    public void refresh() {
+        long started = System.nanoTime();
+        try {
+            RentalColumns loaded = load();
+            snapshot = loaded;
+            log.info("대출 통계 스냅샷 로드 완료 ({} rentals, {} ms)",
+                    loaded.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            if (snapshot == null) {
+                throw e;
+            }
+            log.warn("대출 통계 스냅샷 갱신 실패 (이전 스냅샷 유지: {})", snapshot.getLoadedAt(), e);
+        }
+    }
+
+    /**
+     * 현재 스냅샷 (아직 없으면 지금 만듭니다.)
+     */
+    public RentalColumns snapshot() {
+        RentalColumns current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    public List<RentalStatDTO> aggregate(RentalGroupBy groupBy, LocalDate from, LocalDate to, int limit) {
+        return snapshot().aggregate(groupBy, from, to, limit);
+    }
+
+    private RentalColumns load() {
+        return readOnlyTransaction.execute(status -> {
+            RentalColumns.Builder builder = RentalColumns.builder();
+            try (Cursor<RentalFactDTO> cursor = rentalMapper.streamRentalFacts()) {
+                cursor.forEach(builder::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return builder.build(Instant.now());
+        });
+    }
+}
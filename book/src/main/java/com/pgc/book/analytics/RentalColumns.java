@@ -0,0 +1,273 @@
+package com.pgc.book.analytics;
+
+import com.pgc.book.dto.RentalFactDTO;
+import com.pgc.book.dto.RentalStatDTO;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 대출 통계용 컬럼형(columnar) 스냅샷 (불변)
+ * : 대출 한 건을 객체로 두지 않고 컬럼마다 int 배열 하나에 담습니다. (행 i = 모든 배열의 i 번째 칸)
+ * 문자열(출판사 / 저자)과 회원 ID, 대출 월은 사전(dictionary) 번호로 바꿔 두어서
+ * 집계할 때는 "그룹 번호 배열의 칸을 세는" 정수 연산만 합니다.
+ *
+ * 집계는 행 구간을 코어 수만큼 나누어 병렬로 센 뒤(구간마다 자기 카운터 배열) 마지막에 더합니다.
+ * 대출일이 없는 대출은 기간 필터에 걸 수 없으므로 모든 통계에서 빠집니다.
+ */
+public final class RentalColumns {
+
+    // 날짜가 없는 칸
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    // 한 구간의 최소 행 수 (너무 잘게 나누면 구간별 카운터 배열 비용이 더 큽니다.)
+    private static final int MIN_CHUNK_ROWS = 16_384;
+
+    private final Instant loadedAt;
+    private final int size;
+
+    // 행별 컬럼
+    private final int[] rentDay;    // 대출일 (epoch day)
+    private final int[] returnDay;  // 반납일 (epoch day, 미반납이면 NO_DATE)
+    private final int[] month;      // 대출 월 번호 (months 의 index)
+    private final int[] publisher;  // publishers 의 index
+    private final int[] author;     // authors 의 index
+    private final int[] member;     // memberIds 의 index
+
+    // 사전 (번호 -> 값)
+    private final String[] months;
+    private final String[] publishers;
+    private final String[] authors;
+    private final int[] memberIds;
+
+    private RentalColumns(Builder builder, Instant loadedAt) {
+        this.loadedAt = loadedAt;
+        this.size = builder.size;
+        this.rentDay = Arrays.copyOf(builder.rentDay, size);
+        this.returnDay = Arrays.copyOf(builder.returnDay, size);
+        this.publisher = Arrays.copyOf(builder.publisher, size);
+        this.author = Arrays.copyOf(builder.author, size);
+        this.member = Arrays.copyOf(builder.member, size);
+        this.publishers = builder.publishers.toArray(String[]::new);
+        this.authors = builder.authors.toArray(String[]::new);
+        this.memberIds = builder.memberIds.stream().mapToInt(Integer::intValue).toArray();
+
+        // 대출 월은 (가장 이른 달 ~ 가장 늦은 달) 연속 번호로 매겨서 번호 순서 = 시간 순서가 되게 합니다.
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        int[] absoluteMonth = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (rentDay[i] != NO_DATE) {
+                LocalDate date = LocalDate.ofEpochDay(rentDay[i]);
+                absoluteMonth[i] = date.getYear() * 12 + date.getMonthValue() - 1;
+                minMonth = Math.min(minMonth, absoluteMonth[i]);
+                maxMonth = Math.max(maxMonth, absoluteMonth[i]);
+            }
+        }
+        this.month = new int[size];
+        if (minMonth > maxMonth) {
+            this.months = new String[0];
+        } else {
+            this.months = new String[maxMonth - minMonth + 1];
+            for (int m = 0; m < months.length; m++) {
+                int value = minMonth + m;
+                months[m] = YearMonth.of(value / 12, value % 12 + 1).toString();
+            }
+            for (int i = 0; i < size; i++) {
+                month[i] = rentDay[i] == NO_DATE ? 0 : absoluteMonth[i] - minMonth;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 대출일이 [from, to] 인 대출을 groupBy 기준으로 집계합니다. (from / to 가 null 이면 제한 없음)
+     * 결과 순서 : 월별은 시간순, 그 외는 대출 수 DESC, 그룹 값 ASC (limit 건까지)
+     */
+    public List<RentalStatDTO> aggregate(RentalGroupBy groupBy, LocalDate from, LocalDate to, int limit) {
+        int[] codes = codes(groupBy);
+        int groups = codes == null ? 1 : cardinality(groupBy);
+        // (NO_DATE 는 어떤 fromDay 보다도 작으므로 자동으로 빠집니다.)
+        int fromDay = from == null ? NO_DATE + 1 : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 2, size / MIN_CHUNK_ROWS));
+        int chunkRows = (size + chunks - 1) / chunks;
+        Counters total = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> count(codes, groups, fromDay, toDay,
+                        chunk * chunkRows, Math.min(size, (chunk + 1) * chunkRows)))
+                .reduce(Counters::add)
+                .orElseGet(() -> new Counters(groups));
+
+        List<RentalStatDTO> result = new ArrayList<>();
+        for (int code = 0; code < groups; code++) {
+            if (total.rentals[code] == 0 && codes != null) {
+                continue;
+            }
+            result.add(new RentalStatDTO(codes == null ? null : label(groupBy, code),
+                    total.rentals[code], total.returned[code], average(total.loanDays[code], total.returned[code])));
+        }
+        if (groupBy != RentalGroupBy.MONTH) {
+            result.sort(Comparator.comparingLong(RentalStatDTO::getRentals).reversed()
+                    .thenComparing(RentalStatDTO::getKey, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    // [start, end) 구간을 셉니다. (구간마다 자기 카운터를 쓰므로 동기화가 필요 없습니다.)
+    private Counters count(int[] codes, int groups, int fromDay, int toDay, int start, int end) {
+        Counters counters = new Counters(groups);
+        for (int i = start; i < end; i++) {
+            int day = rentDay[i];
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            int code = codes == null ? 0 : codes[i];
+            counters.rentals[code]++;
+            int back = returnDay[i];
+            if (back != NO_DATE) {
+                counters.returned[code]++;
+                counters.loanDays[code] += back - day;
+            }
+        }
+        return counters;
+    }
+
+    private int[] codes(RentalGroupBy groupBy) {
+        return switch (groupBy) {
+            case ALL -> null;
+            case MONTH -> month;
+            case PUBLISHER -> publisher;
+            case AUTHOR -> author;
+            case MEMBER -> member;
+        };
+    }
+
+    private int cardinality(RentalGroupBy groupBy) {
+        return switch (groupBy) {
+            case ALL -> 1;
+            case MONTH -> months.length;
+            case PUBLISHER -> publishers.length;
+            case AUTHOR -> authors.length;
+            case MEMBER -> memberIds.length;
+        };
+    }
+
+    private String label(RentalGroupBy groupBy, int code) {
+        return switch (groupBy) {
+            case ALL -> null;
+            case MONTH -> months[code];
+            case PUBLISHER -> publishers[code];
+            case AUTHOR -> authors[code];
+            case MEMBER -> String.valueOf(memberIds[code]);
+        };
+    }
+
+    // 소수 둘째 자리까지
+    private static Double average(long sum, long count) {
+        return count == 0 ? null : Math.round(sum * 100.0 / count) / 100.0;
+    }
+
+    private static final class Counters {
+
+        final long[] rentals;
+        final long[] returned;
+        final long[] loanDays;
+
+        Counters(int groups) {
+            rentals = new long[groups];
+            returned = new long[groups];
+            loanDays = new long[groups];
+        }
+
+        Counters add(Counters other) {
+            for (int code = 0; code < rentals.length; code++) {
+                rentals[code] += other.rentals[code];
+                returned[code] += other.returned[code];
+                loanDays[code] += other.loanDays[code];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * 행을 하나씩 추가해서 스냅샷을 만듭니다. (배열은 두 배씩 늘리고, 문자열은 처음 본 순서대로 번호를 매깁니다.)
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] rentDay = new int[1024];
+        private int[] returnDay = new int[1024];
+        private int[] publisher = new int[1024];
+        private int[] author = new int[1024];
+        private int[] member = new int[1024];
+
+        private final Map<String, Integer> publisherCodes = new HashMap<>();
+        private final Map<String, Integer> authorCodes = new HashMap<>();
+        private final Map<Integer, Integer> memberCodes = new HashMap<>();
+        private final List<String> publishers = new ArrayList<>();
+        private final List<String> authors = new ArrayList<>();
+        private final List<Integer> memberIds = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(RentalFactDTO fact) {
+            if (size == rentDay.length) {
+                int capacity = size * 2;
+                rentDay = Arrays.copyOf(rentDay, capacity);
+                returnDay = Arrays.copyOf(returnDay, capacity);
+                publisher = Arrays.copyOf(publisher, capacity);
+                author = Arrays.copyOf(author, capacity);
+                member = Arrays.copyOf(member, capacity);
+            }
+            rentDay[size] = day(fact.getRentDate());
+            returnDay[size] = day(fact.getReturnDate());
+            publisher[size] = encode(publisherCodes, publishers, fact.getPublisher());
+            author[size] = encode(authorCodes, authors, fact.getAuthor());
+            member[size] = encode(memberCodes, memberIds, fact.getMemberId());
+            size++;
+            return this;
+        }
+
+        public RentalColumns build(Instant loadedAt) {
+            return new RentalColumns(this, loadedAt);
+        }
+
+        private static int day(LocalDate date) {
+            return date == null ? NO_DATE : (int) date.toEpochDay();
+        }
+
+        // (null 도 하나의 값으로 번호를 매깁니다.)
+        private static <T> int encode(Map<T, Integer> codes, List<T> values, T value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+}
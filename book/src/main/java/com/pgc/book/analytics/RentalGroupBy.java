@@ -0,0 +1,28 @@
+package com.pgc.book.analytics;
+
+import java.util.Locale;
+
+/**
+ * 대출 통계 묶음 기준 (groupBy=all|month|publisher|author|member)
+ */
+public enum RentalGroupBy {
+
+    ALL,
+    MONTH,
+    PUBLISHER,
+    AUTHOR,
+    MEMBER;
+
+    /**
+     * 쿼리 파라미터(groupBy=...)를 enum으로 변환합니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 기준
+     */
+    public static RentalGroupBy from(String value) {
+        try {
+            return RentalGroupBy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 groupBy 입니다: " + value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.pgc.book.aop;
+
+import com.pgc.book.version.ResourceVersions.Resource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같은 인자로 동시에 들어온 호출을 한 번의 실행으로 합칩니다. (single-flight)
+ * : 먼저 들어온 호출(leader)만 실제로 실행하고, 실행 중에 들어온 같은 키의 호출(follower)은
+ * 그 결과(또는 예외)를 함께 받습니다. 실행이 끝나면 키가 풀리므로 결과를 캐시하지는 않습니다.
+ *
+ * 여러 호출자가 같은 결과 객체를 공유하므로 반환값을 수정하지 않는 조회 메서드에만 붙입니다.
+ * 결과가 ETag 와 함께 응답되면 versions 에 의존하는 리소스를 적습니다. 그 버전이 키에 들어가므로,
+ * 쓰기가 커밋된 뒤(새 ETag)에 들어온 호출은 커밋 전에 시작한 실행에 합쳐지지 않습니다.
+ *
+ * @see CoalescingAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+
+    /**
+     * 메트릭 태그와 키에 쓰는 이름 (비우면 "클래스명.메서드명")
+     */
+    String value() default "";
+
+    /**
+     * follower 가 leader 의 결과를 기다리는 최대 시간(ms)
+     * (0 이하이면 book.coalesce.timeout-ms 설정값)
+     */
+    long timeoutMs() default 0;
+
+    /**
+     * 결과가 의존하는 리소스 (현재 버전이 키에 들어갑니다.)
+     */
+    Resource[] versions() default {};
+}
@@ -0,0 +1,112 @@
+package com.pgc.book.aop;
+
+import com.pgc.book.version.ResourceVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link Coalesce} 처리 (single-flight)
+ * : 대시보드가 새로고침되면 수십 개의 클라이언트가 같은 통계 API를 같은 순간에 호출합니다.
+ * 같은 메서드 + 같은 인자의 호출이 실행 중이면 새로 실행하지 않고 그 결과를 기다렸다가 함께 받습니다.
+ *
+ * 트랜잭션(커넥션 획득)과 DB bulkhead 보다 먼저 실행되므로, 기다리는 호출은 커넥션도 bulkhead 자리도 차지하지 않습니다.
+ * 쓰기 트랜잭션 안에서의 호출은 커밋 전 자기 쓰기를 봐야 하므로 합치지 않습니다.
+ * 키 = 이름 + 인자 + (versions 가 있으면) 리소스 버전. 버전은 커밋 후에 오르고 컨트롤러는 그보다 먼저 ETag 를 만들므로,
+ * 합쳐지는 실행은 항상 그 호출의 ETag 버전 이후에 시작한 실행입니다.
+ *
+ * 메트릭: /actuator/metrics/book.coalesce.calls (name, role=leader|follower|bypass 태그),
+ * /actuator/metrics/book.coalesce.timeouts
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // bulkhead, 트랜잭션보다 먼저 실행
+public class CoalescingAspect {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ResourceVersions resourceVersions;
+    private final long defaultTimeoutMillis;
+
+    public CoalescingAspect(MeterRegistry meterRegistry,
+                            ResourceVersions resourceVersions,
+                            @Value("${book.coalesce.timeout-ms:5000}") long defaultTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.resourceVersions = resourceVersions;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    @Around("@annotation(coalesce)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesce coalesce) throws Throwable {
+        String name = coalesce.value().isEmpty()
+                ? joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName()
+                : coalesce.value();
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            count(name, "bypass");
+            return joinPoint.proceed();
+        }
+
+        String version = coalesce.versions().length == 0 ? "" : resourceVersions.etag(coalesce.versions());
+        Key key = new Key(name, Arrays.asList(joinPoint.getArgs()), version);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            count(name, "follower");
+            return await(running, name, coalesce.timeoutMs() > 0 ? coalesce.timeoutMs() : defaultTimeoutMillis);
+        }
+
+        count(name, "leader");
+        try {
+            Object result = joinPoint.proceed();
+            mine.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // 기다리던 호출들도 같은 예외를 받습니다.
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running, String name, long timeoutMillis) throws Throwable {
+        try {
+            return running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            meterRegistry.counter("book.coalesce.timeouts", "name", name).increment();
+            log.warn("[Coalesce] {} 결과를 {}ms 안에 받지 못했습니다.", name, timeoutMillis);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private void count(String name, String role) {
+        meterRegistry.counter("book.coalesce.calls", "name", name, "role", role).increment();
+    }
+
+    // (인자 배열은 equals 가 내용 비교가 아니므로 List 로 감쌉니다.)
+    private record Key(String name, List<Object> args, String version) {
+    }
+}
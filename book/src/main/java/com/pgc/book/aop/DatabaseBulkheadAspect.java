@@ -0,0 +1,79 @@
+package com.pgc.book.aop;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 동시 접근 제한(Bulkhead)
+ * : 가상 스레드 모드에서는 요청마다 스레드가 거의 무제한으로 생기므로, 한꺼번에 몰린 요청이 모두
+ * 커넥션 풀 앞에서 connection-timeout 까지 기다리다 실패하게 됩니다.
+ * Service 호출(= 트랜잭션 = 커넥션 1개) 동시 실행 수를 세마포어로 제한하고,
+ * 짧은 시간 안에 자리를 얻지 못하면 503으로 바로 거절해서 DB와 풀을 보호합니다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // 트랜잭션(커넥션 획득)보다 먼저, 요청 합치기(CoalescingAspect) 다음에 실행
+@ConditionalOnProperty(name = "book.db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadAspect {
+
+    // Service 안에서 다른 Service를 호출해도 자리는 한 번만 차지하도록 호출 깊이를 기록합니다.
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public DatabaseBulkheadAspect(
+            @Value("${book.db.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${book.db.bulkhead.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        log.info("DB bulkhead 활성화 (max-concurrent={}, acquire-timeout={}ms)", maxConcurrent, acquireTimeoutMillis);
+    }
+
+    @Pointcut("execution(public * com.pgc.book.service.*ServiceImpl.*(..))")
+    private void servicePointcut() {}
+
+    @Around("servicePointcut()")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        int depth = DEPTH.get();
+        if (depth > 0) {
+            return proceedNested(joinPoint, depth);
+        }
+
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "DB 요청이 몰려 잠시 후 다시 시도해 주세요.");
+        }
+        try {
+            return proceedNested(joinPoint, depth);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Object proceedNested(ProceedingJoinPoint joinPoint, int depth) throws Throwable {
+        DEPTH.set(depth + 1);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (depth == 0) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+}
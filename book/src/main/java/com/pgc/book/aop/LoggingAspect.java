@@ -1,17 +1,29 @@
 package com.pgc.book.aop;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class LoggingAspect {
 
+    // /actuator/metrics/book.controller.requests
+    private static final String TIMER_NAME = "book.controller.requests";
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * 4. Pointcut (적용 지점) 정의
      * : "어디에" 이 AOP를 적용할 것인지 범위를 지정합니다.
@@ -25,6 +37,8 @@ public class LoggingAspect {
      * 5. Around Advice (공통 기능)
      * : Pointcut(controllerPointcut())에 정의된 메서드들의
      * "실행 전, 실행 후, 예외 발생 시" 모두를 감쌀 수 있는 강력한 Advice입니다.
+     * 실행 시간을 Micrometer Timer(class, method, outcome 태그)에 기록해서
+     * actuator에서 p50/p95/p99 백분위와 히스토그램으로 볼 수 있게 합니다.
      *
      * @param joinPoint (실행되는 메서드 자체에 대한 정보)
      * @return 원본 메서드(Controller)가 반환하는 값
@@ -33,21 +47,48 @@ public class LoggingAspect {
     @Around("controllerPointcut()")
     public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable{
 
-        //실행전 - 시작 시간 기록
-        long startTime = System.currentTimeMillis();
+        //실행전 - 측정 시작
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "EXCEPTION";
 
-        //실행 - 원본 메서드를 실행
-        Object result = joinPoint.proceed();
+        try {
+            //실행 - 원본 메서드를 실행
+            Object result = joinPoint.proceed();
+            outcome = outcome(result);
+            return result;
+        } finally {
+            //실행후 - 태그를 붙여 Timer에 기록 (예외가 나도 기록)
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String methodName = joinPoint.getSignature().getName();
 
-        //실행후 - 종료 시간 기록 및 로그 출력
-        long endTime = System.currentTimeMillis();
-        long executionTime = endTime - startTime;
+            long nanos = sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Controller 메서드 실행 시간")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
 
-        String className = joinPoint.getSignature().getDeclaringTypeName();
-        String methodName = joinPoint.getSignature().getName();
-
-        log.info("[Execution Time {}.{} --- {} ms", className, methodName, executionTime);
+            log.debug("[Execution Time {}.{} --- {} ms ({})", className, methodName,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), outcome);
+        }
+    }
 
-        return result;
+    // ResponseEntity 상태 코드로 결과를 분류합니다. (SUCCESS / NOT_MODIFIED / CLIENT_ERROR / SERVER_ERROR)
+    private static String outcome(Object result) {
+        if (result == null) {
+            // 조건부 GET(If-None-Match)이 일치해서 컨트롤러가 304 로 끝낸 경우
+            return "NOT_MODIFIED";
+        }
+        if (result instanceof ResponseEntity<?> response) {
+            if (response.getStatusCode().is5xxServerError()) {
+                return "SERVER_ERROR";
+            }
+            if (response.getStatusCode().is4xxClientError()) {
+                return "CLIENT_ERROR";
+            }
+        }
+        return "SUCCESS";
     }
 }
@@ -0,0 +1,21 @@
+package com.pgc.book.aop;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드 안의 읽기를 복제본 대신 주 DB에서 실행합니다.
+ * : 결과가 캐시(VersionedCache)에 저장되거나 ETag 와 함께 응답되는 조회에 붙입니다.
+ * ETag 의 버전은 쓰기가 커밋되자마자 바뀌지만 복제본은 아직 이전 데이터일 수 있어서,
+ * 복제본에서 읽으면 이전 데이터가 새 버전으로 캐시됩니다.
+ *
+ * @see ReadFromPrimaryAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
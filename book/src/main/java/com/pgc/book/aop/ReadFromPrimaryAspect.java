@@ -0,0 +1,31 @@
+package com.pgc.book.aop;
+
+import com.pgc.book.datasource.ReadYourWrites;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ReadFromPrimary} 처리
+ * : 메서드가 실행되는 동안 ReadYourWrites 를 켜 둡니다. 실제 커넥션은 첫 쿼리 때 가져오므로(LazyConnectionDataSourceProxy)
+ * 트랜잭션과의 실행 순서와 상관없이 readOnly 트랜잭션도 주 DB 커넥션을 받습니다.
+ * (book.datasource.routing.enabled=false 이면 원래 주 DB뿐이므로 아무 영향이 없습니다.)
+ */
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.pgc.book.aop.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReadYourWrites.isActive()) {
+            return joinPoint.proceed();
+        }
+        ReadYourWrites.activate();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.pgc.book.archive;
+
+import com.pgc.book.mapper.RentalArchiveMapper;
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 반납된 지 오래된 대출을 rental → rental_archive 로 옮기는 보관 작업 (book.rental.archive.enabled=true 로 켰을 때만, 기본 꺼짐)
+ * : rental 테이블에는 미반납 + 최근 대출만 남기고, 목록 / 집계 쿼리는 기본적으로 이 테이블만 읽습니다.
+ * 한 번에 batchSize 건씩 (복사 + 삭제)를 한 트랜잭션으로 처리하고, 한 주기에 최대 maxBatches 번까지만 돌아서
+ * 잠금 시간과 한 번의 작업량을 제한합니다. (남은 행은 다음 주기에 옮깁니다.)
+ *
+ * rental_archive 는 반납월 기준 RANGE 파티션입니다. 옮기기 전에 보관할 달의 파티션(pYYYYMM)이 없으면 만들고,
+ * 파티션이 없는 DB(H2 등)나 파티션 관리에 실패한 경우에도 행은 p_max 등 기존 파티션에 들어가므로 보관은 계속됩니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "book.rental.archive.enabled", havingValue = "true")
+public class RentalArchiver {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final RentalArchiveMapper archiveMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersions resourceVersions;
+    private final int afterDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final boolean managePartitions;
+
+    public RentalArchiver(RentalArchiveMapper archiveMapper,
+                          PlatformTransactionManager transactionManager,
+                          ResourceVersions resourceVersions,
+                          @Value("${book.rental.archive.after-days:365}") int afterDays,
+                          @Value("${book.rental.archive.batch-size:1000}") int batchSize,
+                          @Value("${book.rental.archive.max-batches-per-run:100}") int maxBatches,
+                          @Value("${book.rental.archive.manage-partitions:true}") boolean managePartitions) {
+        if (afterDays < 1 || batchSize < 1 || maxBatches < 1) {
+            throw new IllegalArgumentException("보관 설정은 1 이상이어야 합니다: after-days=" + afterDays
+                    + ", batch-size=" + batchSize + ", max-batches-per-run=" + maxBatches);
+        }
+        this.archiveMapper = archiveMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resourceVersions = resourceVersions;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.managePartitions = managePartitions;
+    }
+
+    @Scheduled(initialDelayString = "${book.rental.archive.initial-delay-ms:600000}",
+            fixedDelayString = "${book.rental.archive.interval-ms:3600000}")
+    public void archive() {
+        archive(LocalDate.now().minusDays(afterDays));
+    }
+
+    /**
+     * cutoff 이전에 반납된 대출을 보관 테이블로 옮깁니다.
+     * @return 옮긴 대출 수
+     */
+    public int archive(LocalDate cutoff) {
+        if (managePartitions) {
+            ensurePartitions(cutoff);
+        }
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = transactionTemplate.execute(status -> moveBatch(cutoff));
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+            // 커밋된 뒤 대출 목록 ETag / 응답 스냅샷이 바뀌도록 합니다.
+            resourceVersions.bump(Resource.RENTALS);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("대출 보관 완료: {}건 (반납일 < {})", moved, cutoff);
+        }
+        return moved;
+    }
+
+    // (트랜잭션 안에서 호출)
+    private int moveBatch(LocalDate cutoff) {
+        List<Integer> ids = archiveMapper.findArchivableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archiveMapper.copyToArchive(ids);
+        int deleted = archiveMapper.deleteArchived(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // (잠근 행이 바뀔 일은 없지만, 어긋나면 롤백해서 중복 / 유실을 막습니다.)
+            throw new IllegalStateException("대출 보관 행 수 불일치: 대상 " + ids.size()
+                    + ", 복사 " + copied + ", 삭제 " + deleted);
+        }
+        return ids.size();
+    }
+
+    /**
+     * 마지막 월 파티션 다음 달부터 cutoff 의 달까지 월 파티션을 추가합니다.
+     * (RANGE 파티션은 p_max 를 나누는 방식으로만 뒤쪽에 추가할 수 있습니다.)
+     */
+    void ensurePartitions(LocalDate cutoff) {
+        try {
+            List<String> partitions = archiveMapper.findArchivePartitions();
+            if (partitions.isEmpty()) {
+                return; // 파티션이 없는 테이블
+            }
+            Optional<YearMonth> last = partitions.stream()
+                    .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                    .map(name -> YearMonth.parse(name, PARTITION_FORMAT))
+                    .max(YearMonth::compareTo);
+            YearMonth from;
+            if (last.isPresent()) {
+                from = last.get().plusMonths(1);
+            } else {
+                LocalDate oldest = archiveMapper.findOldestArchivableReturnDate(cutoff);
+                if (oldest == null) {
+                    return;
+                }
+                from = YearMonth.from(oldest);
+            }
+            for (YearMonth month = from; !month.isAfter(YearMonth.from(cutoff)); month = month.plusMonths(1)) {
+                archiveMapper.addArchivePartition(month.format(PARTITION_FORMAT), month.plusMonths(1).atDay(1));
+                log.info("rental_archive 파티션 추가: {}", month.format(PARTITION_FORMAT));
+            }
+        } catch (DataAccessException e) {
+            log.warn("rental_archive 파티션 관리 실패 (보관은 계속합니다): {}", e.getMessage());
+        }
+    }
+}
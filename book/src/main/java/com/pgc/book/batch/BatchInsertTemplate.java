@@ -0,0 +1,180 @@
+package com.pgc.book.batch;
+
+import com.pgc.book.dto.BatchResultDTO;
+import com.pgc.book.dto.RowErrorDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * MyBatis BATCH 실행기로 여러 행을 청크(chunk) 단위로 INSERT 하는 공통 템플릿
+ * : 청크마다 하나의 트랜잭션 / 하나의 JDBC batch 로 실행하고, flush 시점에 생성된 키(useGeneratedKeys)가
+ * 각 DTO에 채워집니다.
+ * 청크가 실패하면 그 청크만 롤백한 뒤 한 행씩 다시 시도해서 실패한 행을 정확히 찾아 보고합니다.
+ *
+ * 행마다 INSERT 결과를 바로 확인해야 하는 조건부 INSERT(재고를 확인하는 대출 등록 등)는 flush 전까지 결과를 알 수 없는
+ * BATCH 대신 REUSE 실행기(PreparedStatement 재사용)로 실행합니다. 청크 / 트랜잭션 / 행 단위 재시도는 같습니다.
+ */
+@Slf4j
+@Component
+public class BatchInsertTemplate {
+
+    private final SqlSessionTemplate batchSqlSession;
+    private final SqlSessionTemplate reuseSqlSession;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${book.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public BatchInsertTemplate(SqlSessionFactory sqlSessionFactory,
+                               PlatformTransactionManager transactionManager,
+                               Validator validator) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.reuseSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.REUSE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+    }
+
+    /**
+     * 요청 배열 전체를 검증 후 INSERT 합니다.
+     *
+     * @param rows        등록할 행
+     * @param mapperType  Mapper 인터페이스 (BATCH 세션에서 꺼냄)
+     * @param insert      한 행 INSERT (예: BookMapper::insertBook)
+     * @param afterInsert flush(키 생성) 이후 같은 트랜잭션 안에서 행마다 호출 (변경 이벤트 발행 등)
+     */
+    public <M, T> BatchResultDTO<T> insertAll(List<T> rows, Class<M> mapperType,
+                                              BiConsumer<M, T> insert, Consumer<T> afterInsert) {
+        return insertAll(rows, mapperType, insert, afterInsert, ExecutorType.BATCH);
+    }
+
+    /**
+     * 실행기를 골라 요청 배열 전체를 검증 후 INSERT 합니다.
+     *
+     * @param executorType BATCH(기본) 또는 REUSE (insert 안에서 결과를 확인하고 예외로 그 행을 실패시키는 경우)
+     */
+    public <M, T> BatchResultDTO<T> insertAll(List<T> rows, Class<M> mapperType,
+                                              BiConsumer<M, T> insert, Consumer<T> afterInsert,
+                                              ExecutorType executorType) {
+        SqlSessionTemplate session = session(executorType);
+        List<RowErrorDTO> errors = new ArrayList<>();
+        List<IndexedRow<T>> validRows = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RowErrorDTO error = validate(i, rows.get(i));
+            if (error == null) {
+                validRows.add(new IndexedRow<>(i, rows.get(i)));
+            } else {
+                errors.add(error);
+            }
+        }
+
+        List<T> created = new ArrayList<>(validRows.size());
+        for (int from = 0; from < validRows.size(); from += chunkSize) {
+            List<IndexedRow<T>> chunk = validRows.subList(from, Math.min(from + chunkSize, validRows.size()));
+            insertChunk(session, chunk, mapperType, insert, afterInsert, created, errors);
+        }
+
+        return new BatchResultDTO<>(rows.size(), created, errors);
+    }
+
+    /**
+     * 이미 검증된 한 청크를 하나의 트랜잭션으로 INSERT 합니다. (Import 파이프라인의 쓰기 단계에서 사용)
+     * 실패한 행은 errors에 추가되고, 성공한 행은 created에 추가됩니다.
+     */
+    public <M, T> void insertChunk(List<IndexedRow<T>> chunk, Class<M> mapperType,
+                                   BiConsumer<M, T> insert, Consumer<T> afterInsert,
+                                   List<T> created, List<RowErrorDTO> errors) {
+        insertChunk(batchSqlSession, chunk, mapperType, insert, afterInsert, created, errors);
+    }
+
+    private <M, T> void insertChunk(SqlSessionTemplate session, List<IndexedRow<T>> chunk, Class<M> mapperType,
+                                    BiConsumer<M, T> insert, Consumer<T> afterInsert,
+                                    List<T> created, List<RowErrorDTO> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                M mapper = session.getMapper(mapperType);
+                chunk.forEach(row -> insert.accept(mapper, row.value()));
+                session.flushStatements();
+                chunk.forEach(row -> afterInsert.accept(row.value()));
+            });
+            chunk.forEach(row -> created.add(row.value()));
+        } catch (RuntimeException chunkFailure) {
+            log.warn("batch chunk 실패 ({} rows) - 행 단위로 재시도합니다: {}",
+                    chunk.size(), rootMessage(chunkFailure));
+            for (IndexedRow<T> row : chunk) {
+                insertOne(session, row, mapperType, insert, afterInsert, created, errors);
+            }
+        }
+    }
+
+    /**
+     * 행에 Bean Validation 제약조건(@NotBlank, @Size 등)을 적용합니다.
+     *
+     * @return 위반이 없으면 null
+     */
+    public RowErrorDTO validate(long index, Object row) {
+        if (row == null) {
+            return new RowErrorDTO(index, Map.of("row", "빈 행입니다."));
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return new RowErrorDTO(index, fieldErrors);
+    }
+
+    private <M, T> void insertOne(SqlSessionTemplate session, IndexedRow<T> row, Class<M> mapperType,
+                                  BiConsumer<M, T> insert, Consumer<T> afterInsert,
+                                  List<T> created, List<RowErrorDTO> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert.accept(session.getMapper(mapperType), row.value());
+                session.flushStatements();
+                afterInsert.accept(row.value());
+            });
+            created.add(row.value());
+        } catch (RuntimeException e) {
+            errors.add(new RowErrorDTO(row.index(), Map.of("error", rootMessage(e))));
+        }
+    }
+
+    private SqlSessionTemplate session(ExecutorType executorType) {
+        return switch (executorType) {
+            case BATCH -> batchSqlSession;
+            case REUSE -> reuseSqlSession;
+            case SIMPLE -> throw new IllegalArgumentException("지원하지 않는 실행기입니다: " + executorType);
+        };
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = NestedExceptionUtils.getMostSpecificCause(e);
+        return root.getMessage() == null ? root.getClass().getSimpleName() : root.getMessage();
+    }
+
+    /**
+     * 원래 요청(파일)에서의 위치를 기억하는 행
+     */
+    public record IndexedRow<T>(long index, T value) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.pgc.book.checkout;
+
+import com.pgc.book.loan.OpenLoanIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 도서별 대출 가능 수량(재고) 관리
+ * : 대출 가능 여부 = 커밋된 미반납 대출 수(OpenLoanIndex) + 진행 중인 대출 트랜잭션 수(pending) < copiesPerBook
+ * 판정과 pending 증가는 book_id 로 고른 스트라이프 락 안에서 하므로, 같은 도서끼리만 줄을 서고
+ * 다른 도서의 대출은 서로 기다리지 않습니다. 재고가 없으면 DB에 가기 전에 409로 거절합니다.
+ *
+ * pending 은 트랜잭션이 끝날 때(afterCompletion) 줄어듭니다. 커밋된 대출은 그보다 먼저(afterCommit)
+ * OpenLoanIndex 에 들어가므로 수량이 잠시 이중으로 잡힐 수는 있어도 모자라게 잡히지는 않습니다.
+ * 반납은 OpenLoanIndex 에서 빠지는 것으로 자연스럽게 재고가 돌아옵니다.
+ */
+@Slf4j
+@Component
+public class BookAvailability {
+
+    private static final int STRIPES = 64;
+
+    private final OpenLoanIndex openLoanIndex;
+    private final int copiesPerBook;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    // book_id -> 아직 커밋/롤백되지 않은 대출 수
+    private final Map<Integer, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    public BookAvailability(OpenLoanIndex openLoanIndex,
+                            @Value("${book.rental.copies-per-book:1}") int copiesPerBook) {
+        if (copiesPerBook < 1) {
+            throw new IllegalArgumentException("book.rental.copies-per-book는 1 이상이어야 합니다: " + copiesPerBook);
+        }
+        this.openLoanIndex = openLoanIndex;
+        this.copiesPerBook = copiesPerBook;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션에서 bookId 한 권을 대출 예약합니다.
+     * 재고가 없으면 409, 트랜잭션이 끝나면(커밋/롤백) 예약은 자동으로 풀립니다.
+     */
+    public void reserve(int bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("대출 예약은 트랜잭션 안에서만 할 수 있습니다.");
+        }
+        if (!tryReserve(bookId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "대출 가능한 재고가 없습니다: bookId=" + bookId);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(bookId);
+            }
+        });
+    }
+
+    /**
+     * 재고가 있으면 pending 을 1 늘리고 true (트랜잭션과 무관한 저수준 API)
+     */
+    public boolean tryReserve(int bookId) {
+        ReentrantLock stripe = stripes[Math.floorMod(Integer.hashCode(bookId), STRIPES)];
+        stripe.lock();
+        try {
+            AtomicInteger inFlight = pending.computeIfAbsent(bookId, key -> new AtomicInteger());
+            if (openLoanIndex.countOpenByBook(bookId) + inFlight.get() >= copiesPerBook) {
+                return false;
+            }
+            inFlight.incrementAndGet();
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * 이미 접수된 대출(재시작 후 저널에서 복구한 대출 등)의 예약을 재고 판정 없이 다시 잡습니다.
+     * DB에 반영될 때까지 새 대출이 같은 재고를 가져가지 않도록 합니다. (푸는 것은 release)
+     */
+    public void reserveAccepted(int bookId) {
+        ReentrantLock stripe = stripes[Math.floorMod(Integer.hashCode(bookId), STRIPES)];
+        stripe.lock();
+        try {
+            pending.computeIfAbsent(bookId, key -> new AtomicInteger()).incrementAndGet();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public void release(int bookId) {
+        AtomicInteger inFlight = pending.get(bookId);
+        if (inFlight == null || inFlight.getAndUpdate(count -> Math.max(count - 1, 0)) == 0) {
+            log.warn("예약되지 않은 도서의 재고를 반환하려고 했습니다: bookId={}", bookId);
+        }
+    }
+
+    public int available(int bookId) {
+        AtomicInteger inFlight = pending.get(bookId);
+        int reserved = openLoanIndex.countOpenByBook(bookId) + (inFlight == null ? 0 : inFlight.get());
+        return Math.max(copiesPerBook - reserved, 0);
+    }
+
+    public int getCopiesPerBook() {
+        return copiesPerBook;
+    }
+}
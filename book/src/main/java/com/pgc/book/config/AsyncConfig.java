@@ -0,0 +1,17 @@
+package com.pgc.book.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Async / @Scheduled 활성화
+ * : 실행기(Executor)와 스케줄러는 Spring Boot 자동 설정을 그대로 사용하므로
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리와 함께 모두 가상 스레드에서 실행됩니다.
+ * 애플리케이션이 직접 만드는 실행기도 SimpleAsyncTaskExecutorBuilder 로 만들어 같은 설정을 따릅니다.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,77 @@
+package com.pgc.book.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.version.VersionedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 단건 조회(book / member) 캐시 설정
+ * : Caffeine(크기 + TTL 제한) 캐시를 TransactionAwareCacheManagerProxy로 감싸서,
+ * 트랜잭션 안에서 호출된 put / evict가 커밋(afterCommit) 이후에만 반영되도록 합니다.
+ * (롤백된 쓰기나 커밋 전 데이터가 다른 요청에게 보이지 않습니다.)
+ * DTO 는 값을 바꿀 수 있는 객체이므로 저장할 때와 꺼낼 때 모두 copy() 한 새 객체를 씁니다.
+ * (호출자가 반환값을 고쳐도 캐시와 다른 요청이 받는 값은 그대로입니다.)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String MEMBERS = "members";
+
+    /**
+     * @param spec Caffeine 스펙 (recordStats가 있어야 actuator에서 hit/miss/eviction 통계를 볼 수 있습니다.)
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${book.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        // 캐시 이름을 미리 등록해 두어야 시작 시점에 actuator 캐시 메트릭이 바인딩됩니다.
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(BOOKS, MEMBERS) {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new CopyingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setCacheSpecification(spec);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    /**
+     * 저장 / 조회 시 DTO 를 복사하는 CaffeineCache
+     * (CaffeineCache 를 상속하므로 actuator 캐시 메트릭도 그대로 바인딩됩니다.)
+     */
+    static class CopyingCaffeineCache extends CaffeineCache {
+
+        CopyingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        private static Object copy(Object value) {
+            return switch (value) {
+                case BookDTO book -> book.copy();
+                case MemberDTO member -> member.copy();
+                case VersionedCache.Entry entry -> new VersionedCache.Entry(entry.version(), copy(entry.value()));
+                case null, default -> value;
+            };
+        }
+    }
+}
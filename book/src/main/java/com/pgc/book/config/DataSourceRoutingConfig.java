@@ -0,0 +1,97 @@
+package com.pgc.book.config;
+
+import com.pgc.book.datasource.ReadYourWritesFilter;
+import com.pgc.book.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 / 쓰기 DataSource 분리 설정 (book.datasource.routing.enabled=true 일 때만)
+ * : 서비스의 @Transactional(readOnly = true) 가 곧 라우팅 기준입니다.
+ * LazyConnectionDataSourceProxy 는 트랜잭션 시작 시 setReadOnly(true) 가 호출된 것을 보고
+ * 실제 커넥션을 readOnlyDataSource(복제본 라우터)에서 가져오고, 그 외에는 주 DB에서 가져옵니다.
+ * (MyBatis / 트랜잭션 매니저는 이 프록시 하나만 보므로 매퍼와 서비스 코드는 바뀌지 않습니다.)
+ */
+@Configuration
+@ConditionalOnProperty(name = "book.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingConfig.ReplicaProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * 주(쓰기) DB 커넥션 풀 - 기존 spring.datasource.* / spring.datasource.hikari.* 설정을 그대로 사용합니다.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties primaryProperties,
+            ReplicaProperties replicaProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<Replica> configured = replicaProperties.replicas() == null ? List.of() : replicaProperties.replicas();
+        for (int i = 0; i < configured.size(); i++) {
+            Replica replica = configured.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setDriverClassName(primaryProperties.getDriverClassName());
+            dataSource.setJdbcUrl(replica.url());
+            // 계정을 따로 주지 않으면 주 DB 계정을 사용합니다.
+            dataSource.setUsername(replica.username() != null ? replica.username() : primaryProperties.getUsername());
+            dataSource.setPassword(replica.password() != null ? replica.password() : primaryProperties.getPassword());
+            if (replica.maximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            }
+            // 복제본이 내려가 있어도 애플리케이션은 떠야 하므로 시작 시 커넥션 검사를 하지 않습니다.
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /**
+     * 애플리케이션 전체가 사용하는 DataSource (MyBatis, 트랜잭션 매니저, JdbcTemplate)
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${book.datasource.sticky-seconds:5}") long stickySeconds) {
+        return new ReadYourWritesFilter(Duration.ofSeconds(stickySeconds));
+    }
+
+    /**
+     * @param replicas book.datasource.replicas[n].url / username / password / maximum-pool-size
+     */
+    @ConfigurationProperties("book.datasource")
+    public record ReplicaProperties(List<Replica> replicas) {
+    }
+
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.pgc.book.controller;
+
+import com.pgc.book.dto.BatchResultDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 일괄 등록(batch) API 공통 응답 (도서 / 회원 / 대출)
+ * : 실패한 행이 없으면 201 Created, 일부만 실패하면 207 Multi-Status, 한 행도 등록되지 않았으면 400 Bad Request
+ * (어느 경우든 본문에 행별 결과를 담습니다.)
+ */
+public final class BatchResponses {
+
+    private BatchResponses() {
+    }
+
+    public static <T> ResponseEntity<BatchResultDTO<T>> of(BatchResultDTO<T> result) {
+        return ResponseEntity.status(status(result)).body(result);
+    }
+
+    static HttpStatus status(BatchResultDTO<?> result) {
+        if (result.getErrors().isEmpty()) {
+            return HttpStatus.CREATED;
+        }
+        return result.getCreated().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.MULTI_STATUS;
+    }
+}
@@ -0,0 +1,100 @@
+package com.pgc.book.controller;
+
+import com.pgc.book.dto.ImportStatusDTO;
+import com.pgc.book.importer.BookImportService;
+import com.pgc.book.importer.ImportJob;
+import com.pgc.book.io.DataFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/books/import")
+public class BookImportRestController {
+
+    private final BookImportService bookImportService;
+
+    /**
+     * [POST] /api/books/import (multipart/form-data)
+     * 도서 대량 가져오기 API (업로드 파일)
+     * : 작업은 백그라운드에서 실행되고, 바로 작업 ID와 진행 상황을 반환합니다.
+     *
+     * @param file   CSV(헤더: title,author,publisher,price,pub_year) 또는 NDJSON 파일
+     * @param format csv | ndjson (미지정 시 파일 확장자로 판단)
+     * @return ResponseEntity<ImportStatusDTO> (202 Accepted)
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportStatusDTO> importUpload(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format) throws IOException {
+        ImportJob job = bookImportService.startUpload(file, resolveFormat(format, file.getOriginalFilename()));
+        return accepted(job);
+    }
+
+    /**
+     * [POST] /api/books/import/local?file=...
+     * 도서 대량 가져오기 API (서버의 book.import.local-dir 아래 파일)
+     *
+     * @param file   local-dir 기준 상대 경로
+     * @param format csv | ndjson (미지정 시 파일 확장자로 판단)
+     * @return ResponseEntity<ImportStatusDTO> (202 Accepted)
+     */
+    @PostMapping("/local")
+    public ResponseEntity<ImportStatusDTO> importLocal(
+            @RequestParam("file") String file,
+            @RequestParam(value = "format", required = false) String format) {
+        ImportJob job = bookImportService.startLocal(file, resolveFormat(format, file));
+        return accepted(job);
+    }
+
+    /**
+     * [GET] /api/books/import/{jobId}
+     * 가져오기 진행 상황 조회 API (처리/거부 행 수, 처리량, 거부 사유)
+     *
+     * @param jobId 작업 ID
+     * @return ResponseEntity<ImportStatusDTO> (200 OK 또는 404 Not Found)
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportStatusDTO> getImportStatus(@PathVariable String jobId) {
+        return bookImportService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toStatus()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * [GET] /api/books/import
+     * 최근 가져오기 작업 목록 조회 API
+     *
+     * @return ResponseEntity<List<ImportStatusDTO>> (200 OK)
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportStatusDTO>> getImportStatuses() {
+        return ResponseEntity.ok(bookImportService.findJobs().stream().map(ImportJob::toStatus).toList());
+    }
+
+    private static ResponseEntity<ImportStatusDTO> accepted(ImportJob job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/books/import/" + job.getJobId()))
+                .body(job.toStatus());
+    }
+
+    private static DataFormat resolveFormat(String format, String fileName) {
+        if (StringUtils.hasText(format)) {
+            return DataFormat.from(format);
+        }
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if (extension == null) {
+            throw new IllegalArgumentException("format 파라미터 또는 파일 확장자(.csv, .ndjson)가 필요합니다.");
+        }
+        return DataFormat.from(extension);
+    }
+}
@@ -1,13 +1,25 @@
 package com.pgc.book.controller;
 
+import com.pgc.book.aop.ReadFromPrimary;
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
-import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.BookSearchHitDTO;
+import com.pgc.book.dto.CursorPageDTO;
+import com.pgc.book.dto.PageDTO;
 import com.pgc.book.service.BookService;
 import jakarta.validation.Valid;
+import com.pgc.book.io.DataFormat;
+import com.pgc.book.service.ExportService;
+import com.pgc.book.snapshot.ResponseSnapshotCache;
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +29,9 @@ import java.util.List;
 public class BookRestController {
 
     private final BookService bookService;
+    private final ResourceVersions resourceVersions;
+    private final ResponseSnapshotCache responseSnapshotCache;
+    private final ExportService exportService;
 
     /**
      * [POST] /api/books
@@ -33,16 +48,52 @@ public class BookRestController {
     }
 
     /**
-     * [GET] /api/books
-     * 모든 책 조회 API
+     * [POST] /api/books/batch
+     * 책 일괄 등록 API
+     * : 각 행에 BookDTO의 Bean Validation 제약조건을 적용하고, 통과한 행만 청크 단위 batch INSERT 합니다.
      *
-     * @return ResponseEntity<List<BookDTO>> (200 OK)
+     * @param books 책 DTO 배열
+     * @return ResponseEntity<BatchResultDTO<BookDTO>> (전부 성공 201 Created, 일부 실패 207 Multi-Status, 전부 실패 400 Bad Request)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<BookDTO>> registerBooks(@RequestBody List<BookDTO> books) {
+        BatchResultDTO<BookDTO> result = bookService.registerBooks(books);
+        return BatchResponses.of(result);
+    }
+
+    /**
+     * [GET] /api/books?cursor=...&size=...
+     * 책 목록 커서 페이지 조회 API
+     * (cursor 미지정 시 첫 페이지, size 미지정 시 기본 크기, 최대 크기 제한)
+     *
+     * @param cursor 이전 페이지 응답의 nextCursor
+     * @param size 페이지 크기
+     * @return ResponseEntity<CursorPageDTO<BookDTO>> (200 OK 또는 변경이 없으면 304 Not Modified)
      */
+    @ReadFromPrimary
     @GetMapping
-    public ResponseEntity<List<BookDTO>> getAllBooks() {
-        List<BookDTO> books = bookService.getAllBooks();
-        // 200 OK 상태 코드와 책 목록을 반환
-        return ResponseEntity.ok(books); // .ok() == .status(HttpStatus.OK)
+    public ResponseEntity<CursorPageDTO<BookDTO>> getBooksPage(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.BOOKS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified (쿼리를 실행하지 않습니다.)
+        }
+        return ResponseEntity.ok().eTag(etag).body(bookService.getBooksPage(cursor, size));
+    }
+
+    /**
+     * [GET] /api/books?all=true
+     * 모든 책 조회 API (전체 테이블을 한 번에 반환하므로 명시적으로 요청한 경우에만 사용)
+     * : 직렬화된 JSON 스냅샷을 재사용합니다. (Accept-Encoding: gzip 이면 압축본)
+     *
+     * @return ResponseEntity<byte[]> (200 OK, JSON List<BookDTO> 또는 변경이 없으면 304 Not Modified)
+     */
+    @GetMapping(params = "all=true")
+    public ResponseEntity<byte[]> getAllBooks(WebRequest webRequest) {
+        return responseSnapshotCache.respond("books:all", resourceVersions.etag(Resource.BOOKS), webRequest,
+                bookService::getAllBooks);
     }
 
     /**
@@ -50,10 +101,15 @@ public class BookRestController {
      * 특정 ID의 책 한 권 조회 API
      *
      * @param bookId (URL 경로의 변수)
-     * @return ResponseEntity<BookDTO> (200 OK 또는 404 Not Found)
+     * @return ResponseEntity<BookDTO> (200 OK, 304 Not Modified 또는 404 Not Found)
      */
+    @ReadFromPrimary
     @GetMapping("/{bookId}")
-    public ResponseEntity<BookDTO> getBookById(@PathVariable int bookId) {
+    public ResponseEntity<BookDTO> getBookById(@PathVariable int bookId, WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.BOOKS, bookId);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
         BookDTO book = bookService.getBookById(bookId);
 
         if (book == null) {
@@ -61,7 +117,7 @@ public class BookRestController {
             return ResponseEntity.notFound().build();
         } else {
             // 조회 결과가 있으면 200 OK와 DTO 반환
-            return ResponseEntity.ok(book);
+            return ResponseEntity.ok().eTag(etag).body(book);
         }
     }
 
@@ -118,14 +174,101 @@ public class BookRestController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * [GET] /api/books/stats/rental-counts?limit=...
+     * 도서별 대출 횟수 순위 API (대출 횟수 많은 순)
+     *
+     * @param limit 상위 N건 (미지정 시 전체)
+     * @return ResponseEntity<byte[]> (200 OK, JSON List<BookRentalCountDTO> 또는 변경이 없으면 304 Not Modified)
+     */
     @GetMapping("/stats/rental-counts")
-    public ResponseEntity<List<BookRentalCountDTO>> getBookRentalCounts() {
-        List<BookRentalCountDTO> books = bookService.getBookRentalCounts();
-        return ResponseEntity.ok(books);
+    public ResponseEntity<byte[]> getBookRentalCounts(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        // (도서 제목과 대출 횟수 모두에 의존)
+        String etag = resourceVersions.etag(Resource.BOOKS, Resource.RENTALS);
+        return responseSnapshotCache.respond("books:stats:rental-counts:" + limit, etag, webRequest,
+                () -> (limit == null)
+                        ? bookService.getBookRentalCounts()
+                        : bookService.getBookRentalCounts(limit));
     }
 
+    /**
+     * [GET] /api/books/stats/most-expensive
+     * 최고가 도서 조회 API (동일 가격이면 모두)
+     *
+     * @return ResponseEntity<byte[]> (200 OK, JSON List<BookDTO> 또는 변경이 없으면 304 Not Modified)
+     */
     @GetMapping("/stats/most-expensive")
-    public ResponseEntity<List<BookDTO>> getMostExpensiveBooks(){
-        return ResponseEntity.ok(bookService.getMostExpensiveBooks());
+    public ResponseEntity<byte[]> getMostExpensiveBooks(WebRequest webRequest){
+        return responseSnapshotCache.respond("books:stats:most-expensive", resourceVersions.etag(Resource.BOOKS),
+                webRequest, bookService::getMostExpensiveBooks);
+    }
+
+    /**
+     * [GET] /api/books/search/price?min=...&max=...
+     * 가격 범위 도서 검색 API (가격 오름차순)
+     *
+     * @param min 최소 가격 (포함, 기본값 0)
+     * @param max 최대 가격 (포함)
+     * @return ResponseEntity<List<BookDTO>> (200 OK)
+     */
+    @GetMapping("/search/price")
+    public ResponseEntity<List<BookDTO>> searchBooksByPrice(
+            @RequestParam(value = "min", defaultValue = "0") int min,
+            @RequestParam("max") int max) {
+        return ResponseEntity.ok(bookService.getBooksByPriceRange(min, max));
+    }
+
+    /**
+     * [GET] /api/books/fulltext?q=...&page=...&size=...
+     * 제목 / 저자 / 출판사 키워드 검색 API (메모리 역색인, 관련도 순)
+     *
+     * @param q 검색어 (띄어쓰기 / 대소문자 무관, 모든 단어를 포함한 도서만)
+     * @param page 페이지 번호 (0부터, 기본값 0)
+     * @param size 페이지 크기 (기본 20, 최대 100)
+     * @return ResponseEntity<PageDTO<BookSearchHitDTO>> (200 OK)
+     */
+    @GetMapping("/fulltext")
+    public ResponseEntity<PageDTO<BookSearchHitDTO>> searchBooksFullText(
+            @RequestParam("q") String q,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(bookService.searchBooksFullText(q, page, size));
+    }
+
+    /**
+     * [GET] /api/books/stats/top-priced?k=...
+     * 가격 상위 K권 조회 API (가격 내림차순)
+     *
+     * @param k 조회할 권 수 (기본값 10)
+     * @return ResponseEntity<byte[]> (200 OK, JSON List<BookDTO> 또는 변경이 없으면 304 Not Modified)
+     */
+    @GetMapping("/stats/top-priced")
+    public ResponseEntity<byte[]> getTopPricedBooks(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            WebRequest webRequest) {
+        return responseSnapshotCache.respond("books:stats:top-priced:" + k, resourceVersions.etag(Resource.BOOKS),
+                webRequest, () -> bookService.getTopPricedBooks(k));
+    }
+
+    /**
+     * [GET] /api/books/export?format=ndjson|csv
+     * 도서 전체 내보내기(Export) API
+     * : 전체 목록을 메모리에 올리지 않고 DB에서 읽는 즉시 응답 스트림(chunked)으로 내려보냅니다.
+     * @param format ndjson(기본값) 또는 csv
+     * @return ResponseEntity<StreamingResponseBody> (200 OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        DataFormat dataFormat = DataFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportBooks(dataFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books." + dataFormat.getExtension() + "\"")
+                .body(body);
     }
 }
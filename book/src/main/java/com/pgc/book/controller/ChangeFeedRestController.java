@@ -0,0 +1,50 @@
+package com.pgc.book.controller;
+
+import com.pgc.book.feed.ChangeFeedSubscriptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/changes")
+public class ChangeFeedRestController {
+
+    private final ChangeFeedSubscriptions changeFeedSubscriptions;
+
+    /**
+     * [GET] /api/changes (Accept: text/event-stream)
+     * 도서 / 회원 / 대출 변경 피드 구독 API (SSE)
+     * : 목록을 주기적으로 다시 조회하는 대신, 커밋된 변경을 순서대로 받습니다.
+     * @param lastEventId 마지막으로 받은 이벤트 id (브라우저 EventSource 가 재연결 시 자동으로 보냄)
+     * @param after 마지막으로 받은 cursor (Last-Event-ID 를 보낼 수 없는 클라이언트용, 둘 다 없으면 지금부터)
+     * @return SseEmitter (구독자가 너무 많으면 503, cursor 형식이 잘못되면 400)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "after", required = false) String after) {
+        return changeFeedSubscriptions.subscribeSse(lastEventId != null ? lastEventId : after);
+    }
+
+    /**
+     * [GET] /api/changes?format=ndjson&after=...
+     * 변경 피드 구독 API (NDJSON, 한 줄에 이벤트 하나 / 빈 줄은 연결 유지용)
+     * @param after 마지막으로 받은 cursor (없으면 지금부터)
+     * @return ResponseEntity<ResponseBodyEmitter> (200 OK, 구독자가 너무 많으면 503, cursor 형식이 잘못되면 400)
+     */
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<ResponseBodyEmitter> streamChangesNdjson(
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.ok()
+                .contentType(ChangeFeedSubscriptions.NDJSON)
+                .body(changeFeedSubscriptions.subscribeNdjson(after));
+    }
+}
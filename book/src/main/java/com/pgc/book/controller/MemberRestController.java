@@ -1,12 +1,23 @@
 package com.pgc.book.controller;
 
+import com.pgc.book.aop.ReadFromPrimary;
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.dto.RentalWithBookDTO;
 import com.pgc.book.service.MemberService;
+import com.pgc.book.io.DataFormat;
+import com.pgc.book.service.ExportService;
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;       // [ ⭐️ import 추가 ⭐️ ]
 import org.springframework.http.ResponseEntity; // [ ⭐️ import 추가 ⭐️ ]
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,6 +27,8 @@ import java.util.List;
 public class MemberRestController {
 
     private final MemberService memberService;
+    private final ExportService exportService;
+    private final ResourceVersions resourceVersions;
 
     /**
      * [POST] /api/members
@@ -30,29 +43,95 @@ public class MemberRestController {
     }
 
     /**
-     * [GET] /api/members
-     * @return ResponseEntity<List<MemberDTO>> (200 OK)
+     * [POST] /api/members/batch
+     * 회원 일괄 등록 API (청크 단위 batch INSERT)
+     * @param members 회원 DTO 배열
+     * @return ResponseEntity<BatchResultDTO<MemberDTO>> (전부 성공 201 Created, 일부 실패 207 Multi-Status, 전부 실패 400 Bad Request)
      */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<MemberDTO>> registerMembers(@RequestBody List<MemberDTO> members) {
+        BatchResultDTO<MemberDTO> result = memberService.registerMembers(members);
+        return BatchResponses.of(result);
+    }
+
+    /**
+     * [GET] /api/members?cursor=...&size=...
+     * 회원 목록 커서 페이지 조회 API
+     * @param cursor 이전 페이지 응답의 nextCursor
+     * @param size 페이지 크기
+     * @return ResponseEntity<CursorPageDTO<MemberDTO>> (200 OK 또는 변경이 없으면 304 Not Modified)
+     */
+    @ReadFromPrimary
     @GetMapping
-    public ResponseEntity<List<MemberDTO>> getAllMembers(){
+    public ResponseEntity<CursorPageDTO<MemberDTO>> getMembersPage(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.MEMBERS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified (쿼리를 실행하지 않습니다.)
+        }
+        return ResponseEntity.ok().eTag(etag).body(memberService.getMembersPage(cursor, size));
+    }
+
+    /**
+     * [GET] /api/members?all=true
+     * 모든 회원 조회 API (명시적으로 요청한 경우에만 전체 목록 반환)
+     * @return ResponseEntity<List<MemberDTO>> (200 OK 또는 변경이 없으면 304 Not Modified)
+     */
+    @ReadFromPrimary
+    @GetMapping(params = "all=true")
+    public ResponseEntity<List<MemberDTO>> getAllMembers(WebRequest webRequest){
+        String etag = resourceVersions.etag(Resource.MEMBERS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
         // 200 OK 상태 코드와 회원 목록을 반환
-        return ResponseEntity.ok(memberService.getAllMembers());
+        return ResponseEntity.ok().eTag(etag).body(memberService.getAllMembers());
     }
 
     /**
      * [GET] /api/members/{memberId}
      * 특정 ID의 멤버 조회 API
      * @param memberId (URL 경로의 변수)
-     * @return ResponseEntity<MemberDTO> (200 OK 또는 404 Not Found)
+     * @return ResponseEntity<MemberDTO> (200 OK, 304 Not Modified 또는 404 Not Found)
      */
+    @ReadFromPrimary
     @GetMapping("/{memberId}")
-    public ResponseEntity<MemberDTO> getMemberById(@PathVariable int memberId){
+    public ResponseEntity<MemberDTO> getMemberById(@PathVariable int memberId, WebRequest webRequest){
+        String etag = resourceVersions.etag(Resource.MEMBERS, memberId);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
         MemberDTO member = memberService.getMemberById(memberId);
 
         // (삼항 연산자를 사용한 널 체크)
         return (member == null)
-                ? ResponseEntity.notFound().build()   // 404 Not Found
-                : ResponseEntity.ok(member);            // 200 OK
+                ? ResponseEntity.notFound().build()          // 404 Not Found
+                : ResponseEntity.ok().eTag(etag).body(member); // 200 OK
+    }
+
+    /**
+     * [GET] /api/members/{memberId}/rentals?history=...
+     * 회원의 대출 이력 조회 API (각 대출에 도서 정보를 포함해 한 번에 반환)
+     * @param memberId (URL 경로의 변수)
+     * @param history true 이면 보관된(오래전에 반납된) 대출까지 포함
+     * @return ResponseEntity<List<RentalWithBookDTO>> (200 OK, 304 Not Modified 또는 404 Not Found)
+     */
+    @ReadFromPrimary
+    @GetMapping("/{memberId}/rentals")
+    public ResponseEntity<List<RentalWithBookDTO>> getMemberRentals(
+            @PathVariable int memberId,
+            @RequestParam(value = "history", defaultValue = "false") boolean history,
+            WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.MEMBERS, Resource.RENTALS, Resource.BOOKS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        List<RentalWithBookDTO> rentals = memberService.getMemberRentals(memberId, history);
+        return (rentals == null)
+                ? ResponseEntity.notFound().build()
+                : ResponseEntity.ok().eTag(etag).body(rentals);
     }
 
     /**
@@ -93,4 +172,52 @@ public class MemberRestController {
         // (검색 결과가 없어도 빈 리스트[]를 200 OK로 반환)
         return ResponseEntity.ok(memberService.getBooksRentedByMemberName(name));
     }
-    }
\ No newline at end of file
+
+    /**
+     * [GET] /api/members/typeahead?q=...&limit=...
+     * 회원 이름 자동완성 API (메모리 인덱스 조회, 부분 이름 입력 가능)
+     * @param q 이름의 일부 (ex. "길동", "홍길")
+     * @param limit 최대 결과 수 (기본 10, 최대 50)
+     * @return ResponseEntity<List<MemberDTO>> (200 OK, 접두어 일치가 먼저)
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<MemberDTO>> typeahead(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(memberService.searchMembers(q, limit));
+    }
+
+    /**
+     * [GET] /api/members/typeahead/books?q=...&limit=...
+     * 자동완성으로 찾은 회원들이 대출한 도서 목록 조회 API (회원 ID 기준 조회)
+     * @param q 이름의 일부
+     * @param limit 대상 회원 수 (기본 10, 최대 50)
+     * @return ResponseEntity<List<BookDTO>> (200 OK)
+     */
+    @GetMapping("/typeahead/books")
+    public ResponseEntity<List<BookDTO>> getBooksRentedByMatchingMembers(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(memberService.getBooksRentedByMatchingMembers(q, limit));
+    }
+
+    /**
+     * [GET] /api/members/export?format=ndjson|csv
+     * 회원 전체 내보내기(Export) API
+     * : 전체 목록을 메모리에 올리지 않고 DB에서 읽는 즉시 응답 스트림(chunked)으로 내려보냅니다.
+     * @param format ndjson(기본값) 또는 csv
+     * @return ResponseEntity<StreamingResponseBody> (200 OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        DataFormat dataFormat = DataFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportMembers(dataFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"members." + dataFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
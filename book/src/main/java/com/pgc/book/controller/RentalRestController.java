@@ -1,13 +1,27 @@
 package com.pgc.book.controller;
 
-import com.pgc.book.dto.BookDTO;
+import com.pgc.book.aop.ReadFromPrimary;
+import com.pgc.book.dto.BatchResultDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.RentalDTO;
 import com.pgc.book.service.RentalService;
+import com.pgc.book.io.DataFormat;
+import com.pgc.book.journal.RentalJournalService;
+import com.pgc.book.service.ExportService;
+import com.pgc.book.snapshot.ResponseSnapshotCache;
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;       // [ ⭐️ import 추가 ⭐️ ]
 import org.springframework.http.ResponseEntity; // [ ⭐️ import 추가 ⭐️ ]
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,54 +30,181 @@ import java.util.List;
 public class RentalRestController {
 
     private final RentalService rentalService;
+    private final ExportService exportService;
+    private final ResourceVersions resourceVersions;
+    private final ResponseSnapshotCache responseSnapshotCache;
+    // (write-behind 모드가 꺼져 있으면 Bean 이 없습니다.)
+    private final ObjectProvider<RentalJournalService> rentalJournalService;
 
     /**
      * [POST] /api/rentals
      * 대출 등록 API
+     * : write-behind 모드(book.rental.journal.enabled=true)에서는 로컬 저널에 기록된 즉시 202 Accepted 를 반환하고,
+     * DB 반영(rental_id 부여)은 백그라운드에서 이루어집니다. (X-Journal-Sequence 헤더 = 저널 순번)
      * @param rental DTO
-     * @return ResponseEntity<RentalDTO> (201 Created)
+     * @return ResponseEntity<RentalDTO> (201 Created 또는 202 Accepted, 대출 가능한 재고가 없으면 409 Conflict)
      */
     @PostMapping
     public ResponseEntity<RentalDTO> registerRental(@RequestBody RentalDTO rental) {
+        RentalJournalService journal = rentalJournalService.getIfAvailable();
+        if (journal != null) {
+            long sequence = journal.accept(rental);
+            return ResponseEntity.accepted().header("X-Journal-Sequence", Long.toString(sequence)).body(rental);
+        }
         // 201 Created 상태 코드와 생성된 대출 정보를 반환
         return ResponseEntity.status(HttpStatus.CREATED).body(rentalService.registerRental(rental));
     }
 
     /**
-     * [GET] /api/rentals
-     * 모든 대출 내역 조회 API
-     * @return ResponseEntity<List<RentalDTO>> (200 OK)
+     * [POST] /api/rentals/batch
+     * 대출 일괄 등록 API (청크 단위 batch INSERT)
+     * @param rentals 대출 DTO 배열
+     * @return ResponseEntity<BatchResultDTO<RentalDTO>> (전부 성공 201 Created, 일부 실패 207 Multi-Status, 전부 실패 400 Bad Request)
      */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<RentalDTO>> registerRentals(@RequestBody List<RentalDTO> rentals) {
+        BatchResultDTO<RentalDTO> result = rentalService.registerRentals(rentals);
+        return BatchResponses.of(result);
+    }
+
+    /**
+     * [GET] /api/rentals?cursor=...&size=...&history=...
+     * 대출 내역 커서 페이지 조회 API
+     * @param cursor 이전 페이지 응답의 nextCursor
+     * @param size 페이지 크기
+     * @param history true 이면 보관된(오래전에 반납된) 대출까지 포함
+     * @return ResponseEntity<CursorPageDTO<RentalDTO>> (200 OK 또는 변경이 없으면 304 Not Modified)
+     */
+    @ReadFromPrimary
     @GetMapping
-    public ResponseEntity<List<RentalDTO>> getAllRentals() {
+    public ResponseEntity<CursorPageDTO<RentalDTO>> getRentalsPage(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "history", defaultValue = "false") boolean history,
+            WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.RENTALS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified (쿼리를 실행하지 않습니다.)
+        }
+        return ResponseEntity.ok().eTag(etag).body(rentalService.getRentalsPage(cursor, size, history));
+    }
+
+    /**
+     * [GET] /api/rentals?all=true&history=...
+     * 모든 대출 내역 조회 API (명시적으로 요청한 경우에만 전체 목록 반환)
+     * @param history true 이면 보관된(오래전에 반납된) 대출까지 포함
+     * @return ResponseEntity<List<RentalDTO>> (200 OK 또는 변경이 없으면 304 Not Modified)
+     */
+    @ReadFromPrimary
+    @GetMapping(params = "all=true")
+    public ResponseEntity<List<RentalDTO>> getAllRentals(
+            @RequestParam(value = "history", defaultValue = "false") boolean history,
+            WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.RENTALS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
         // 200 OK 상태 코드와 대출 목록을 반환
-        return ResponseEntity.ok(rentalService.getAllRentals());
+        return ResponseEntity.ok().eTag(etag).body(rentalService.getAllRentals(history));
     }
 
     /**
      * [GET] /api/rentals/{rentalId}
      * 특정 ID의 대출 내역 조회 API
      * @param rentalId (URL 경로의 변수)
-     * @return ResponseEntity<RentalDTO> (200 OK 또는 404 Not Found)
+     * @return ResponseEntity<RentalDTO> (200 OK, 304 Not Modified 또는 404 Not Found)
      */
+    @ReadFromPrimary
     @GetMapping("/{rentalId}")
-    public ResponseEntity<RentalDTO> getRentalById(@PathVariable int rentalId) {
+    public ResponseEntity<RentalDTO> getRentalById(@PathVariable int rentalId, WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.RENTALS, rentalId);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
         RentalDTO rental = rentalService.getRentalById(rentalId);
 
         // (삼항 연산자를 사용한 널 체크)
         return (rental == null)
-                ? ResponseEntity.notFound().build()   // 404 Not Found
-                : ResponseEntity.ok(rental);            // 200 OK
+                ? ResponseEntity.notFound().build()          // 404 Not Found
+                : ResponseEntity.ok().eTag(etag).body(rental); // 200 OK
     }
 
     /**
      * [GET] /api/rentals/unreturned
      * 미반납 도서 목록 조회 API
-     * @return ResponseEntity<List<BookDTO>> (200 OK)
+     * @return ResponseEntity<byte[]> (200 OK, JSON List<BookDTO> 또는 변경이 없으면 304 Not Modified)
      */
     @GetMapping("/unreturned")
-    public ResponseEntity<List<BookDTO>> getUnreturnedBooks(){
+    public ResponseEntity<byte[]> getUnreturnedBooks(WebRequest webRequest){
         // (검색 결과가 없어도 빈 리스트[]를 200 OK로 반환)
-        return ResponseEntity.ok(rentalService.getUnreturnedBooks());
+        return responseSnapshotCache.respond("rentals:unreturned", resourceVersions.etag(Resource.RENTALS, Resource.BOOKS),
+                webRequest, rentalService::getUnreturnedBooks);
+    }
+
+    /**
+     * [GET] /api/rentals/overdue
+     * 연체 중인 대출 목록 조회 API (대출일 + book.rental.loan-days 가 지난 미반납 대출)
+     * @return ResponseEntity<List<RentalDTO>> (200 OK, 오래 연체된 순)
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<List<RentalDTO>> getOverdueRentals() {
+        return ResponseEntity.ok(rentalService.getOverdueRentals());
+    }
+
+    /**
+     * [GET] /api/rentals/open?memberId=...
+     * 회원별 미반납 대출 목록 조회 API
+     * @param memberId 회원 ID
+     * @return ResponseEntity<List<RentalDTO>> (200 OK 대출일 오름차순, 또는 변경이 없으면 304 Not Modified)
+     */
+    @ReadFromPrimary
+    @GetMapping("/open")
+    public ResponseEntity<List<RentalDTO>> getOpenRentalsByMember(@RequestParam("memberId") int memberId,
+                                                                  WebRequest webRequest) {
+        String etag = resourceVersions.etag(Resource.RENTALS);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok().eTag(etag).body(rentalService.getOpenRentalsByMember(memberId));
+    }
+
+    /**
+     * [PUT] /api/rentals/{rentalId}/return?date=...
+     * 반납 처리 API
+     * @param rentalId (URL 경로의 변수)
+     * @param date 반납일 (yyyy-MM-dd, 생략하면 오늘)
+     * @return ResponseEntity<RentalDTO> (200 OK, 404 Not Found 또는 이미 반납된 경우 409 Conflict)
+     */
+    @PutMapping("/{rentalId}/return")
+    public ResponseEntity<RentalDTO> returnRental(
+            @PathVariable int rentalId,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        RentalDTO rental = rentalService.returnRental(rentalId, date);
+
+        return (rental == null)
+                ? ResponseEntity.notFound().build()   // 404 Not Found
+                : ResponseEntity.ok(rental);            // 200 OK
+    }
+
+    /**
+     * [GET] /api/rentals/export?format=ndjson|csv&history=...
+     * 대출 내역 전체 내보내기(Export) API
+     * : 전체 목록을 메모리에 올리지 않고 DB에서 읽는 즉시 응답 스트림(chunked)으로 내려보냅니다.
+     * @param format ndjson(기본값) 또는 csv
+     * @param history true 이면 보관된(오래전에 반납된) 대출까지 포함
+     * @return ResponseEntity<StreamingResponseBody> (200 OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRentals(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "history", defaultValue = "false") boolean history) {
+        DataFormat dataFormat = DataFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportRentals(dataFormat, history, out);
+
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"rentals." + dataFormat.getExtension() + "\"")
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.pgc.book.controller;
+
+import com.pgc.book.dto.RentalStatsDTO;
+import com.pgc.book.service.RentalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stats")
+public class StatsRestController {
+
+    private final RentalService rentalService;
+
+    /**
+     * [GET] /api/stats/rentals?groupBy=...&from=...&to=...&limit=...
+     * 대출 통계 API (대출 수, 반납 수, 평균 대출 기간)
+     * : 주기적으로 갱신되는 통계 스냅샷에서 집계하므로 최근 대출은 snapshotAt 이후에 반영됩니다.
+     * @param groupBy all(기본값) | month | publisher | author | member
+     * @param from 대출일 시작 (yyyy-MM-dd, 포함)
+     * @param to 대출일 끝 (yyyy-MM-dd, 포함)
+     * @param limit 상위 N 그룹 (월별은 시간순, 그 외는 대출 수 많은 순)
+     * @return ResponseEntity<RentalStatsDTO> (200 OK 또는 스냅샷이 그대로면 304 Not Modified)
+     */
+    @GetMapping("/rentals")
+    public ResponseEntity<RentalStatsDTO> getRentalStats(
+            @RequestParam(value = "groupBy", defaultValue = "all") String groupBy,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        // (집계는 메모리에서 하므로 먼저 계산하고, 스냅샷 시각으로 변경 여부를 비교합니다.)
+        RentalStatsDTO stats = rentalService.getRentalStats(groupBy, from, to, limit);
+        String etag = "\"s" + stats.getSnapshotAt().toEpochMilli() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok().eTag(etag).body(stats);
+    }
+}
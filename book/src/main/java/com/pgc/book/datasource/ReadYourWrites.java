@@ -0,0 +1,46 @@
+package com.pgc.book.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드(요청)의 읽기를 주(primary) DB로 고정하는 표시
+ * : 방금 쓴 클라이언트가 복제 지연 때문에 자기 쓰기를 못 보는 일이 없도록
+ * ReadYourWritesFilter 가 요청 시작 시 켜고 끝날 때 끕니다.
+ *
+ * 캐시나 ETag 에 담기는 결과를 만드는 읽기도 onPrimary 로 주 DB에서 읽습니다.
+ * (버전은 서버 전체에 하나인데 복제본은 뒤처져 있을 수 있으므로, 복제본에서 읽으면 이전 데이터가 새 버전으로 저장됩니다.)
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> STICKY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void activate() {
+        STICKY.set(Boolean.TRUE);
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(STICKY.get());
+    }
+
+    public static void clear() {
+        STICKY.remove();
+    }
+
+    /**
+     * read 를 주 DB에서 실행합니다. (이미 켜져 있으면 그대로 두고, 아니면 끝난 뒤 다시 끕니다.)
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isActive()) {
+            return read.get();
+        }
+        activate();
+        try {
+            return read.get();
+        } finally {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pgc.book.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 쓰기 후 읽기 일관성(read-your-writes) 필터
+ * : 쓰기 요청(POST / PUT / PATCH / DELETE)을 보낸 클라이언트에게 "이 시각까지 주 DB에서 읽기" 쿠키를 주고,
+ * 그 쿠키가 유효한 동안의 요청은 읽기 전용 트랜잭션도 복제본 대신 주 DB로 보냅니다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "book-primary-until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickyDuration;
+
+    public ReadYourWritesFilter(Duration stickyDuration) {
+        this.stickyDuration = stickyDuration;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // (응답 본문을 쓰기 전에 쿠키를 붙여야 하므로 요청 처리 전에 설정합니다.)
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyDuration.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(stickyDuration.toSeconds(), 1));
+            response.addCookie(cookie);
+        }
+
+        if (write || stickyUntil(request) > now) {
+            ReadYourWrites.activate();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.pgc.book.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 읽기 전용 트랜잭션용 DataSource (LazyConnectionDataSourceProxy 의 readOnlyDataSource)
+ * : 정상(healthy) 복제본(replica)을 라운드 로빈으로 고르고, 커넥션을 얻지 못하면 그 복제본을 내린(down) 뒤
+ * 다음 복제본 → 주 DB 순으로 넘어갑니다.
+ * 방금 쓴 클라이언트의 요청(ReadYourWrites)과 복제본이 하나도 없을 때는 주 DB를 사용합니다.
+ * 내려간 복제본은 checkHealth() 가 주기적으로 확인해서 다시 올립니다.
+ *
+ * 복제본 커넥션을 내준 트랜잭션은 끝날 때까지 isReadingReplica() 가 true 이고,
+ * 매퍼 2차 캐시(OffHeapCache)는 그 결과를 저장하지 않습니다. (뒤처진 결과가 캐시에 남지 않도록)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    // 1 = 정상, 0 = 내려감
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            healthy.set(i, 1);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * 지정한 계정으로 getConnection() 과 같은 규칙(복제본 → 주 DB)에 따라 커넥션을 얻습니다.
+     * (계정별 커넥션을 지원하지 않는 풀(HikariCP 등)이면 그 예외를 그대로 던지고, 복제본을 내리지는 않습니다.)
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!ReadYourWrites.isActive()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                int index = nextHealthy();
+                if (index < 0) {
+                    break;
+                }
+                try {
+                    Connection connection = opener.open(replicas.get(index));
+                    markReplicaRead();
+                    return connection;
+                } catch (SQLFeatureNotSupportedException e) {
+                    // (복제본 장애가 아니라 요청 방식을 지원하지 않는 것)
+                    throw e;
+                } catch (SQLException e) {
+                    markDown(index, e);
+                }
+            }
+        }
+        return opener.open(primary);
+    }
+
+    /**
+     * 현재 트랜잭션이 복제본에서 읽었으면 true
+     */
+    public static boolean isReadingReplica() {
+        return Boolean.TRUE.equals(REPLICA_READ.get());
+    }
+
+    // 트랜잭션이 끝나면(afterCompletion) 지웁니다. (매퍼 캐시 저장은 그 전인 커밋 직전에 일어납니다.)
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isReadingReplica()) {
+            return;
+        }
+        REPLICA_READ.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                REPLICA_READ.remove();
+            }
+        });
+    }
+
+    /**
+     * 모든 복제본에 커넥션 검사를 해서 상태를 갱신합니다.
+     */
+    @Scheduled(fixedDelayString = "${book.datasource.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean valid;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                valid = connection.isValid(2);
+            } catch (SQLException e) {
+                valid = false;
+            }
+            if (valid && healthy.getAndSet(i, 1) == 0) {
+                log.info("복제본 #{} 복구 → 읽기 분산에 다시 포함", i);
+            } else if (!valid) {
+                markDown(i, null);
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        int count = 0;
+        for (int i = 0; i < healthy.length(); i++) {
+            count += healthy.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * 빈 종료 시 복제본 커넥션 풀을 닫습니다. (주 DB 풀은 별도 빈이라 컨테이너가 닫습니다.)
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // 라운드 로빈으로 다음 정상 복제본 (없으면 -1)
+    private int nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (healthy.get(index) == 1) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void markDown(int index, SQLException cause) {
+        if (healthy.getAndSet(index, 0) == 1) {
+            log.warn("복제본 #{} 내림 → 주 DB 또는 다른 복제본으로 읽기 전환 ({})", index,
+                    cause == null ? "health check 실패" : cause.getMessage());
+        }
+    }
+}
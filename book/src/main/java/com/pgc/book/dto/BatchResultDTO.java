@@ -0,0 +1,22 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 일괄 등록(batch) 결과
+ * : created에는 생성된 키(ID)가 채워진 행이, errors에는 실패한 행의 위치와 사유가 담깁니다.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResultDTO<T> {
+
+    private int requested;
+    private List<T> created;
+    private List<RowErrorDTO> errors;
+}
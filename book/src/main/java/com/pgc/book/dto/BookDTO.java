@@ -3,13 +3,19 @@ package com.pgc.book.dto;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 @Getter
 @Setter
 @ToString
-@Builder               // [ ⭐️ 1. 빌더 추가 ⭐️ ]
+@Builder(toBuilder = true) // [ ⭐️ 1. 빌더 추가 ⭐️ ]
 @AllArgsConstructor    // [ ⭐️ 2. 빌더가 사용할 생성자 ⭐️ ]
 @NoArgsConstructor
-public class BookDTO {
+public class BookDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private int bookId;
 
@@ -31,4 +37,11 @@ public class BookDTO {
     @NotBlank
     @Pattern(regexp = "^(19|20)\\d{2}$")
     private String pubYear;
+
+    /**
+     * 같은 값을 가진 새 객체 (캐시 / 메모리 인덱스가 호출자와 같은 객체를 나눠 갖지 않도록 저장하고 꺼낼 때 씁니다.)
+     */
+    public BookDTO copy() {
+        return toBuilder().build();
+    }
 }
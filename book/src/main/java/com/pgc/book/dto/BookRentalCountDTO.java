@@ -2,13 +2,19 @@ package com.pgc.book.dto;
 
 import lombok.*;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 @Getter
 @Setter
 @ToString
 @Builder               // [ ⭐️ 1. 빌더 추가 ⭐️ ]
 @AllArgsConstructor    // [ ⭐️ 2. 빌더가 사용할 생성자 ⭐️ ]
 @NoArgsConstructor
-public class BookRentalCountDTO {
+public class BookRentalCountDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private int bookId;
     private String title;
@@ -0,0 +1,17 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchHitDTO {
+
+    private BookDTO book;
+
+    // TF-IDF 점수 (클수록 관련도 높음)
+    private double score;
+}
@@ -0,0 +1,33 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 변경 피드(/api/changes) 이벤트 한 건
+ * : 쓰기가 커밋된 뒤에 순서대로 번호(seq)가 매겨집니다.
+ * 다시 연결할 때는 마지막으로 받은 cursor 를 Last-Event-ID 헤더(SSE)나 ?after= 로 보내면 그 다음부터 받습니다.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEventDTO {
+
+    // 이어 받기 위치 ("서버 시작 값-seq", 서버가 재시작되면 앞부분이 바뀝니다.)
+    private String cursor;
+    private long seq;
+
+    // book | member | rental | feed (feed 는 피드 자체의 알림 : RESET, LAGGED)
+    private String resource;
+    // CREATED | UPDATED | DELETED | OVERDUE | RESET | LAGGED
+    private String change;
+    private Integer id;
+    private Instant at;
+
+    // 변경된 엔티티 (DELETED 와 feed 알림이면 null)
+    private Object data;
+}
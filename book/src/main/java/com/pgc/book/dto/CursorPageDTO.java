@@ -0,0 +1,54 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * 커서(Keyset) 기반 페이지 응답
+ * : 마지막으로 받은 행의 PK(nextCursor)를 다음 요청의 cursor로 넘기면
+ * "WHERE id < cursor ORDER BY id DESC LIMIT size" 로 다음 페이지를 조회합니다.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> items;
+
+    // 다음 페이지가 없으면 null
+    private Integer nextCursor;
+
+    private int size;
+
+    private boolean hasNext;
+
+    /**
+     * 요청된 페이지 크기를 [1, MAX_SIZE] 범위로 보정합니다. (미지정/0 이하 -> DEFAULT_SIZE)
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * size + 1 건을 조회한 결과(rows)로 페이지를 만듭니다.
+     * 한 건이 더 조회되었다면 다음 페이지가 있다는 뜻입니다.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, ToIntFunction<T> keyExtractor) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        Integer nextCursor = hasNext ? keyExtractor.applyAsInt(items.get(items.size() - 1)) : null;
+        return new CursorPageDTO<>(items, nextCursor, items.size(), hasNext);
+    }
+}
@@ -0,0 +1,39 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 대량 가져오기(Import) 작업의 진행 상황
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportStatusDTO {
+
+    private String jobId;
+    private String source;
+    private String format;
+    private String status;
+
+    private long rowsRead;
+    private long rowsWritten;
+    private long rowsRejected;
+    private long chunksCommitted;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // 거부된 행 (최대 개수까지만 보관)
+    private List<RowErrorDTO> rejectedRows;
+    private boolean rejectedRowsTruncated;
+
+    private String errorMessage;
+}
@@ -0,0 +1,37 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 번호(offset) 기반 페이지 응답
+ * : 검색 결과처럼 순위로 정렬되어 커서로 이어 받을 수 없는 목록에 사용합니다. (page는 0부터)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageDTO<T> {
+
+    private List<T> items;
+
+    private int page;
+
+    private int size;
+
+    private long totalCount;
+
+    private boolean hasNext;
+
+    /**
+     * 전체 결과(rows)에서 page 번째 페이지를 잘라 만듭니다.
+     */
+    public static <T> PageDTO<T> of(List<T> rows, int page, int size) {
+        int from = (int) Math.min((long) page * size, rows.size());
+        int to = Math.min(from + size, rows.size());
+        return new PageDTO<>(List.copyOf(rows.subList(from, to)), page, size, rows.size(), to < rows.size());
+    }
+}
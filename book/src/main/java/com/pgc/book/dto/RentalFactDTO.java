@@ -0,0 +1,26 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 통계 스냅샷 적재용 대출 한 행 (대출 + 도서 저자 / 출판사)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalFactDTO {
+
+    private int memberId;
+    private int bookId;
+    private LocalDate rentDate;
+    private LocalDate returnDate;
+
+    // (도서가 삭제된 대출이면 null)
+    private String author;
+    private String publisher;
+}
@@ -0,0 +1,24 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+/**
+ * 대출 통계 한 그룹 (월 / 출판사 / 저자 / 회원 중 하나로 묶은 결과)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalStatDTO {
+
+    // 그룹 값 (월이면 "2025-10", 회원이면 member_id, 전체면 null / 저자·출판사가 없으면 null)
+    private String key;
+
+    private long rentals;
+    private long returned;
+
+    // 반납된 대출의 평균 대출 기간(일) (반납된 대출이 없으면 null)
+    private Double avgLoanDays;
+}
@@ -0,0 +1,28 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 대출 통계 응답 (스냅샷 시각을 함께 내려 얼마나 최신인지 알 수 있게 합니다.)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalStatsDTO {
+
+    private String groupBy;
+    private LocalDate from;
+    private LocalDate to;
+
+    private Instant snapshotAt;
+    private int snapshotRows;
+
+    private List<RentalStatDTO> groups;
+}
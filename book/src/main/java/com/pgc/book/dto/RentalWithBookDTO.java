@@ -0,0 +1,31 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 도서 정보를 포함한 대출 내역 (회원별 대출 화면용)
+ * : RentalMapper 의 rentalWithBook 중첩 resultMap 으로 대출 + 도서를 한 번의 조인 쿼리로 채웁니다.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalWithBookDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private int rentalId;
+    private int memberId;
+    private LocalDate rentDate;
+    private LocalDate returnDate;
+
+    // (도서가 삭제된 대출이면 null)
+    private BookDTO book;
+}
@@ -0,0 +1,21 @@
+package com.pgc.book.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * 일괄 처리 중 실패한 행 정보
+ * : index는 요청 배열(또는 파일)에서의 위치(0부터), errors는 필드명 -> 오류 메시지
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RowErrorDTO {
+
+    private long index;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,11 @@
+package com.pgc.book.event;
+
+import com.pgc.book.dto.BookDTO;
+
+/**
+ * 도서 등록/수정/삭제 이벤트
+ * : Service가 쓰기 트랜잭션 안에서 발행하고, 구독자는 @TransactionalEventListener로
+ * 커밋이 끝난 뒤에 받습니다. (DELETED 이벤트의 book은 null)
+ */
+public record BookChangedEvent(ChangeType type, int bookId, BookDTO book) {
+}
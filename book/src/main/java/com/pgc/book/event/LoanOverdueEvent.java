@@ -0,0 +1,12 @@
+package com.pgc.book.event;
+
+import com.pgc.book.dto.RentalDTO;
+
+import java.time.LocalDate;
+
+/**
+ * 대출 연체 발생 이벤트
+ * : OverdueScanner 가 반납 기한(dueDate)을 새로 넘긴 대출마다 한 번씩 발행합니다.
+ */
+public record LoanOverdueEvent(RentalDTO rental, LocalDate dueDate) {
+}
@@ -0,0 +1,10 @@
+package com.pgc.book.event;
+
+import com.pgc.book.dto.MemberDTO;
+
+/**
+ * 회원 등록/수정 이벤트
+ * : Service가 쓰기 트랜잭션 안에서 발행하고, 구독자는 커밋이 끝난 뒤에 받습니다.
+ */
+public record MemberChangedEvent(ChangeType type, int memberId, MemberDTO member) {
+}
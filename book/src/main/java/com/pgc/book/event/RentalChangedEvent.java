@@ -0,0 +1,10 @@
+package com.pgc.book.event;
+
+import com.pgc.book.dto.RentalDTO;
+
+/**
+ * 대출 등록/변경 이벤트
+ * : Service가 쓰기 트랜잭션 안에서 발행하고, 구독자는 커밋이 끝난 뒤에 받습니다.
+ */
+public record RentalChangedEvent(ChangeType type, RentalDTO rental) {
+}
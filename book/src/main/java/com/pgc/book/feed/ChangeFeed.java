@@ -0,0 +1,189 @@
+package com.pgc.book.feed;
+
+import com.pgc.book.dto.ChangeEventDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.LoanOverdueEvent;
+import com.pgc.book.event.MemberChangedEvent;
+import com.pgc.book.event.RentalChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 변경 피드 (크기 제한 링 버퍼)
+ * : 도서 / 회원 / 대출 변경이 커밋되면(@TransactionalEventListener) 순번(seq)을 매겨 링 버퍼에 넣습니다.
+ * 버퍼는 최근 capacity 건만 보관하고, 가득 차면 가장 오래된 이벤트를 덮어씁니다.
+ * 구독자(ChangeFeedSubscriptions)는 각자 읽은 위치(seq)를 들고 버퍼를 따라 읽으므로 서로를 기다리지 않습니다.
+ *
+ * seq 는 프로세스 메모리에서만 이어지므로, 재시작 후 이전 cursor 와 섞이지 않도록 cursor 앞에 시작 시점 값(epoch)을 붙입니다.
+ */
+@Component
+public class ChangeFeed {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final ChangeEventDTO[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    // 마지막으로 넣은 이벤트의 seq (0 = 아직 없음, lock 안에서 변경)
+    private long lastSeq = 0;
+
+    public ChangeFeed(@Value("${book.feed.capacity:4096}") int capacity, MeterRegistry meterRegistry) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("book.feed.capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.ring = new ChangeEventDTO[capacity];
+        Gauge.builder("book.feed.last.seq", this, ChangeFeed::lastSeq)
+                .description("변경 피드에 마지막으로 들어간 이벤트 번호")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        append("book", event.type().name(), event.bookId(), event.book());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        append("member", event.type().name(), event.memberId(), event.member());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        append("rental", event.type().name(), event.rental().getRentalId(), event.rental());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanOverdue(LoanOverdueEvent event) {
+        append("rental", "OVERDUE", event.rental().getRentalId(), event.rental());
+    }
+
+    /**
+     * 이벤트를 버퍼 끝에 넣고 기다리는 구독자들을 깨웁니다.
+     */
+    public ChangeEventDTO append(String resource, String change, Integer id, Object data) {
+        lock.lock();
+        try {
+            long seq = lastSeq + 1;
+            ChangeEventDTO event = new ChangeEventDTO(cursor(seq), seq, resource, change, id, Instant.now(), data);
+            ring[(int) (seq % ring.length)] = event;
+            lastSeq = seq;
+            appended.signalAll();
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * afterSeq 다음 이벤트부터 최대 max 건 (없으면 빈 목록)
+     *
+     * @return afterSeq 다음 이벤트가 이미 덮어써졌거나 afterSeq 가 아직 없는 번호이면 null (이어 받을 수 없음)
+     */
+    public List<ChangeEventDTO> readAfter(long afterSeq, int max) {
+        lock.lock();
+        try {
+            if (afterSeq < oldestSeq() - 1 || afterSeq > lastSeq) {
+                return null;
+            }
+            int count = (int) Math.min(max, lastSeq - afterSeq);
+            List<ChangeEventDTO> events = new ArrayList<>(count);
+            for (long seq = afterSeq + 1; seq <= afterSeq + count; seq++) {
+                events.add(ring[(int) (seq % ring.length)]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * afterSeq 다음 이벤트가 들어올 때까지 최대 timeout 동안 기다립니다. (wakeUp 으로도 깨어납니다.)
+     */
+    public void awaitAfter(long afterSeq, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (lastSeq <= afterSeq) {
+                appended.await(timeout, unit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기다리는 구독자들을 깨웁니다. (연결이 끊긴 구독자가 바로 정리되도록)
+     */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSeq() {
+        lock.lock();
+        try {
+            return lastSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 버퍼에 남아 있는 가장 오래된 seq (lock 안에서 호출)
+    private long oldestSeq() {
+        return Math.max(1, lastSeq - ring.length + 1);
+    }
+
+    /**
+     * 가장 오래된 이벤트 바로 앞 위치 (이어 받을 수 없을 때 여기서부터 다시 시작합니다.)
+     */
+    public long resetSeq() {
+        lock.lock();
+        try {
+            return oldestSeq() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String cursor(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    /**
+     * 클라이언트가 보낸 cursor 를 seq 로 바꿉니다.
+     *
+     * @return 이 서버 실행에서 만든 cursor 가 아니면(재시작 전 cursor) -1
+     * @throws IllegalArgumentException cursor 형식이 잘못된 경우
+     */
+    public long parseCursor(String cursor) {
+        int dash = cursor.lastIndexOf('-');
+        if (dash <= 0) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+        }
+        long seq;
+        try {
+            seq = Long.parseLong(cursor.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+        }
+        if (seq < 0) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+        }
+        return epoch.equals(cursor.substring(0, dash)) ? seq : -1;
+    }
+}
@@ -0,0 +1,247 @@
+package com.pgc.book.feed;
+
+import com.pgc.book.dto.ChangeEventDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 변경 피드 구독 (SSE / NDJSON 스트림)
+ * : 구독마다 가상 스레드 하나가 자기 읽기 위치(seq)부터 ChangeFeed 를 따라 읽으며 응답에 씁니다.
+ * 쓰기는 블로킹이므로 느린 클라이언트는 자기 스레드만 붙잡고, 다른 구독자나 이벤트 발행(커밋)을 늦추지 않습니다.
+ *
+ * 느린 구독자 : 아직 보내지 못한 이벤트가 버퍼에서 덮어써지면(= 최신보다 capacity 건 넘게 뒤처지면) LAGGED 알림을 보내고 연결을 끊습니다.
+ * 버퍼에 남아 있는 한 얼마나 뒤처졌든 이어서 보냅니다. (RESET 직후에는 버퍼 전체만큼 뒤처진 상태에서 시작합니다.)
+ * (클라이언트는 마지막 cursor 로 다시 연결하고, 그 사이 이벤트가 버퍼에서 사라졌으면 RESET 을 받은 뒤 전체를 다시 조회합니다.)
+ * 소켓 쓰기 자체가 멈춘 연결은 Tomcat 의 쓰기 타임아웃(server.tomcat.connection-timeout)에 끊깁니다.
+ */
+@Slf4j
+@Component
+public class ChangeFeedSubscriptions {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+
+    // 한 번에 버퍼에서 꺼내는 최대 이벤트 수
+    private static final int READ_BATCH = 256;
+
+    private final ChangeFeed changeFeed;
+    private final MeterRegistry meterRegistry;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+    private final long streamTimeoutMillis;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final ExecutorService pumps = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeFeedSubscriptions(ChangeFeed changeFeed,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${book.feed.max-subscribers:100}") int maxSubscribers,
+                                   @Value("${book.feed.heartbeat-ms:15000}") long heartbeatMillis,
+                                   @Value("${book.feed.stream-timeout-ms:1800000}") long streamTimeoutMillis) {
+        if (maxSubscribers < 1 || heartbeatMillis < 1) {
+            throw new IllegalArgumentException("book.feed 설정은 1 이상이어야 합니다: max-subscribers=" + maxSubscribers
+                    + ", heartbeat-ms=" + heartbeatMillis);
+        }
+        this.changeFeed = changeFeed;
+        this.meterRegistry = meterRegistry;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatMillis;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        Gauge.builder("book.feed.subscribers", active, AtomicInteger::get)
+                .description("변경 피드 구독 중인 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * SSE 구독 (이벤트 id = cursor, 이벤트 이름 = resource, 연결 유지용 주석 ": ping")
+     *
+     * @param after 마지막으로 받은 cursor (Last-Event-ID, 없으면 지금부터)
+     */
+    public SseEmitter subscribeSse(String after) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        attach(emitter, subscribe(after, new EmitterSink(emitter) {
+            @Override
+            public void send(ChangeEventDTO event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(event.getCursor())
+                        .name(event.getResource())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        }));
+        return emitter;
+    }
+
+    /**
+     * NDJSON 구독 (한 줄 = 이벤트 하나, 연결 유지용 빈 줄)
+     *
+     * @param after 마지막으로 받은 cursor (없으면 지금부터)
+     */
+    public ResponseBodyEmitter subscribeNdjson(String after) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+        attach(emitter, subscribe(after, new EmitterSink(emitter) {
+            @Override
+            public void send(ChangeEventDTO event) throws IOException {
+                emitter.send(event, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        }));
+        return emitter;
+    }
+
+    public int activeSubscribers() {
+        return active.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        pumps.shutdownNow();
+    }
+
+    /**
+     * after 다음 이벤트부터 sink 로 보내는 구독을 시작합니다. (응답 형식과 무관한 부분)
+     */
+    Subscription subscribe(String after, Sink sink) {
+        // (cursor 형식 오류는 자리를 차지하기 전에 400 으로)
+        long requested = after == null || after.isBlank() ? changeFeed.lastSeq() : changeFeed.parseCursor(after.trim());
+        if (active.incrementAndGet() > maxSubscribers) {
+            active.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "변경 피드 구독자가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Subscription subscription = new Subscription(sink);
+        try {
+            pumps.execute(() -> pump(subscription, requested));
+        } catch (RuntimeException e) {
+            active.decrementAndGet();
+            throw e;
+        }
+        return subscription;
+    }
+
+    // 응답이 끝나면(완료 / 타임아웃 / 오류) 구독도 끝냅니다.
+    private static void attach(ResponseBodyEmitter emitter, Subscription subscription) {
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+    }
+
+    private void pump(Subscription subscription, long requested) {
+        String reason = "closed";
+        try {
+            long seq = requested;
+            // 재시작 전 cursor 이거나 이미 버퍼에서 밀려난 위치면, 남아 있는 가장 오래된 이벤트부터 다시 시작합니다.
+            if (requested < 0 || changeFeed.readAfter(requested, 0) == null) {
+                seq = changeFeed.resetSeq();
+                subscription.sink.send(notice("RESET", seq));
+            }
+
+            long lastWrite = System.nanoTime();
+            while (!subscription.closed) {
+                List<ChangeEventDTO> events = changeFeed.readAfter(seq, READ_BATCH);
+                if (events == null) {
+                    // 보내지 못한 이벤트가 이미 덮어써졌습니다.
+                    reason = "lagged";
+                    subscription.sink.send(notice("LAGGED", seq));
+                    break;
+                }
+                if (events.isEmpty()) {
+                    long idleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastWrite);
+                    if (idleMillis >= heartbeatMillis) {
+                        subscription.sink.heartbeat();
+                        lastWrite = System.nanoTime();
+                        idleMillis = 0;
+                    }
+                    changeFeed.awaitAfter(seq, heartbeatMillis - idleMillis, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                for (ChangeEventDTO event : events) {
+                    subscription.sink.send(event);
+                }
+                seq = events.get(events.size() - 1).getSeq();
+                lastWrite = System.nanoTime();
+            }
+            subscription.sink.complete();
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 이미 끝난(타임아웃 등) 스트림
+            reason = "disconnected";
+            log.debug("변경 피드 구독 종료: {}", e.toString());
+        } catch (InterruptedException e) {
+            reason = "shutdown";
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            meterRegistry.counter("book.feed.disconnects", "reason", reason).increment();
+        }
+    }
+
+    private ChangeEventDTO notice(String change, long seq) {
+        return new ChangeEventDTO(changeFeed.cursor(seq), seq, "feed", change, null, Instant.now(), null);
+    }
+
+    // 구독 하나의 출력 (SSE / NDJSON)
+    interface Sink {
+
+        void send(ChangeEventDTO event) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        // 정상 종료 (LAGGED 후 또는 구독 종료 후)
+        void complete();
+    }
+
+    private abstract static class EmitterSink implements Sink {
+
+        private final ResponseBodyEmitter emitter;
+
+        EmitterSink(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+
+    final class Subscription {
+
+        final Sink sink;
+        volatile boolean closed;
+
+        Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        // (응답이 끝나면 기다리던 pump 가 바로 빠져나오도록 깨웁니다.)
+        void close() {
+            closed = true;
+            changeFeed.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.pgc.book.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgc.book.batch.BatchInsertTemplate;
+import com.pgc.book.batch.BatchInsertTemplate.IndexedRow;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.RowErrorDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.io.CsvReader;
+import com.pgc.book.io.DataFormat;
+import com.pgc.book.mapper.BookMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도서 대량 가져오기(Import) 파이프라인
+ * <pre>
+ * [파싱 스레드]  파일을 한 행씩 읽기 -> BookDTO 변환 -> Bean Validation -> 청크로 묶어 큐에 put
+ *                    | (크기가 제한된 ArrayBlockingQueue: 쓰기가 느리면 파싱이 기다립니다 = backpressure)
+ * [쓰기 스레드]  큐에서 청크를 take -> 청크 단위 트랜잭션으로 batch INSERT -> 진행 카운터 갱신
+ * </pre>
+ * 파싱과 DB 쓰기가 서로 다른 스레드에서 겹쳐서 실행되고, 진행 상황은 ImportJob 으로 조회합니다.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+
+    // 완료/실패한 작업 상태를 보관할 최대 개수
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final BatchInsertTemplate batchInsertTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final SimpleAsyncTaskExecutor executor;
+
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                    return size() > MAX_RETAINED_JOBS && !eldest.getValue().isRunning();
+                }
+            });
+
+    private final Semaphore runningJobs;
+
+    @Value("${book.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${book.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${book.import.max-rejected-rows:1000}")
+    private int maxRejectedRows;
+
+    // 서버 로컬 파일 가져오기를 허용할 디렉터리 (비어 있으면 로컬 파일 가져오기 비활성화)
+    @Value("${book.import.local-dir:}")
+    private String localDir;
+
+    public BookImportService(BatchInsertTemplate batchInsertTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             SimpleAsyncTaskExecutorBuilder executorBuilder,
+                             @Value("${book.import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.batchInsertTemplate = batchInsertTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        // spring.threads.virtual.enabled 설정에 따라 가상/플랫폼 스레드를 사용합니다.
+        this.executor = executorBuilder.threadNamePrefix("book-import-").build();
+        this.runningJobs = new Semaphore(maxConcurrentJobs);
+    }
+
+    /**
+     * 업로드된 파일을 임시 파일로 옮긴 뒤 가져오기를 시작합니다.
+     * (요청이 끝나면 multipart 파일이 정리되므로 작업이 끝날 때까지 별도 임시 파일을 사용합니다.)
+     */
+    public ImportJob startUpload(MultipartFile file, DataFormat format) throws IOException {
+        acquireSlot();
+        try {
+            Path tempFile = Files.createTempFile("book-import-", "." + format.getExtension());
+            file.transferTo(tempFile);
+            return start(tempFile, file.getOriginalFilename(), format, true);
+        } catch (IOException | RuntimeException e) {
+            runningJobs.release();
+            throw e;
+        }
+    }
+
+    /**
+     * book.import.local-dir 아래의 서버 파일로 가져오기를 시작합니다.
+     */
+    public ImportJob startLocal(String fileName, DataFormat format) {
+        if (!StringUtils.hasText(localDir)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "로컬 파일 가져오기가 비활성화되어 있습니다.");
+        }
+        Path baseDir = Path.of(localDir).toAbsolutePath().normalize();
+        Path file = baseDir.resolve(fileName).normalize();
+        // ../ 등으로 허용 디렉터리 밖의 파일을 읽지 못하도록 막습니다.
+        if (!file.startsWith(baseDir) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("가져올 수 없는 파일입니다: " + fileName);
+        }
+        acquireSlot();
+        return start(file, file.toString(), format, false);
+    }
+
+    public Optional<ImportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<ImportJob> findJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    private void acquireSlot() {
+        if (!runningJobs.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "동시에 실행할 수 있는 가져오기 작업 수를 초과했습니다.");
+        }
+    }
+
+    private ImportJob start(Path file, String source, DataFormat format, boolean deleteAfter) {
+        ImportJob job = new ImportJob(source, format, maxRejectedRows);
+        jobs.put(job.getJobId(), job);
+        BlockingQueue<List<IndexedRow<BookDTO>>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        List<IndexedRow<BookDTO>> endOfInput = new ArrayList<>();
+
+        executor.execute(() -> write(job, queue, endOfInput));
+        executor.execute(() -> {
+            try {
+                parse(job, file, format, queue, endOfInput);
+            } finally {
+                if (deleteAfter) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+        log.info("도서 가져오기 시작 [{}] {} ({})", job.getJobId(), source, format);
+        return job;
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // 파싱 단계
+    // ----------------------------------------------------------------------------------------
+
+    private void parse(ImportJob job, Path file, DataFormat format,
+                       BlockingQueue<List<IndexedRow<BookDTO>>> queue, List<IndexedRow<BookDTO>> endOfInput) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowSource rows = (format == DataFormat.CSV) ? csvRows(reader) : ndjsonRows(reader);
+            List<IndexedRow<BookDTO>> chunk = new ArrayList<>(chunkSize);
+            long index = 0;
+            BookDTO book;
+            while (job.isRunning()) {
+                try {
+                    book = rows.next();
+                } catch (RowParseException e) {
+                    job.rowsRead.incrementAndGet();
+                    job.reject(new RowErrorDTO(index++, e.getErrors()));
+                    continue;
+                }
+                if (book == null) {
+                    break;
+                }
+                job.rowsRead.incrementAndGet();
+                RowErrorDTO error = batchInsertTemplate.validate(index, book);
+                if (error != null) {
+                    job.reject(error);
+                } else {
+                    chunk.add(new IndexedRow<>(index, book));
+                    if (chunk.size() >= chunkSize) {
+                        put(job, queue, chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                index++;
+            }
+            if (!chunk.isEmpty()) {
+                put(job, queue, chunk);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("도서 가져오기 파싱 실패 [{}]", job.getJobId(), e);
+            job.fail("파일을 읽는 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("가져오기 작업이 중단되었습니다.");
+        } finally {
+            signalEndOfInput(job, queue, endOfInput);
+        }
+    }
+
+    // 쓰기 단계에 입력이 끝났음을 알립니다. (작업이 실패했다면 남은 청크는 버립니다.)
+    private void signalEndOfInput(ImportJob job, BlockingQueue<List<IndexedRow<BookDTO>>> queue,
+                                  List<IndexedRow<BookDTO>> endOfInput) {
+        try {
+            while (!queue.offer(endOfInput, 1, TimeUnit.SECONDS)) {
+                if (!job.isRunning()) {
+                    queue.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("가져오기 작업이 중단되었습니다.");
+            queue.clear();
+            queue.offer(endOfInput);
+        }
+    }
+
+    // 큐가 가득 차 있으면 쓰기 단계가 따라올 때까지 기다립니다. (작업이 실패하면 중단)
+    private void put(ImportJob job, BlockingQueue<List<IndexedRow<BookDTO>>> queue,
+                     List<IndexedRow<BookDTO>> chunk) throws InterruptedException {
+        while (job.isRunning()) {
+            if (queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        // 다음 행, 파일 끝이면 null
+        BookDTO next() throws IOException, RowParseException;
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // UTF-8 BOM 제거, pub_year / pubYear 둘 다 허용
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT).replace("_", "");
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV 헤더에 title 컬럼이 없습니다.");
+        }
+
+        return () -> {
+            List<String> record;
+            do {
+                record = csv.readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            return BookDTO.builder()
+                    .title(column(record, columns, "title"))
+                    .author(column(record, columns, "author"))
+                    .publisher(column(record, columns, "publisher"))
+                    .price(parsePrice(column(record, columns, "price")))
+                    .pubYear(column(record, columns, "pubyear"))
+                    .build();
+        };
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            try {
+                return objectMapper.readValue(line, BookDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new RowParseException(Map.of("json", e.getOriginalMessage()));
+            }
+        };
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parsePrice(String value) throws RowParseException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RowParseException(Map.of("price", "숫자가 아닙니다: " + value));
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // 쓰기 단계
+    // ----------------------------------------------------------------------------------------
+
+    private void write(ImportJob job, BlockingQueue<List<IndexedRow<BookDTO>>> queue,
+                       List<IndexedRow<BookDTO>> endOfInput) {
+        List<BookDTO> created = new ArrayList<>(chunkSize);
+        List<RowErrorDTO> errors = new ArrayList<>();
+        try {
+            while (true) {
+                List<IndexedRow<BookDTO>> chunk = queue.take();
+                if (chunk == endOfInput) {
+                    break;
+                }
+                created.clear();
+                errors.clear();
+                batchInsertTemplate.insertChunk(chunk, BookMapper.class, BookMapper::insertBook,
+                        book -> eventPublisher.publishEvent(
+                                new BookChangedEvent(ChangeType.CREATED, book.getBookId(), book)),
+                        created, errors);
+                job.rowsWritten.addAndGet(created.size());
+                errors.forEach(job::reject);
+                job.chunksCommitted.incrementAndGet();
+            }
+            job.complete();
+            log.info("도서 가져오기 완료 [{}] {}", job.getJobId(), job.toStatus());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("가져오기 작업이 중단되었습니다.");
+        } catch (RuntimeException e) {
+            log.error("도서 가져오기 쓰기 실패 [{}]", job.getJobId(), e);
+            job.fail("DB 쓰기 중 오류가 발생했습니다: " + e.getMessage());
+        } finally {
+            runningJobs.release();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    /**
+     * 한 행을 BookDTO로 변환하지 못했을 때 (해당 행만 거부하고 계속 진행)
+     */
+    static class RowParseException extends Exception {
+
+        private final Map<String, String> errors;
+
+        RowParseException(Map<String, String> errors) {
+            super(errors.toString());
+            this.errors = errors;
+        }
+
+        Map<String, String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.pgc.book.importer;
+
+import com.pgc.book.dto.ImportStatusDTO;
+import com.pgc.book.dto.RowErrorDTO;
+import com.pgc.book.io.DataFormat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 중인 가져오기(Import) 작업 한 건의 상태
+ * : 파싱 단계와 쓰기 단계가 서로 다른 스레드에서 갱신하므로 카운터는 Atomic 으로 유지합니다.
+ */
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final String source;
+    private final DataFormat format;
+    private final int maxRejectedRows;
+    private final Instant startedAt = Instant.now();
+
+    final AtomicLong rowsRead = new AtomicLong();
+    final AtomicLong rowsWritten = new AtomicLong();
+    final AtomicLong rowsRejected = new AtomicLong();
+    final AtomicLong chunksCommitted = new AtomicLong();
+
+    private final List<RowErrorDTO> rejectedRows = new ArrayList<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+
+    ImportJob(String source, DataFormat format, int maxRejectedRows) {
+        this.source = source;
+        this.format = format;
+        this.maxRejectedRows = maxRejectedRows;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    void reject(RowErrorDTO error) {
+        rowsRejected.incrementAndGet();
+        synchronized (rejectedRows) {
+            if (rejectedRows.size() < maxRejectedRows) {
+                rejectedRows.add(error);
+            }
+        }
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private synchronized void finish(Status finalStatus, String message) {
+        if (status != Status.RUNNING) {
+            return;
+        }
+        errorMessage = message;
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    public ImportStatusDTO toStatus() {
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        long elapsedMillis = Duration.between(startedAt, end).toMillis();
+        long written = rowsWritten.get();
+        List<RowErrorDTO> rejectedCopy;
+        synchronized (rejectedRows) {
+            rejectedCopy = List.copyOf(rejectedRows);
+        }
+
+        return ImportStatusDTO.builder()
+                .jobId(jobId)
+                .source(source)
+                .format(format.name())
+                .status(status.name())
+                .rowsRead(rowsRead.get())
+                .rowsWritten(written)
+                .rowsRejected(rowsRejected.get())
+                .chunksCommitted(chunksCommitted.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(elapsedMillis == 0 ? 0 : written * 1000.0 / elapsedMillis)
+                .rejectedRows(rejectedCopy)
+                .rejectedRowsTruncated(rowsRejected.get() > rejectedCopy.size())
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
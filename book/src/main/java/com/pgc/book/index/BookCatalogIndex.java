@@ -0,0 +1,203 @@
+package com.pgc.book.index;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.mapper.BookMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 도서 카탈로그 메모리 보조 인덱스
+ * : 출판연도 / 가격을 키로 하는 정렬 맵(TreeMap)을 유지해서 범위 조회와 최고가/상위 K 조회를
+ * DB 왕복 없이 처리합니다.
+ * 시작 시 전체 도서를 한 번 읽어 오고(rebuild), 이후에는 도서 등록/수정/삭제가 커밋될 때마다 갱신합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCatalogIndex extends InMemoryIndex {
+
+    // findBooksPublishedAfter 와 같은 정렬 (pub_year DESC, title ASC)
+    private static final Comparator<BookDTO> YEAR_DESC_TITLE_ASC = Comparator
+            .comparing(BookDTO::getPubYear, Comparator.nullsFirst(Comparator.<String>naturalOrder())).reversed()
+            .thenComparing(BookDTO::getTitle, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(BookDTO::getBookId);
+
+    private final BookMapper bookMapper;
+
+    private final Map<Integer, BookDTO> byId = new HashMap<>();
+    // 키 -> book_id 집합 (book_id 오름차순)
+    private final NavigableMap<Integer, Set<Integer>> byYear = new TreeMap<>();
+    private final NavigableMap<Integer, Set<Integer>> byPrice = new TreeMap<>();
+
+    /**
+     * DB의 전체 도서로 인덱스를 다시 만듭니다.
+     */
+    @Override
+    protected void load() {
+        List<BookDTO> books = bookMapper.findAllBooks();
+        byId.clear();
+        byYear.clear();
+        byPrice.clear();
+        books.forEach(this::put);
+        log.info("도서 카탈로그 인덱스 로드 완료 ({} books)", books.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.bookId());
+            if (event.book() != null) {
+                put(event.book());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<BookDTO> findById(int bookId) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(bookId)).map(BookDTO::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * year 이상에 출판된 도서 (pub_year DESC, title ASC)
+     */
+    public List<BookDTO> findPublishedAfter(int year) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            List<BookDTO> result = collect(byYear.tailMap(year, true).values());
+            result.sort(YEAR_DESC_TITLE_ASC);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 최고가 도서 (동일 가격이면 모두)
+     */
+    public List<BookDTO> findMostExpensive() {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            Map.Entry<Integer, Set<Integer>> top = byPrice.lastEntry();
+            return top == null ? new ArrayList<>() : collect(List.of(top.getValue()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * minPrice 이상 maxPrice 이하 도서 (price ASC, book_id ASC)
+     */
+    public List<BookDTO> findByPriceRange(int minPrice, int maxPrice) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return collect(byPrice.subMap(minPrice, true, maxPrice, true).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 가격 상위 k 건 (price DESC, book_id ASC)
+     */
+    public List<BookDTO> findTopByPrice(int k) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            List<BookDTO> result = new ArrayList<>(k);
+            for (Set<Integer> bookIds : byPrice.descendingMap().values()) {
+                for (Integer bookId : bookIds) {
+                    if (result.size() >= k) {
+                        return result;
+                    }
+                    result.add(byId.get(bookId).copy());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<BookDTO> collect(Collection<Set<Integer>> buckets) {
+        List<BookDTO> result = new ArrayList<>();
+        for (Set<Integer> bookIds : buckets) {
+            for (Integer bookId : bookIds) {
+                result.add(byId.get(bookId).copy());
+            }
+        }
+        return result;
+    }
+
+    private void put(BookDTO book) {
+        BookDTO stored = book.copy();
+        byId.put(stored.getBookId(), stored);
+        Integer year = parseYear(stored.getPubYear());
+        if (year != null) {
+            byYear.computeIfAbsent(year, key -> new TreeSet<>()).add(stored.getBookId());
+        }
+        if (stored.getPrice() != null) {
+            byPrice.computeIfAbsent(stored.getPrice(), key -> new TreeSet<>()).add(stored.getBookId());
+        }
+    }
+
+    private void remove(int bookId) {
+        BookDTO old = byId.remove(bookId);
+        if (old == null) {
+            return;
+        }
+        Integer year = parseYear(old.getPubYear());
+        if (year != null) {
+            removeFromBucket(byYear, year, bookId);
+        }
+        if (old.getPrice() != null) {
+            removeFromBucket(byPrice, old.getPrice(), bookId);
+        }
+    }
+
+    private static void removeFromBucket(NavigableMap<Integer, Set<Integer>> index, int key, int bookId) {
+        Set<Integer> bookIds = index.get(key);
+        if (bookIds != null) {
+            bookIds.remove(bookId);
+            if (bookIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Integer parseYear(String pubYear) {
+        if (pubYear == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(pubYear.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
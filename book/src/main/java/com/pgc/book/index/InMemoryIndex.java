@@ -0,0 +1,68 @@
+package com.pgc.book.index;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * DB에서 한 번 읽어 와 메모리에 유지하고, 커밋된 변경 이벤트로 갱신하는 인덱스의 공통 부분
+ * (도서 카탈로그 / 전문 검색 / 회원 이름 / 미반납 대출 / 대출 횟수 순위표)
+ *
+ * - 로드 : 쿼리와 교체를 모두 쓰기 락 안에서 합니다. 그 사이 커밋된 변경 이벤트는 락을 기다렸다가 로드 뒤에 적용되므로
+ *   (락 밖에서 쿼리하면 쿼리와 교체 사이에 적용된 변경이 교체로 지워집니다.) 사라지지 않습니다.
+ * - 시점 : 모든 싱글톤 빈이 만들어진 직후(웹 서버가 요청을 받기 전) 한 번 로드합니다.
+ *   그보다 먼저 조회가 들어오면 ensureReady() 가 그 자리에서 로드합니다.
+ * - 하위 클래스는 lock 안에서 자기 자료구조를 다루고, DTO 는 copy() 로 저장하고 꺼내 줍니다.
+ */
+public abstract class InMemoryIndex implements SmartInitializingSingleton {
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * DB에서 다시 읽어 인덱스를 통째로 바꿉니다.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * (쓰기 락 안에서 호출) DB에서 읽어 자료구조를 비우고 다시 채웁니다.
+     */
+    protected abstract void load();
+
+    /**
+     * 아직 로드 전이면 지금 로드합니다. (락을 잡기 전에 호출)
+     */
+    protected void ensureReady() {
+        if (ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                load();
+                ready = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
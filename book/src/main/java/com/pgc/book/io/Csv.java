@@ -0,0 +1,29 @@
+package com.pgc.book.io;
+
+/**
+ * RFC 4180 형식의 CSV 유틸리티
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * 값에 구분자(,), 따옴표("), 줄바꿈이 있으면 따옴표로 감싸고 내부 따옴표는 두 번 씁니다.
+     * (null은 빈 칸)
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean needsQuote = text.indexOf(',') >= 0
+                || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0;
+        if (!needsQuote) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,9 @@
+package com.pgc.book.io;
+
+import java.util.function.Function;
+
+/**
+ * CSV 컬럼 정의 (헤더 이름 + 행에서 값을 꺼내는 함수)
+ */
+public record CsvColumn<T>(String header, Function<T, Object> value) {
+}
@@ -0,0 +1,94 @@
+package com.pgc.book.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 형식의 CSV를 한 레코드씩 읽는 Reader
+ * : 따옴표로 감싼 값 안의 구분자/줄바꿈/이중 따옴표("")를 처리합니다.
+ * 파일 전체를 메모리에 올리지 않으므로 대용량 파일도 스트리밍으로 읽을 수 있습니다.
+ */
+public class CsvReader implements AutoCloseable {
+
+    private final Reader reader;
+    private int pushedBack = -2;
+
+    /**
+     * @param reader 내부에서 버퍼링하지 않으므로 BufferedReader 등을 넘겨 주세요.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 레코드를 읽습니다.
+     *
+     * @return 값 목록, 더 이상 레코드가 없으면 null
+     */
+    public List<String> readRecord() throws IOException {
+        int ch = read();
+        if (ch == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (ch == -1) {
+                    throw new IOException("따옴표가 닫히지 않은 채로 파일이 끝났습니다.");
+                }
+                if (ch == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        ch = next;
+                        continue;
+                    }
+                } else {
+                    value.append((char) ch);
+                }
+            } else if (ch == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (ch == '\r' || ch == '\n' || ch == -1) {
+                if (ch == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) ch);
+            }
+            ch = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int ch = pushedBack;
+            pushedBack = -2;
+            return ch;
+        }
+        return reader.read();
+    }
+
+    private void unread(int ch) {
+        pushedBack = ch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
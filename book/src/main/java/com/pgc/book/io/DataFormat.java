@@ -0,0 +1,43 @@
+package com.pgc.book.io;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * 스트리밍 입출력 포맷 (한 줄 = 한 행)
+ */
+public enum DataFormat {
+
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    DataFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 쿼리 파라미터(format=ndjson|csv)를 enum으로 변환합니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 포맷
+     */
+    public static DataFormat from(String value) {
+        try {
+            return DataFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 포맷입니다: " + value);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.pgc.book.io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 행(Iterable)을 한 건씩 꺼내 OutputStream에 바로 쓰는 Writer
+ * : 전체 목록을 메모리에 모으지 않으므로 행 수와 관계없이 메모리 사용량이 일정합니다.
+ * (MyBatis Cursor와 함께 사용)
+ */
+public final class RowStreamWriter {
+
+    // N 행마다 flush 하여 클라이언트에게 청크 단위로 내려보냅니다.
+    private static final int FLUSH_EVERY = 500;
+
+    private RowStreamWriter() {
+    }
+
+    /**
+     * @return 기록한 행 수
+     */
+    public static <T> long write(Iterable<T> rows, DataFormat format, List<CsvColumn<T>> columns,
+                                 ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(rows, objectMapper, out);
+            case CSV -> writeCsv(rows, columns, out);
+        };
+    }
+
+    private static <T> long writeNdjson(Iterable<T> rows, ObjectMapper objectMapper, OutputStream out)
+            throws IOException {
+        long count = 0;
+        // 행마다 flush 하지 않고 FLUSH_EVERY 단위로만 flush 합니다.
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // 응답 스트림은 컨테이너가 닫으므로 generator가 닫지 않도록 합니다.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        try (generator) {
+            for (T row : rows) {
+                writer.writeValue(generator, row);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    private static <T> long writeCsv(Iterable<T> rows, List<CsvColumn<T>> columns, OutputStream out)
+            throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns.stream().map(CsvColumn::header).toList());
+        for (T row : rows) {
+            writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(Csv.escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+}
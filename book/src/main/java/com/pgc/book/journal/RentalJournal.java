@@ -0,0 +1,171 @@
+package com.pgc.book.journal;
+
+import com.pgc.book.dto.RentalDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 대출 등록 추가 전용(append-only) 저널 파일 (메모리 매핑)
+ * : 고정 크기 파일을 MappedByteBuffer 로 매핑해 두고 레코드를 뒤에 덧붙인 뒤
+ * 그 구간만 force() 해서 디스크에 내려간 것을 확인하고 돌려줍니다.
+ *
+ * 레코드 (32 bytes)
+ * [int 길이(=16)][long 순번][int member_id][int book_id][long rent_date(epochDay, 없으면 Long.MIN_VALUE)][int CRC32C(순번 + 본문)]
+ *
+ * 복구 시에는 파일 처음부터 읽으면서 길이/순번 연속성/CRC 가 맞지 않는 첫 레코드에서 멈춥니다.
+ * (쓰다가 죽어서 일부만 기록된 레코드는 버려집니다.)
+ * 이 클래스는 스레드 안전하지 않은 부분(reset)을 포함하므로 호출자가 순서를 보장해야 합니다.
+ */
+public class RentalJournal implements Closeable {
+
+    static final int PAYLOAD_BYTES = 4 + 4 + 8;
+    static final int RECORD_BYTES = 4 + 8 + PAYLOAD_BYTES + 4;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private int position;
+    private long lastSequence;
+    private final List<Entry> recovered;
+
+    private RentalJournal(FileChannel channel, MappedByteBuffer buffer, int capacity, long checkpoint) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.lastSequence = checkpoint;
+        this.recovered = scan(checkpoint);
+    }
+
+    /**
+     * 저널 파일을 열고(없으면 생성) checkpoint 이후의 레코드를 복구합니다.
+     *
+     * @param checkpoint DB에 반영이 끝난 마지막 순번
+     */
+    public static RentalJournal open(Path path, int capacity, long checkpoint) throws IOException {
+        if (capacity < RECORD_BYTES * 2) {
+            throw new IllegalArgumentException("저널 크기가 너무 작습니다: " + capacity);
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new RentalJournal(channel, buffer, capacity, checkpoint);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 레코드를 덧붙이고 디스크에 내려간 뒤 순번을 돌려줍니다. (공간이 없으면 -1)
+     */
+    public synchronized long append(RentalDTO rental) {
+        // (레코드 + 끝 표시 4 bytes)
+        if (position + RECORD_BYTES + 4 > capacity) {
+            return -1;
+        }
+        long sequence = lastSequence + 1;
+        int at = position;
+        buffer.putInt(at, PAYLOAD_BYTES);
+        buffer.putLong(at + 4, sequence);
+        buffer.putInt(at + 12, rental.getMemberId());
+        buffer.putInt(at + 16, rental.getBookId());
+        buffer.putLong(at + 20, rental.getRentDate() == null ? NO_DATE : rental.getRentDate().toEpochDay());
+        buffer.putInt(at + 28, checksum(at));
+        // 다음 자리를 0 으로 표시해서 이전 내용(reset 전 레코드)이 이어 읽히지 않게 합니다.
+        buffer.putInt(at + RECORD_BYTES, 0);
+        buffer.force(at, RECORD_BYTES + 4);
+
+        position = at + RECORD_BYTES;
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * 모든 레코드가 DB에 반영된 뒤 파일 앞부분부터 다시 씁니다. (순번은 이어짐)
+     */
+    public synchronized void reset() {
+        buffer.putInt(0, 0);
+        buffer.force(0, 4);
+        position = 0;
+    }
+
+    // open 시점에 checkpoint 보다 뒤에 있던(= DB에 반영되지 않은) 레코드
+    public List<Entry> recovered() {
+        return recovered;
+    }
+
+    public synchronized int usedBytes() {
+        return position;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private List<Entry> scan(long checkpoint) {
+        List<Entry> entries = new ArrayList<>();
+        int at = 0;
+        long expected = -1;
+        while (at + RECORD_BYTES <= capacity) {
+            if (buffer.getInt(at) != PAYLOAD_BYTES) {
+                break;
+            }
+            long sequence = buffer.getLong(at + 4);
+            if ((expected != -1 && sequence != expected) || buffer.getInt(at + 28) != checksum(at)) {
+                break;
+            }
+            if (sequence > checkpoint) {
+                long epochDay = buffer.getLong(at + 20);
+                entries.add(new Entry(sequence, RentalDTO.builder()
+                        .memberId(buffer.getInt(at + 12))
+                        .bookId(buffer.getInt(at + 16))
+                        .rentDate(epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay))
+                        .build()));
+            }
+            lastSequence = Math.max(lastSequence, sequence);
+            expected = sequence + 1;
+            at += RECORD_BYTES;
+        }
+        position = at;
+        return entries;
+    }
+
+    // 순번 + 본문 (at + 4 부터 8 + PAYLOAD_BYTES bytes)
+    private int checksum(int at) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(at + 4, 8 + PAYLOAD_BYTES));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 저널 레코드 한 건
+     */
+    public record Entry(long sequence, RentalDTO rental) {
+    }
+}
@@ -0,0 +1,299 @@
+package com.pgc.book.journal;
+
+import com.pgc.book.checkout.BookAvailability;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.index.BookCatalogIndex;
+import com.pgc.book.journal.RentalJournal.Entry;
+import com.pgc.book.mapper.JournalCheckpointMapper;
+import com.pgc.book.mapper.MemberMapper;
+import com.pgc.book.mapper.RentalMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 대출 등록 write-behind 모드 (book.rental.journal.enabled=true 일 때만)
+ * : 대출 요청을 로컬 저널(RentalJournal)에 기록하고 디스크에 내려가면 바로 응답(202 Accepted)합니다.
+ * 백그라운드 작업이 저널 레코드를 batchSize 건씩 한 트랜잭션으로 rental 테이블에 옮기고, 같은 트랜잭션에서
+ * journal_checkpoint 에 마지막 순번을 기록합니다.
+ * INSERT 는 동기 대출과 같은 재고 확인 INSERT(insertRentalIfAvailable)를 쓰므로 여러 인스턴스가 같은 DB를 써도
+ * 보유 권수를 넘지 않습니다. (행마다 결과 건수가 필요해서 JDBC batch 대신 PreparedStatement 재사용(REUSE)으로 실행합니다.)
+ * 재고가 없어 들어가지 못한 레코드는 예약을 풀고 dead-letter(reason=no-copies)로 남깁니다.
+ *
+ * 복구 : 시작할 때 DB의 체크포인트 이후 저널 레코드를 다시 읽어 같은 방식으로 반영합니다.
+ * (체크포인트가 INSERT 와 함께 커밋되므로 레코드가 두 번 들어가지 않습니다.)
+ * 재고 : 저널에 기록하기 전에 BookAvailability 로 예약하고, DB에 반영되어 커밋되면 예약을 풉니다.
+ * 실패 : 배치가 FK 위반 등 데이터 오류로 실패하면 반으로 나누어 다시 시도해서 문제의 레코드 한 건만 골라내고,
+ * 그 레코드는 dead-letter 파일(저널 경로 + ".dead")에 남긴 뒤 건너뜁니다. (한 건 때문에 뒤의 대출이 모두 막히지 않도록)
+ * DB 연결 오류처럼 데이터와 무관한 실패는 다음 주기에 같은 배치를 다시 시도합니다.
+ * 지표 : book.rental.journal.lag (미반영 레코드 수), lag.seconds (가장 오래된 미반영 레코드의 대기 시간), used.bytes,
+ * dead.letters (reason 태그)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "book.rental.journal.enabled", havingValue = "true")
+public class RentalJournalService {
+
+    static final String JOURNAL_NAME = "rental";
+
+    private final RentalJournal journal;
+    private final SqlSessionTemplate writerSqlSession;
+    private final TransactionTemplate transactionTemplate;
+    private final JournalCheckpointMapper checkpointMapper;
+    private final BookAvailability bookAvailability;
+    private final BookCatalogIndex bookCatalogIndex;
+    private final MemberMapper memberMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Path deadLetterPath;
+    private final int batchSize;
+
+    // 저널에는 있지만 아직 DB에 반영되지 않은 레코드 (순번 순)
+    private final ConcurrentLinkedDeque<Pending> pending = new ConcurrentLinkedDeque<>();
+
+    public RentalJournalService(SqlSessionFactory sqlSessionFactory,
+                                PlatformTransactionManager transactionManager,
+                                JournalCheckpointMapper checkpointMapper,
+                                BookAvailability bookAvailability,
+                                BookCatalogIndex bookCatalogIndex,
+                                MemberMapper memberMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${book.rental.journal.path:./data/rental.journal}") Path path,
+                                @Value("${book.rental.journal.capacity-bytes:67108864}") int capacityBytes,
+                                @Value("${book.rental.journal.batch-size:500}") int batchSize) throws IOException {
+        this.writerSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.REUSE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointMapper = checkpointMapper;
+        this.bookAvailability = bookAvailability;
+        this.bookCatalogIndex = bookCatalogIndex;
+        this.memberMapper = memberMapper;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.deadLetterPath = Path.of(path + ".dead");
+        this.batchSize = batchSize;
+
+        Long checkpoint = checkpointMapper.findLastSequence(JOURNAL_NAME);
+        this.journal = RentalJournal.open(path, capacityBytes, checkpoint == null ? 0 : checkpoint);
+        for (Entry entry : journal.recovered()) {
+            // 이미 접수된 요청이므로 재고 판정 없이 다시 예약합니다. (반영 전까지 새 대출이 같은 재고를 가져가지 않도록)
+            bookAvailability.reserveAccepted(entry.rental().getBookId());
+            pending.add(new Pending(entry, true, System.nanoTime()));
+        }
+        log.info("대출 저널 열기: {} (체크포인트 {}, 복구할 레코드 {}건)", path, checkpoint, journal.recovered().size());
+
+        Gauge.builder("book.rental.journal.lag", pending, ConcurrentLinkedDeque::size)
+                .description("저널에 기록되었지만 DB에 반영되지 않은 대출 수").register(meterRegistry);
+        Gauge.builder("book.rental.journal.lag.seconds", this, RentalJournalService::lagSeconds)
+                .description("가장 오래된 미반영 대출의 대기 시간").baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("book.rental.journal.used.bytes", journal, RentalJournal::usedBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * 대출 요청을 저널에 기록합니다. (디스크에 내려간 뒤 순번 반환)
+     * 없는 도서 / 회원이면 400, 재고가 없으면 409, 저널이 가득 차면 503 입니다.
+     */
+    public long accept(RentalDTO rental) {
+        boolean reserved = false;
+        if (rental.getReturnDate() != null) {
+            throw new IllegalArgumentException("write-behind 모드에서는 반납일이 있는 대출을 등록할 수 없습니다.");
+        }
+        // (접수 후에는 요청자에게 알릴 방법이 없으므로 FK 로 실패할 요청은 여기서 거절합니다.)
+        if (bookCatalogIndex.findById(rental.getBookId()).isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 도서입니다: bookId=" + rental.getBookId());
+        }
+        if (memberMapper.findMemberById(rental.getMemberId()) == null) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다: memberId=" + rental.getMemberId());
+        }
+        if (!bookAvailability.tryReserve(rental.getBookId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "대출 가능한 재고가 없습니다: bookId=" + rental.getBookId());
+        }
+        reserved = true;
+        try {
+            long sequence;
+            // (append 와 pending 추가 순서가 순번 순서와 같도록)
+            synchronized (journal) {
+                sequence = journal.append(rental);
+                if (sequence > 0) {
+                    pending.add(new Pending(new Entry(sequence, rental.copy()), true, System.nanoTime()));
+                }
+            }
+            if (sequence < 0) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "대출 저널이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            reserved = false; // (이제 예약은 DB 반영 후에 풀립니다.)
+            return sequence;
+        } finally {
+            if (reserved) {
+                bookAvailability.release(rental.getBookId());
+            }
+        }
+    }
+
+    /**
+     * 미반영 레코드를 batchSize 건씩 DB에 옮깁니다.
+     */
+    @Scheduled(fixedDelayString = "${book.rental.journal.drain-interval-ms:200}")
+    public void drain() {
+        while (!pending.isEmpty()) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            for (Pending item : pending) {
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+                batch.add(item);
+            }
+            int done = flush(batch);
+            for (int i = 0; i < done; i++) {
+                pending.poll();
+            }
+            if (done < batch.size()) {
+                return; // (저널에 남아 있으므로 다음 주기에 다시 시도합니다.)
+            }
+        }
+        compactIfDrained();
+    }
+
+    /**
+     * batch 를 앞에서부터 반영하고, 처리한(반영 또는 dead-letter) 레코드 수를 반환합니다.
+     * 데이터 오류면 반으로 나누어 다시 시도하고, 한 건까지 좁혀지면 그 레코드를 dead-letter 로 보냅니다.
+     */
+    private int flush(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+            return batch.size();
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0), "constraint", e.getMostSpecificCause().getMessage(), true);
+                return 1;
+            }
+            int half = batch.size() / 2;
+            int done = flush(batch.subList(0, half));
+            return done < half ? done : half + flush(batch.subList(half, batch.size()));
+        } catch (RuntimeException e) {
+            log.error("대출 저널 반영 실패 ({}건, 순번 {}~), 다음 주기에 재시도", batch.size(), batch.get(0).entry().sequence(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * 반영할 수 없는 레코드를 dead-letter 파일에 남기고 건너뜁니다. (예약을 풀고, 재시작 후 다시 읽지 않도록 체크포인트를 넘깁니다.)
+     */
+    private void deadLetter(Pending item, String reason, String detail, boolean saveCheckpoint) {
+        RentalDTO rental = item.entry().rental();
+        log.error("대출 저널 레코드를 반영할 수 없어 건너뜁니다: 순번 {}, memberId={}, bookId={} ({}: {})",
+                item.entry().sequence(), rental.getMemberId(), rental.getBookId(), reason, detail);
+        meterRegistry.counter("book.rental.journal.dead.letters", "reason", reason).increment();
+        if (item.reserved()) {
+            bookAvailability.release(rental.getBookId());
+        }
+        String line = item.entry().sequence() + "," + rental.getMemberId() + "," + rental.getBookId() + ","
+                + rental.getRentDate() + "," + reason + System.lineSeparator();
+        try {
+            Files.writeString(deadLetterPath, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("dead-letter 기록 실패: {}", deadLetterPath, e);
+        }
+        if (!saveCheckpoint) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writerSqlSession.getMapper(JournalCheckpointMapper.class)
+                    .saveLastSequence(JOURNAL_NAME, item.entry().sequence()));
+        } catch (RuntimeException e) {
+            // (다음 배치의 체크포인트가 이 순번을 넘어가므로 재시작 전까지는 문제없습니다.)
+            log.warn("dead-letter 체크포인트 저장 실패: 순번 {}", item.entry().sequence(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // (트랜잭션 안에서 호출)
+    private void writeBatch(List<Pending> batch) {
+        RentalMapper rentalMapper = writerSqlSession.getMapper(RentalMapper.class);
+        int copies = bookAvailability.getCopiesPerBook();
+        List<Pending> inserted = new ArrayList<>(batch.size());
+        List<Pending> rejected = new ArrayList<>();
+        for (Pending item : batch) {
+            // (다른 인스턴스가 먼저 재고를 가져갔으면 0건)
+            if (rentalMapper.insertRentalIfAvailable(item.entry().rental(), copies) == 1) {
+                inserted.add(item);
+            } else {
+                rejected.add(item);
+            }
+        }
+        writerSqlSession.getMapper(JournalCheckpointMapper.class)
+                .saveLastSequence(JOURNAL_NAME, batch.get(batch.size() - 1).entry().sequence());
+
+        for (Pending item : inserted) {
+            eventPublisher.publishEvent(new RentalChangedEvent(ChangeType.CREATED, item.entry().rental().copy()));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    return; // (롤백되면 같은 배치를 다시 시도합니다.)
+                }
+                inserted.stream().filter(Pending::reserved)
+                        .forEach(item -> bookAvailability.release(item.entry().rental().getBookId()));
+                // (체크포인트는 이미 이 배치 끝까지 커밋되었습니다.)
+                rejected.forEach(RentalJournalService.this::reject);
+            }
+        });
+    }
+
+    // 재고 확인 INSERT 가 0건인 레코드 : 예약을 풀고 dead-letter 로 남깁니다.
+    private void reject(Pending item) {
+        deadLetter(item, "no-copies", "대출 가능한 재고가 없습니다", false);
+    }
+
+    // 모두 반영되었고 절반 이상 찼으면 저널을 앞에서부터 다시 씁니다.
+    private void compactIfDrained() {
+        synchronized (journal) {
+            if (pending.isEmpty() && journal.usedBytes() > journal.capacity() / 2) {
+                journal.reset();
+                log.debug("대출 저널 정리 (마지막 순번 {})", journal.lastSequence());
+            }
+        }
+    }
+
+    private double lagSeconds() {
+        Pending oldest = pending.peekFirst();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.acceptedAt()) / 1_000_000_000.0;
+    }
+
+    private record Pending(Entry entry, boolean reserved, long acceptedAt) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.pgc.book.loader;
+
+import com.pgc.book.datasource.ReadYourWrites;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.mapper.BookMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도서 단건 조회 묶음 처리기 (DataLoader 방식)
+ * : 여러 요청이 동시에 도서를 한 건씩 찾으면, 첫 요청부터 batchWindow 동안 들어온 ID를 모아
+ * WHERE book_id IN (...) 쿼리 한 번으로 조회하고 각 요청에 나누어 줍니다. (같은 ID는 한 번만 조회)
+ * maxBatchSize 만큼 모이면 기다리지 않고 바로 조회합니다.
+ *
+ * 조회는 호출한 스레드의 트랜잭션 밖(별도 readOnly 트랜잭션)에서 실행되므로,
+ * 아직 커밋되지 않은 자기 쓰기를 봐야 하는 곳(쓰기 트랜잭션 안)에서는 사용하지 않습니다.
+ * 묶음 안에 방금 쓴 클라이언트(ReadYourWrites)의 요청이 있으면 그 묶음은 주 DB에서 읽습니다.
+ */
+@Slf4j
+@Component
+public class BookBatchLoader {
+
+    private final BookMapper bookMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long batchWindowMicros;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+
+    // 타이머 전용 스레드 (조회 자체는 가상 스레드에서)
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+    private Map<Integer, CompletableFuture<BookDTO>> pending = new HashMap<>();
+    private boolean pendingSticky;
+
+    public BookBatchLoader(BookMapper bookMapper,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${book.loader.batch-window-micros:2000}") long batchWindowMicros,
+                           @Value("${book.loader.max-batch-size:100}") int maxBatchSize) {
+        if (batchWindowMicros < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("batch-window-micros >= 0, max-batch-size >= 1 이어야 합니다: "
+                    + batchWindowMicros + ", " + maxBatchSize);
+        }
+        this.bookMapper = bookMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchWindowMicros = batchWindowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("book.loader.batch.size")
+                .description("IN 쿼리 한 번으로 조회한 도서 ID 수")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 도서 한 건을 묶음 조회에 넣습니다. (없는 도서면 null 로 완료)
+     * 돌려받은 객체는 요청마다 복사본입니다.
+     */
+    public CompletableFuture<BookDTO> load(int bookId) {
+        CompletableFuture<BookDTO> future;
+        boolean first = false;
+        Batch full = null;
+        synchronized (lock) {
+            future = pending.get(bookId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(bookId, future);
+                first = pending.size() == 1;
+            }
+            pendingSticky |= ReadYourWrites.isActive();
+            if (pending.size() >= maxBatchSize) {
+                full = takePending(); // (이후 요청은 새 묶음으로)
+            }
+        }
+        if (full != null) {
+            Batch batch = full;
+            workers.execute(() -> dispatch(batch));
+        } else if (first) {
+            timer.schedule(() -> workers.execute(this::dispatchPending), batchWindowMicros, TimeUnit.MICROSECONDS);
+        }
+        return future.thenApply(book -> book == null ? null : book.copy());
+    }
+
+    /**
+     * load 결과를 기다립니다. (조회 중 예외는 그대로 다시 던집니다.)
+     */
+    public BookDTO get(int bookId) {
+        try {
+            return load(bookId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+        workers.close();
+    }
+
+    private void dispatchPending() {
+        Batch batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return; // (maxBatchSize 로 먼저 조회된 묶음의 타이머)
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    // lock 안에서 호출합니다.
+    private Batch takePending() {
+        Batch batch = new Batch(pending, pendingSticky);
+        pending = new HashMap<>();
+        pendingSticky = false;
+        return batch;
+    }
+
+    private void dispatch(Batch pendingBatch) {
+        Map<Integer, CompletableFuture<BookDTO>> batch = pendingBatch.futures();
+        batchSizes.record(batch.size());
+        try {
+            if (pendingBatch.sticky()) {
+                ReadYourWrites.activate();
+            }
+            List<BookDTO> books = readOnlyTransaction.execute(status -> bookMapper.findBooksByIds(batch.keySet()));
+            Map<Integer, BookDTO> byId = new HashMap<>();
+            if (books != null) {
+                for (BookDTO book : books) {
+                    byId.put(book.getBookId(), book);
+                }
+            }
+            batch.forEach((bookId, future) -> future.complete(byId.get(bookId)));
+        } catch (RuntimeException e) {
+            log.warn("도서 묶음 조회 실패 ({} ids)", batch.size(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private record Batch(Map<Integer, CompletableFuture<BookDTO>> futures, boolean sticky) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.pgc.book.loan;
+
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.index.InMemoryIndex;
+import com.pgc.book.mapper.RentalMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 미반납(대출 중) 대출 메모리 인덱스
+ * : 도서별 / 회원별 대출 ID 와 대출일(rent_date) 순으로 정렬된 맵(TreeMap)을 유지해서
+ * 미반납 / 연체 / 회원별 대출 조회를 DB 왕복 없이 처리합니다.
+ * 시작 시 미반납 대출을 한 번 읽어 오고(rebuild), 이후에는 대출 등록/반납이 커밋될 때마다 갱신합니다.
+ *
+ * 연체 판정 : 대출일 + loanDays 가 반납 기한이며, 오늘이 기한을 지나면 연체입니다.
+ * (= rent_date < 오늘 - loanDays)
+ */
+@Slf4j
+@Component
+public class OpenLoanIndex extends InMemoryIndex {
+
+    // 대출일 ASC, rental_id ASC
+    private static final Comparator<RentalDTO> RENT_DATE_ASC = Comparator
+            .comparing(RentalDTO::getRentDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+            .thenComparingInt(RentalDTO::getRentalId);
+
+    private final RentalMapper rentalMapper;
+    private final int loanDays;
+
+    private final Map<Integer, RentalDTO> byId = new HashMap<>();
+    // book_id / member_id -> rental_id 집합
+    private final Map<Integer, Set<Integer>> byBook = new HashMap<>();
+    private final Map<Integer, Set<Integer>> byMember = new HashMap<>();
+    // 대출일 -> rental_id 집합 (대출일이 없는 대출은 연체 판정 대상에서 제외)
+    private final NavigableMap<LocalDate, Set<Integer>> byRentDate = new TreeMap<>();
+
+    // 연체 스캔 진행 위치 : 대출일이 이 날짜 미만인 대출은 이미 연체로 알렸습니다. (null = 아직 스캔 전)
+    private LocalDate overdueWatermark;
+    // 워터마크보다 이전 대출일로 뒤늦게 등록된 대출 (다음 스캔에서 함께 알림)
+    private final Set<Integer> lateArrivals = new HashSet<>();
+
+    public OpenLoanIndex(RentalMapper rentalMapper,
+                         @Value("${book.rental.loan-days:14}") int loanDays) {
+        if (loanDays < 0) {
+            throw new IllegalArgumentException("book.rental.loan-days는 0 이상이어야 합니다: " + loanDays);
+        }
+        this.rentalMapper = rentalMapper;
+        this.loanDays = loanDays;
+    }
+
+    /**
+     * DB의 미반납 대출로 인덱스를 다시 만듭니다.
+     */
+    @Override
+    protected void load() {
+        List<RentalDTO> openRentals = rentalMapper.findOpenRentals();
+        byId.clear();
+        byBook.clear();
+        byMember.clear();
+        byRentDate.clear();
+        lateArrivals.clear();
+        overdueWatermark = null;
+        openRentals.forEach(this::put);
+        log.info("미반납 대출 인덱스 로드 완료 ({} open loans)", openRentals.size());
+    }
+
+    /**
+     * 대출 등록(CREATED) / 반납(UPDATED) 커밋 후 인덱스를 갱신합니다.
+     * 반납일이 있는 대출은 인덱스에서 빠집니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        RentalDTO rental = event.rental();
+        lock.writeLock().lock();
+        try {
+            remove(rental.getRentalId());
+            if (rental.getReturnDate() == null) {
+                put(rental);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 미반납 대출 (대출일 오름차순)
+     */
+    public List<RentalDTO> findOpen() {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return sorted(byId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RentalDTO> findOpenByMember(int memberId) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return sorted(byMember.getOrDefault(memberId, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RentalDTO> findOpenByBook(int bookId) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return sorted(byBook.getOrDefault(bookId, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countOpenByBook(int bookId) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return byBook.getOrDefault(bookId, Set.of()).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * today 기준 연체 중인 대출 (대출일 오름차순 = 오래 연체된 순)
+     */
+    public List<RentalDTO> findOverdue(LocalDate today) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            List<RentalDTO> result = new ArrayList<>();
+            for (Set<Integer> rentalIds : byRentDate.headMap(overdueCutoff(today), false).values()) {
+                for (Integer rentalId : rentalIds) {
+                    result.add(byId.get(rentalId).copy());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 지난 호출 이후 새로 연체된 대출만 돌려주고 워터마크를 today 기준으로 옮깁니다.
+     * : 전체를 다시 훑지 않고 [이전 기준일, 이번 기준일) 구간의 대출일만 확인합니다.
+     * 첫 호출에서는 현재 연체 중인 대출 전체를 돌려줍니다.
+     */
+    public List<RentalDTO> drainNewlyOverdue(LocalDate today) {
+        ensureReady();
+        LocalDate cutoff = overdueCutoff(today);
+        lock.writeLock().lock();
+        try {
+            Set<Integer> newlyOverdue = new HashSet<>();
+            NavigableMap<LocalDate, Set<Integer>> range = (overdueWatermark == null)
+                    ? byRentDate.headMap(cutoff, false)
+                    : byRentDate.subMap(overdueWatermark, true, cutoff, false);
+            range.values().forEach(newlyOverdue::addAll);
+
+            for (Integer rentalId : lateArrivals) {
+                RentalDTO rental = byId.get(rentalId);
+                // (그 사이 반납된 대출은 제외)
+                if (rental != null && rental.getRentDate().isBefore(cutoff)) {
+                    newlyOverdue.add(rentalId);
+                }
+            }
+            lateArrivals.clear();
+            if (overdueWatermark == null || cutoff.isAfter(overdueWatermark)) {
+                overdueWatermark = cutoff;
+            }
+            return sorted(newlyOverdue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public LocalDate dueDate(RentalDTO rental) {
+        return rental.getRentDate() == null ? null : rental.getRentDate().plusDays(loanDays);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LocalDate overdueCutoff(LocalDate today) {
+        return today.minusDays(loanDays);
+    }
+
+    // (락 안에서 호출)
+    private List<RentalDTO> sorted(Collection<Integer> rentalIds) {
+        List<RentalDTO> result = new ArrayList<>(rentalIds.size());
+        for (Integer rentalId : rentalIds) {
+            result.add(byId.get(rentalId).copy());
+        }
+        result.sort(RENT_DATE_ASC);
+        return result;
+    }
+
+    private void put(RentalDTO rental) {
+        RentalDTO stored = rental.copy();
+        int rentalId = stored.getRentalId();
+        byId.put(rentalId, stored);
+        byBook.computeIfAbsent(stored.getBookId(), key -> new TreeSet<>()).add(rentalId);
+        byMember.computeIfAbsent(stored.getMemberId(), key -> new TreeSet<>()).add(rentalId);
+        if (stored.getRentDate() != null) {
+            byRentDate.computeIfAbsent(stored.getRentDate(), key -> new TreeSet<>()).add(rentalId);
+            if (overdueWatermark != null && stored.getRentDate().isBefore(overdueWatermark)) {
+                lateArrivals.add(rentalId);
+            }
+        }
+    }
+
+    private void remove(int rentalId) {
+        RentalDTO old = byId.remove(rentalId);
+        if (old == null) {
+            return;
+        }
+        lateArrivals.remove(rentalId);
+        removeFromBucket(byBook, old.getBookId(), rentalId);
+        removeFromBucket(byMember, old.getMemberId(), rentalId);
+        if (old.getRentDate() != null) {
+            removeFromBucket(byRentDate, old.getRentDate(), rentalId);
+        }
+    }
+
+    private static <K> void removeFromBucket(Map<K, Set<Integer>> index, K key, int rentalId) {
+        Set<Integer> rentalIds = index.get(key);
+        if (rentalIds != null) {
+            rentalIds.remove(rentalId);
+            if (rentalIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
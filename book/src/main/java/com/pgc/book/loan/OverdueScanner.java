@@ -0,0 +1,41 @@
+package com.pgc.book.loan;
+
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.LoanOverdueEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 연체 대출 주기 스캔
+ * : rental 테이블을 다시 읽지 않고 OpenLoanIndex 에서 지난 스캔 이후 새로 연체된 대출만 꺼내
+ * LoanOverdueEvent 로 알립니다. (대출 한 건당 한 번)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueScanner {
+
+    private final OpenLoanIndex openLoanIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(fixedDelayString = "${book.rental.overdue-scan-interval-ms:60000}",
+            initialDelayString = "${book.rental.overdue-scan-interval-ms:60000}")
+    public void scan() {
+        if (!openLoanIndex.isReady()) {
+            return;
+        }
+        List<RentalDTO> newlyOverdue = openLoanIndex.drainNewlyOverdue(LocalDate.now());
+        for (RentalDTO rental : newlyOverdue) {
+            eventPublisher.publishEvent(new LoanOverdueEvent(rental, openLoanIndex.dueDate(rental)));
+        }
+        if (!newlyOverdue.isEmpty()) {
+            log.info("새 연체 대출 {}건 (미반납 {}건)", newlyOverdue.size(), openLoanIndex.size());
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.pgc.book.mapper;
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.BookRentalCountDTO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,11 +16,20 @@ public interface BookMapper {
 
     List<BookDTO> findAllBooks();
 
+    // 전체 행을 한 건씩 읽는 스트리밍 조회 (트랜잭션 안에서만 사용)
+    Cursor<BookDTO> streamAllBooks();
+
+    List<BookDTO> findBooksPage(@Param("cursor") Integer cursor, @Param("limit") int limit);
+
     BookDTO findBookById(int bookId);
 
+    // (없는 ID는 결과에서 빠집니다. 순서는 보장하지 않습니다.)
+    List<BookDTO> findBooksByIds(@Param("bookIds") Collection<Integer> bookIds);
+
     List<BookDTO> findBooksPublishedAfter(String year);
 
-    List<BookRentalCountDTO> getBookRentalCounts();
+    // history = true 이면 보관(rental_archive)된 대출까지 셉니다. (누적 대출 횟수)
+    List<BookRentalCountDTO> getBookRentalCounts(@Param("history") boolean history);
 
     List<BookDTO> findMostExpensiveBooks();
 
@@ -0,0 +1,13 @@
+package com.pgc.book.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface JournalCheckpointMapper {
+
+    // 저널별로 DB에 반영이 끝난 마지막 순번 (기록이 없으면 null)
+    Long findLastSequence(String journal);
+
+    void saveLastSequence(@Param("journal") String journal, @Param("lastSequence") long lastSequence);
+}
@@ -3,7 +3,10 @@ package com.pgc.book.mapper;
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.MemberDTO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,9 +16,17 @@ public interface MemberMapper {
 
     List<MemberDTO> findAllMembers();
 
+    // 전체 행을 한 건씩 읽는 스트리밍 조회 (트랜잭션 안에서만 사용)
+    Cursor<MemberDTO> streamAllMembers();
+
+    List<MemberDTO> findMembersPage(@Param("cursor") Integer cursor, @Param("limit") int limit);
+
     MemberDTO findMemberById(int memberId);
 
     List<BookDTO> findBooksRentedByMemberName(String name);
 
+    // 이름 인덱스(MemberNameIndex)로 찾은 회원 ID 목록으로 대출 도서를 조회합니다.
+    List<BookDTO> findBooksRentedByMemberIds(@Param("memberIds") Collection<Integer> memberIds);
+
     int updateMember(MemberDTO member);
 }
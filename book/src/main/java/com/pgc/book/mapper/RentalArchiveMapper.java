@@ -0,0 +1,28 @@
+package com.pgc.book.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface RentalArchiveMapper {
+
+    // cutoff 이전에 반납된 대출 ID (rental_id 오름차순 limit 건, 행 잠금)
+    List<Integer> findArchivableIds(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    // cutoff 이전에 반납된 대출 중 가장 이른 반납일 (없으면 null)
+    LocalDate findOldestArchivableReturnDate(@Param("cutoff") LocalDate cutoff);
+
+    int copyToArchive(@Param("rentalIds") Collection<Integer> rentalIds);
+
+    int deleteArchived(@Param("rentalIds") Collection<Integer> rentalIds);
+
+    // rental_archive 의 파티션 이름 (파티션이 없는 테이블이면 빈 목록)
+    List<String> findArchivePartitions();
+
+    // p_max 에서 lessThan 미만 구간을 partitionName 파티션으로 떼어 냅니다.
+    void addArchivePartition(@Param("partitionName") String partitionName, @Param("lessThan") LocalDate lessThan);
+}
@@ -2,8 +2,13 @@ package com.pgc.book.mapper;
 
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.dto.RentalFactDTO;
+import com.pgc.book.dto.RentalWithBookDTO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Mapper
@@ -11,10 +16,38 @@ public interface RentalMapper {
 
     void insertRental(RentalDTO rental);
 
-    List<RentalDTO> findAllRentals();
+    // 해당 도서의 미반납 대출이 copies 건 미만일 때만 INSERT 합니다. (재고가 없으면 0 반환)
+    int insertRentalIfAvailable(@Param("rental") RentalDTO rental, @Param("copies") int copies);
+
+    // history = true 이면 보관(rental_archive)된 대출까지 포함합니다.
+    List<RentalDTO> findAllRentals(@Param("history") boolean history);
+
+    // 전체 행을 한 건씩 읽는 스트리밍 조회 (트랜잭션 안에서만 사용)
+    Cursor<RentalDTO> streamAllRentals(@Param("history") boolean history);
+
+    // 통계 스냅샷 적재용 (보관분 포함, 도서 저자 / 출판사 포함)
+    Cursor<RentalFactDTO> streamRentalFacts();
+
+    List<RentalDTO> findRentalsPage(@Param("cursor") Integer cursor, @Param("limit") int limit,
+                                    @Param("history") boolean history);
 
     RentalDTO findRentalById(int rentalId);
 
+    RentalDTO findArchivedRentalById(int rentalId);
+
     List<BookDTO> findUnreturnedBooks();
 
+    // 회원의 대출 내역 + 도서 (중첩 resultMap, history = true 이면 보관된 대출 포함)
+    List<RentalWithBookDTO> findRentalsWithBookByMember(@Param("memberId") int memberId,
+                                                        @Param("history") boolean history);
+
+    // 미반납 대출 (OpenLoanIndex 초기 로드용)
+    List<RentalDTO> findOpenRentals();
+
+    // 지금까지 등록된 가장 큰 rental_id (보관분 포함, 대출이 없으면 0)
+    int findMaxRentalId();
+
+    // 아직 반납되지 않은 대출만 반납 처리합니다. (이미 반납된 대출이면 0 반환)
+    int updateReturnDate(@Param("rentalId") int rentalId, @Param("returnDate") LocalDate returnDate);
+
 }
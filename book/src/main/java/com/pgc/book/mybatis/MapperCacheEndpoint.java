@@ -0,0 +1,22 @@
+package com.pgc.book.mybatis;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * [GET] /actuator/mappercache
+ * MyBatis 2차 캐시(OffHeapCache) namespace 별 통계 : 항목 수, 사용 bytes, hit ratio, 밀려난(eviction) 수,
+ * 너무 커서 저장하지 않은(rejected) 수, 비운(clear) 횟수, 만료된(expirations) 수, 복제본에서 읽어 저장하지 않은(replicaSkips) 수
+ */
+@Component
+@Endpoint(id = "mappercache")
+public class MapperCacheEndpoint {
+
+    @ReadOperation
+    public List<OffHeapCache.Stats> mapperCaches() {
+        return OffHeapCache.allStats();
+    }
+}
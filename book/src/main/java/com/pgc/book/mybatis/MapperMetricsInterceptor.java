@@ -0,0 +1,97 @@
+package com.pgc.book.mybatis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * MyBatis 매핑 구문(Mapped Statement)별 실행 시간 / 처리 행 수 측정 Interceptor
+ * : Executor 의 query / queryCursor / update 호출을 가로채서
+ * book.mapper.statements (Timer, 백분위) 와 book.mapper.rows (Counter) 에 기록합니다.
+ * (mybatis-spring-boot-starter 가 Interceptor 타입 Bean 을 자동으로 등록합니다.)
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private static final String TIMER_NAME = "book.mapper.statements";
+    private static final String ROWS_NAME = "book.mapper.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementName = shortName(statement.getId());
+        String command = statement.getSqlCommandType().name();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            Object result = invocation.proceed();
+            outcome = "SUCCESS";
+            recordRows(statementName, command, result);
+            return result;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("MyBatis 매핑 구문 실행 시간")
+                    .tag("statement", statementName)
+                    .tag("command", command)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    // SELECT 는 반환된 행 수, INSERT/UPDATE/DELETE 는 영향받은 행 수를 기록합니다.
+    private void recordRows(String statementName, String command, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Integer affected && affected >= 0) {
+            // (BATCH 실행기는 flush 전까지 음수 상수를 반환하므로 제외합니다.)
+            rows = affected;
+        } else {
+            return;
+        }
+        Counter.builder(ROWS_NAME)
+                .description("MyBatis 매핑 구문이 반환/변경한 행 수")
+                .tag("statement", statementName)
+                .tag("command", command)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    // com.pgc.book.mapper.BookMapper.getBookRentalCounts -> BookMapper.getBookRentalCounts
+    private static String shortName(String statementId) {
+        int methodDot = statementId.lastIndexOf('.');
+        int typeDot = methodDot > 0 ? statementId.lastIndexOf('.', methodDot - 1) : -1;
+        return statementId.substring(typeDot + 1);
+    }
+}
@@ -0,0 +1,364 @@
+package com.pgc.book.mybatis;
+
+import com.pgc.book.datasource.ReplicaRoutingDataSource;
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 힙 밖(direct buffer)에 결과를 저장하는 MyBatis 2차 캐시 (매퍼 namespace 별 하나)
+ * : 조회 결과(List<DTO>)를 Java 직렬화한 바이트를 고정 크기 블록으로 나누어 저장합니다.
+ * 캐시 전체 크기(maxBytes)만큼의 direct buffer 를 처음 저장할 때 한 번 할당하고 blockBytes 단위로 빌려 쓰므로,
+ * GC 대상 힙이 커지지 않고 사용량이 maxBytes 를 넘지 않습니다. 공간이 모자라면 가장 오래 안 쓴(LRU) 항목부터 내보냅니다.
+ * 조회할 때마다 역직렬화해서 새 객체를 돌려주므로 호출한 쪽이 결과를 바꿔도 캐시는 안전합니다.
+ * 복제본에서 읽은 결과는 뒤처져 있을 수 있으므로 저장하지 않습니다. (주 DB에서 읽은 결과만 캐시)
+ * ttlMillis : 저장 후 이 시간이 지난 항목은 없는 것으로 보고 지웁니다. (0 이면 만료 없음)
+ * MyBatis 밖(다른 인스턴스, 직접 SQL)에서 바뀐 데이터가 캐시에 계속 남지 않도록 하는 상한입니다.
+ *
+ * dependsOn : 다른 namespace 의 쓰기가 이 캐시의 결과를 바꾸는 경우 (ex. 도서 UPDATE → RentalMapper 의 도서 조인 결과)
+ * 그 namespace 캐시가 비워질 때 이 캐시도 함께 비웁니다. (A → B → A 처럼 돌아와도 한 번씩만)
+ * 비우기는 namespace 전체 단위이므로, 자주 쓰이는 namespace(대출)에 기대는 조회는 의존으로 묶지 말고 useCache="false" 로 뺍니다.
+ * <pre>
+ * &lt;cache type="com.pgc.book.mybatis.OffHeapCache"&gt;
+ *     &lt;property name="maxBytes" value="16777216"/&gt;
+ *     &lt;property name="ttlMillis" value="60000"/&gt;
+ *     &lt;property name="dependsOn" value="com.pgc.book.mapper.BookMapper"/&gt;
+ * &lt;/cache&gt;
+ * </pre>
+ * MyBatis 는 사용자 정의 캐시에 동기화 데코레이터를 붙이지 않으므로 직접 잠금을 사용합니다.
+ */
+public class OffHeapCache implements Cache, InitializingObject {
+
+    // 살아 있는 모든 캐시 (namespace 간 flush 전파용, 컨텍스트가 닫혀 버려진 캐시는 GC 됩니다.)
+    private static final Set<OffHeapCache> CACHES = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final String id;
+    private long maxBytes = 16 * 1024 * 1024;
+    private int blockBytes = 1024;
+    private long ttlMillis = 60_000;
+    private Set<String> dependsOn = Set.of();
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 접근 순서(LRU) : 가장 오래 안 쓴 항목이 맨 앞
+    private final LinkedHashMap<Object, Slot> slots = new LinkedHashMap<>(64, 0.75f, true);
+    private ByteBuffer arena;
+    private Deque<Integer> freeBlocks;
+    private int totalBlocks;
+    private long usedBytes;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder clears = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder replicaSkips = new LongAdder();
+
+    // expiresAt : nanoClock 기준 만료 시각 (ttlMillis 가 0 이면 쓰지 않음)
+    private record Slot(int[] blocks, int length, long expiresAt) {
+    }
+
+    /**
+     * namespace 별 통계 (actuator mappercache 엔드포인트)
+     */
+    public record Stats(String namespace, int entries, long usedBytes, long maxBytes, long requests, long hits,
+                        double hitRatio, long puts, long evictions, long rejected, long clears,
+                        long expirations, long replicaSkips) {
+    }
+
+    public OffHeapCache(String id) {
+        this(id, System::nanoTime);
+    }
+
+    // (테스트용) 시계를 바꿔 끼웁니다.
+    OffHeapCache(String id, LongSupplier nanoClock) {
+        this.id = id;
+        this.nanoClock = nanoClock;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void setBlockBytes(int blockBytes) {
+        this.blockBytes = blockBytes;
+    }
+
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    // 쉼표로 구분한 namespace 목록
+    public void setDependsOn(String dependsOn) {
+        this.dependsOn = Arrays.stream(dependsOn.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * &lt;property&gt; 값이 모두 설정된 뒤 MyBatis 가 호출합니다.
+     */
+    @Override
+    public void initialize() {
+        if (blockBytes < 64 || maxBytes < blockBytes || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("OffHeapCache 설정 오류 (" + id + "): maxBytes=" + maxBytes
+                    + ", blockBytes=" + blockBytes + " (64 <= blockBytes <= maxBytes <= " + Integer.MAX_VALUE + ")");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("OffHeapCache 설정 오류 (" + id + "): ttlMillis=" + ttlMillis + " (0 이상)");
+        }
+        totalBlocks = (int) (maxBytes / blockBytes);
+        CACHES.add(this);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (value == null) {
+            removeObject(key);
+            return;
+        }
+        if (ReplicaRoutingDataSource.isReadingReplica()) {
+            replicaSkips.increment();
+            return;
+        }
+        byte[] bytes = serialize(value);
+        int needed = (bytes.length + blockBytes - 1) / blockBytes;
+
+        lock.lock();
+        try {
+            release(slots.remove(key));
+            // 한 항목이 캐시의 1/4 을 넘으면 다른 항목을 모두 밀어내므로 저장하지 않습니다.
+            if (needed > totalBlocks / 4) {
+                rejected.increment();
+                return;
+            }
+            ensureArena();
+            Iterator<Slot> lru = slots.values().iterator();
+            while (freeBlocks.size() < needed && lru.hasNext()) {
+                release(lru.next());
+                lru.remove();
+                evictions.increment();
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                int block = freeBlocks.pop();
+                int offset = i * blockBytes;
+                arena.put(block * blockBytes, bytes, offset, Math.min(blockBytes, bytes.length - offset));
+                blocks[i] = block;
+            }
+            long expiresAt = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            slots.put(key, new Slot(blocks, bytes.length, expiresAt));
+            usedBytes += bytes.length;
+            puts.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        requests.increment();
+        byte[] bytes;
+        lock.lock();
+        try {
+            Slot slot = slots.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (ttlMillis > 0 && nanoClock.getAsLong() - slot.expiresAt() >= 0) {
+                release(slots.remove(key));
+                expirations.increment();
+                return null;
+            }
+            bytes = new byte[slot.length()];
+            for (int i = 0; i < slot.blocks().length; i++) {
+                int offset = i * blockBytes;
+                arena.get(slot.blocks()[i] * blockBytes, bytes, offset, Math.min(blockBytes, bytes.length - offset));
+            }
+        } finally {
+            lock.unlock();
+        }
+        hits.increment();
+        // (역직렬화는 잠금 밖에서)
+        return deserialize(bytes);
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        lock.lock();
+        try {
+            release(slots.remove(key));
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이 캐시와, 이 namespace 에 의존(dependsOn)하는 캐시들을 비웁니다.
+     * (MyBatis 는 INSERT / UPDATE / DELETE 가 커밋될 때 해당 namespace 캐시의 clear 를 호출합니다.)
+     */
+    @Override
+    public void clear() {
+        clearLocal();
+        Set<String> visited = new HashSet<>();
+        visited.add(id);
+        clearDependents(id, visited);
+    }
+
+    @Override
+    public int getSize() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        long requestCount = requests.sum();
+        long hitCount = hits.sum();
+        lock.lock();
+        try {
+            return new Stats(id, slots.size(), usedBytes, maxBytes, requestCount, hitCount,
+                    requestCount == 0 ? 0 : (double) hitCount / requestCount,
+                    puts.sum(), evictions.sum(), rejected.sum(), clears.sum(), expirations.sum(),
+                    replicaSkips.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 살아 있는 모든 OffHeapCache 의 통계 (namespace 순)
+     */
+    public static List<Stats> allStats() {
+        List<OffHeapCache> caches;
+        synchronized (CACHES) {
+            caches = new ArrayList<>(CACHES);
+        }
+        return caches.stream()
+                .map(OffHeapCache::stats)
+                .sorted(Comparator.comparing(Stats::namespace))
+                .toList();
+    }
+
+    private static void clearDependents(String namespace, Set<String> visited) {
+        List<OffHeapCache> dependents;
+        synchronized (CACHES) {
+            dependents = CACHES.stream().filter(cache -> cache.dependsOn.contains(namespace)).toList();
+        }
+        for (OffHeapCache dependent : dependents) {
+            dependent.clearLocal();
+            if (visited.add(dependent.id)) {
+                clearDependents(dependent.id, visited);
+            }
+        }
+    }
+
+    private void clearLocal() {
+        lock.lock();
+        try {
+            for (Slot slot : slots.values()) {
+                release(slot);
+            }
+            slots.clear();
+            clears.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // direct buffer 는 처음 저장할 때 할당합니다. (캐시를 쓰지 않는 설정이면 메모리를 잡지 않음)
+    private void ensureArena() {
+        if (arena == null) {
+            arena = ByteBuffer.allocateDirect(totalBlocks * blockBytes);
+            freeBlocks = new ArrayDeque<>(totalBlocks);
+            for (int block = totalBlocks - 1; block >= 0; block--) {
+                freeBlocks.push(block);
+            }
+        }
+    }
+
+    private void release(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        for (int block : slot.blocks()) {
+            freeBlocks.push(block);
+        }
+        usedBytes -= slot.length();
+    }
+
+    private byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new CacheException("캐시 값 직렬화 실패 (" + id + "): 결과 타입이 Serializable 이어야 합니다.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ClassLoaderAwareObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("캐시 값 역직렬화 실패 (" + id + ")", e);
+        }
+    }
+
+    // devtools 재시작 클래스로더 등에서도 DTO 클래스를 찾도록 MyBatis 의 클래스 로더 규칙으로 찾습니다.
+    private static class ClassLoaderAwareObjectInputStream extends ObjectInputStream {
+
+        ClassLoaderAwareObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Resources.classForName(desc.getName());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
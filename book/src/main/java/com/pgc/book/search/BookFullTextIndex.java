@@ -0,0 +1,179 @@
+package com.pgc.book.search;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookSearchHitDTO;
+import com.pgc.book.dto.PageDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.index.InMemoryIndex;
+import com.pgc.book.mapper.BookMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 도서 전문(full-text) 검색 역색인
+ * : 제목 / 저자 / 출판사를 바이그램 토큰(NGrams.indexTokens)으로 잘라 "토큰 -> (book_id -> 가중 빈도)" 를 유지하고,
+ * 검색어의 모든 토큰을 포함한 도서를 TF-IDF 점수 순으로 돌려줍니다.
+ * 필드 가중치는 제목 3, 저자 2, 출판사 1 입니다. (제목에서 일치한 도서가 위로)
+ * 시작 시 전체 도서를 한 번 읽어 오고(rebuild), 이후에는 도서 등록/수정/삭제가 커밋될 때마다 갱신합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookFullTextIndex extends InMemoryIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int AUTHOR_WEIGHT = 2;
+    static final int PUBLISHER_WEIGHT = 1;
+
+    private static final Comparator<ScoredBook> SCORE_DESC = Comparator
+            .comparingDouble(ScoredBook::score).reversed()
+            .thenComparingInt(ScoredBook::bookId);
+
+    private final BookMapper bookMapper;
+
+    private final Map<Integer, BookDTO> byId = new HashMap<>();
+    // 토큰 -> (book_id -> 필드 가중치를 곱한 등장 횟수)
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    // book_id -> 그 도서가 가진 토큰 (수정/삭제 시 포스팅 제거용)
+    private final Map<Integer, Set<String>> termsById = new HashMap<>();
+
+    /**
+     * DB의 전체 도서로 인덱스를 다시 만듭니다.
+     */
+    @Override
+    protected void load() {
+        List<BookDTO> books = bookMapper.findAllBooks();
+        byId.clear();
+        postings.clear();
+        termsById.clear();
+        books.forEach(this::put);
+        log.info("도서 전문 검색 인덱스 로드 완료 ({} books, {} terms)", books.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.bookId());
+            if (event.book() != null) {
+                put(event.book());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * query 의 모든 토큰을 포함한 도서를 점수 내림차순(동점이면 book_id 오름차순)으로 page 번째 페이지만 돌려줍니다.
+     */
+    public PageDTO<BookSearchHitDTO> search(String query, int page, int size) {
+        ensureReady();
+        Set<String> queryTerms = new LinkedHashSet<>(NGrams.tokens(query));
+
+        lock.readLock().lock();
+        try {
+            List<ScoredBook> scored = score(queryTerms);
+            scored.sort(SCORE_DESC);
+
+            PageDTO<ScoredBook> window = PageDTO.of(scored, page, size);
+            List<BookSearchHitDTO> hits = new ArrayList<>(window.getItems().size());
+            for (ScoredBook hit : window.getItems()) {
+                hits.add(new BookSearchHitDTO(byId.get(hit.bookId()).copy(), hit.score()));
+            }
+            return new PageDTO<>(hits, page, size, window.getTotalCount(), window.isHasNext());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (읽기 락 안에서 호출)
+    private List<ScoredBook> score(Set<String> queryTerms) {
+        List<ScoredBook> result = new ArrayList<>();
+        if (queryTerms.isEmpty()) {
+            return result;
+        }
+
+        List<Map<Integer, Integer>> termPostings = new ArrayList<>(queryTerms.size());
+        List<Double> idfs = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting == null) {
+                // 한 토큰이라도 없으면 모든 토큰을 가진 도서도 없습니다.
+                return result;
+            }
+            termPostings.add(posting);
+            idfs.add(Math.log(1.0 + (double) byId.size() / posting.size()));
+        }
+
+        // 가장 짧은 포스팅 목록의 도서만 후보로 확인합니다.
+        Map<Integer, Integer> shortest = termPostings.stream()
+                .min(Comparator.comparingInt(Map::size))
+                .orElseThrow();
+        for (Integer bookId : shortest.keySet()) {
+            double score = 0;
+            boolean matchesAll = true;
+            for (int i = 0; i < termPostings.size() && matchesAll; i++) {
+                Integer weightedCount = termPostings.get(i).get(bookId);
+                if (weightedCount == null) {
+                    matchesAll = false;
+                } else {
+                    // 빈도는 로그로 완만하게 반영합니다.
+                    score += (1.0 + Math.log(weightedCount)) * idfs.get(i);
+                }
+            }
+            if (matchesAll) {
+                result.add(new ScoredBook(bookId, score));
+            }
+        }
+        return result;
+    }
+
+    private void put(BookDTO book) {
+        BookDTO stored = book.copy();
+        int bookId = stored.getBookId();
+        Map<String, Integer> weighted = new HashMap<>();
+        addField(weighted, stored.getTitle(), TITLE_WEIGHT);
+        addField(weighted, stored.getAuthor(), AUTHOR_WEIGHT);
+        addField(weighted, stored.getPublisher(), PUBLISHER_WEIGHT);
+
+        byId.put(bookId, stored);
+        termsById.put(bookId, weighted.keySet());
+        weighted.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(bookId, count));
+    }
+
+    private void remove(int bookId) {
+        byId.remove(bookId);
+        Set<String> terms = termsById.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(bookId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> weighted, String text, int weight) {
+        for (String token : NGrams.indexTokens(text)) {
+            weighted.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private record ScoredBook(int bookId, double score) {
+    }
+}
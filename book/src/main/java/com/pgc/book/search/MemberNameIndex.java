@@ -0,0 +1,206 @@
+package com.pgc.book.search;
+
+import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.event.MemberChangedEvent;
+import com.pgc.book.index.InMemoryIndex;
+import com.pgc.book.mapper.MemberMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 회원 이름 타입어헤드(자동완성) 인덱스
+ * : 정규화된 이름을 키로 하는 정렬 맵(TreeMap)으로 접두어 검색을, 유니그램/바이그램 역색인으로
+ * 중간 일치(infix) 검색을 처리해서 DB 조회 없이 회원 ID를 찾습니다.
+ * 결과는 접두어 일치가 먼저, 그 다음 중간 일치 순이며 각각 이름 오름차순입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberNameIndex extends InMemoryIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final MemberMapper memberMapper;
+
+    private final Map<Integer, MemberDTO> byId = new HashMap<>();
+    // member_id -> 정규화된 이름
+    private final Map<Integer, String> keys = new HashMap<>();
+    // 정규화된 이름 -> member_id 집합 (동명이인)
+    private final NavigableMap<String, Set<Integer>> byName = new TreeMap<>();
+    // 유니그램/바이그램 -> member_id 집합
+    private final Map<String, Set<Integer>> byGram = new HashMap<>();
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * DB의 전체 회원으로 인덱스를 다시 만듭니다.
+     */
+    @Override
+    protected void load() {
+        List<MemberDTO> members = memberMapper.findAllMembers();
+        byId.clear();
+        keys.clear();
+        byName.clear();
+        byGram.clear();
+        members.forEach(this::put);
+        log.info("회원 이름 인덱스 로드 완료 ({} members)", members.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.memberId());
+            if (event.member() != null) {
+                put(event.member());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름에 query 가 포함된 회원 (접두어 일치 우선, 최대 limit 건)
+     */
+    public List<MemberDTO> search(String query, int limit) {
+        ensureReady();
+        List<MemberDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Integer memberId : matchIds(query, limit)) {
+                result.add(byId.get(memberId).copy());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * search 와 같은 규칙으로 찾은 회원 ID
+     */
+    public List<Integer> searchIds(String query, int limit) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(matchIds(query, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (읽기 락 안에서 호출)
+    private Set<Integer> matchIds(String query, int limit) {
+        String key = NGrams.normalize(query);
+        Set<Integer> matched = new LinkedHashSet<>();
+        if (key.isEmpty() || limit < 1) {
+            return matched;
+        }
+
+        // 1. 접두어 일치 : [key, key + Character.MAX_VALUE) 구간
+        for (Set<Integer> memberIds : byName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            for (Integer memberId : memberIds) {
+                if (matched.size() >= limit) {
+                    return matched;
+                }
+                matched.add(memberId);
+            }
+        }
+
+        // 2. 중간 일치 : n-gram 후보를 교집합으로 좁힌 뒤 실제 포함 여부를 확인합니다.
+        List<Integer> infix = new ArrayList<>();
+        for (Integer memberId : candidates(key)) {
+            if (!matched.contains(memberId) && keys.get(memberId).contains(key)) {
+                infix.add(memberId);
+            }
+        }
+        infix.sort(Comparator.comparing((Integer memberId) -> keys.get(memberId)).thenComparing(memberId -> memberId));
+        for (Integer memberId : infix) {
+            if (matched.size() >= limit) {
+                break;
+            }
+            matched.add(memberId);
+        }
+        return matched;
+    }
+
+    private Set<Integer> candidates(String key) {
+        Set<String> grams = NGrams.length(key) == 1 ? Set.of(key) : NGrams.grams(key, 2);
+
+        // 가장 짧은 포스팅 목록부터 교집합을 구합니다.
+        List<Set<Integer>> postings = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Integer> memberIds = byGram.get(gram);
+            if (memberIds == null) {
+                return Set.of();
+            }
+            postings.add(memberIds);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private void put(MemberDTO member) {
+        MemberDTO stored = member.copy();
+        String key = NGrams.normalize(stored.getName());
+        byId.put(stored.getMemberId(), stored);
+        keys.put(stored.getMemberId(), key);
+        byName.computeIfAbsent(key, name -> new TreeSet<>()).add(stored.getMemberId());
+        for (String gram : grams(key)) {
+            byGram.computeIfAbsent(gram, g -> new HashSet<>()).add(stored.getMemberId());
+        }
+    }
+
+    private void remove(int memberId) {
+        byId.remove(memberId);
+        String key = keys.remove(memberId);
+        if (key == null) {
+            return;
+        }
+        removeFromPosting(byName, key, memberId);
+        for (String gram : grams(key)) {
+            removeFromPosting(byGram, gram, memberId);
+        }
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = NGrams.grams(key, 1);
+        grams.addAll(NGrams.grams(key, 2));
+        return grams;
+    }
+
+    private static void removeFromPosting(Map<String, Set<Integer>> index, String key, int memberId) {
+        Set<Integer> memberIds = index.get(key);
+        if (memberIds != null) {
+            memberIds.remove(memberId);
+            if (memberIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
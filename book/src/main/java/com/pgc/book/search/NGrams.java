@@ -0,0 +1,108 @@
+package com.pgc.book.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 검색 인덱스용 문자열 정규화 / n-gram 유틸
+ * : 한글은 입력 환경에 따라 자모가 분리된(NFD) 형태로 들어올 수 있으므로 항상 NFC 로 합친 뒤
+ * 코드 포인트 단위로 자릅니다. (ex. "홍길동" → 유니그램 [홍, 길, 동], 바이그램 [홍길, 길동])
+ */
+public final class NGrams {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 글자(한글/영문 등)와 숫자가 아닌 문자 = 단어 구분자
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NGrams() {
+    }
+
+    /**
+     * NFC 정규화 + 소문자 + 공백 제거 (null 이면 빈 문자열)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(composed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 정규화된 문자열의 길이 n 연속 부분 문자열 (중복 제거, 등장 순서 유지)
+     * : 문자열이 n 보다 짧으면 빈 집합입니다.
+     */
+    public static Set<String> grams(String normalized, int n) {
+        int[] codePoints = normalized.codePoints().toArray();
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + n <= codePoints.length; i++) {
+            grams.add(new String(codePoints, i, n));
+        }
+        return grams;
+    }
+
+    /**
+     * 전문 검색 "검색어" 토큰
+     * : 단어 구분자로 나눈 뒤 한 글자 단어는 그대로, 두 글자 이상은 바이그램으로 자릅니다.
+     * (ex. "스프링 부트" → [스프, 프링, 부트])
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(text)) {
+            int[] codePoints = word.codePoints().toArray();
+            if (codePoints.length == 1) {
+                tokens.add(word);
+            }
+            addBigrams(tokens, codePoints);
+        }
+        return tokens;
+    }
+
+    /**
+     * 전문 검색 "문서" 토큰 (등장 횟수만큼 중복 포함)
+     * : 단어 경계를 넘는 바이그램까지 만들어서 띄어쓰기가 다른 검색어도 찾게 합니다.
+     * 한 글자 단어는 유니그램으로도 넣습니다.
+     * (ex. "스프링 부트" → [스프, 프링, 링부, 부트] 이므로 "스프링부트" / "스프링 부트" 모두 일치)
+     */
+    public static List<String> indexTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder joined = new StringBuilder();
+        for (String word : words(text)) {
+            if (word.codePointCount(0, word.length()) == 1) {
+                tokens.add(word);
+            }
+            joined.append(word);
+        }
+        addBigrams(tokens, joined.codePoints().toArray());
+        return tokens;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(composed)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static void addBigrams(List<String> tokens, int[] codePoints) {
+        for (int i = 0; i + 2 <= codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    public static int length(String normalized) {
+        return normalized.codePointCount(0, normalized.length());
+    }
+}
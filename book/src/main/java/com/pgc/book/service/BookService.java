@@ -1,7 +1,11 @@
 package com.pgc.book.service;
 
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.BookSearchHitDTO;
+import com.pgc.book.dto.CursorPageDTO;
+import com.pgc.book.dto.PageDTO;
 
 import java.util.List;
 
@@ -9,16 +13,28 @@ public interface BookService {
 
     BookDTO registerBook(BookDTO book);
 
+    BatchResultDTO<BookDTO> registerBooks(List<BookDTO> books);
+
     List<BookDTO> getAllBooks();
 
+    CursorPageDTO<BookDTO> getBooksPage(Integer cursor, Integer size);
+
     BookDTO getBookById(int bookId);
 
     List<BookDTO> getBooksPublishedAfter(String year);
 
     List<BookRentalCountDTO> getBookRentalCounts();
 
+    List<BookRentalCountDTO> getBookRentalCounts(int limit);
+
     List<BookDTO> getMostExpensiveBooks();
 
+    List<BookDTO> getBooksByPriceRange(int minPrice, int maxPrice);
+
+    List<BookDTO> getTopPricedBooks(int k);
+
+    PageDTO<BookSearchHitDTO> searchBooksFullText(String query, int page, Integer size);
+
     boolean updateBook(BookDTO book);
 
     boolean deleteBook(int bookId);
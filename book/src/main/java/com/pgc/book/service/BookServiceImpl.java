@@ -1,11 +1,32 @@
 package com.pgc.book.service;
 
+import com.pgc.book.aop.Coalesce;
+import com.pgc.book.aop.ReadFromPrimary;
+import com.pgc.book.batch.BatchInsertTemplate;
+import com.pgc.book.config.CacheConfig;
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.BookSearchHitDTO;
+import com.pgc.book.dto.CursorPageDTO;
+import com.pgc.book.dto.PageDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.index.BookCatalogIndex;
+import com.pgc.book.loader.BookBatchLoader;
 import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.search.BookFullTextIndex;
+import com.pgc.book.search.NGrams;
+import com.pgc.book.stats.RentalCountLeaderboard;
+import com.pgc.book.version.ResourceVersions.Resource;
+import com.pgc.book.version.VersionedCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -15,50 +36,149 @@ import java.util.List;
 public class BookServiceImpl implements BookService{
 
     private final BookMapper bookMapper;
+    private final RentalCountLeaderboard rentalCountLeaderboard;
+    private final BookCatalogIndex bookCatalogIndex;
+    private final BookFullTextIndex bookFullTextIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BatchInsertTemplate batchInsertTemplate;
+    private final BookBatchLoader bookBatchLoader;
+    private final VersionedCache versionedCache;
 
     @Transactional
     @Override
     public BookDTO registerBook(BookDTO book){
         bookMapper.insertBook(book);
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, book.getBookId(), book));
         return book;
     }
 
+    // 청크마다 별도 트랜잭션을 사용하므로 클래스 레벨의 readOnly 트랜잭션에 참여하지 않습니다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BatchResultDTO<BookDTO> registerBooks(List<BookDTO> books) {
+        return batchInsertTemplate.insertAll(books, BookMapper.class, BookMapper::insertBook,
+                book -> eventPublisher.publishEvent(
+                        new BookChangedEvent(ChangeType.CREATED, book.getBookId(), book)));
+    }
+
     @Override
     public List<BookDTO> getAllBooks() {
         return bookMapper.findAllBooks();
     }
 
+    @Override
+    public CursorPageDTO<BookDTO> getBooksPage(Integer cursor, Integer size) {
+        int pageSize = CursorPageDTO.clampSize(size);
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다.
+        List<BookDTO> rows = bookMapper.findBooksPage(cursor, pageSize + 1);
+        return CursorPageDTO.of(rows, pageSize, BookDTO::getBookId);
+    }
+
+    // 묶음 조회기가 자기 readOnly 트랜잭션을 쓰므로, 호출자 쪽에서는 커넥션을 미리 잡지 않습니다.
+    // 결과가 캐시에 저장되므로 주 DB에서 읽습니다. (묶음 조회기도 따라갑니다.)
+    // 조회 중에 수정이 커밋되면 이전 행이 캐시에 남지 않도록 버전을 확인하는 캐시를 씁니다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @ReadFromPrimary
     @Override
     public BookDTO getBookById(int bookId) {
-        return bookMapper.findBookById(bookId);
+        return versionedCache.get(CacheConfig.BOOKS, Resource.BOOKS, bookId, () -> {
+            // 쓰기 트랜잭션 안에서는 아직 커밋 안 된 자기 쓰기를 봐야 하므로 직접 조회하고,
+            // 그 외에는 동시에 들어온 단건 조회들과 묶어 IN 쿼리 한 번으로 조회합니다.
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return bookMapper.findBookById(bookId);
+            }
+            return bookBatchLoader.get(bookId);
+        });
     }
 
     @Override
     public List<BookDTO> getBooksPublishedAfter(String year) {
-        return bookMapper.findBooksPublishedAfter(year);
+        // 출판연도 정렬 인덱스(메모리)에서 조회합니다. (CAST 비교로 인덱스를 못 타는 DB 쿼리 대신)
+        return bookCatalogIndex.findPublishedAfter(parseYear(year));
     }
 
+    // 대시보드 새로고침 때 동시에 몰리는 통계 조회는 한 번만 실행합니다. (getBookRentalCounts, getMostExpensiveBooks)
+    @Coalesce(versions = {Resource.BOOKS, Resource.RENTALS})
     @Override
     public List<BookRentalCountDTO> getBookRentalCounts() {
-        return bookMapper.getBookRentalCounts();
+        return getBookRentalCounts(Integer.MAX_VALUE);
     }
 
+    @Coalesce(versions = {Resource.BOOKS, Resource.RENTALS})
+    @Override
+    public List<BookRentalCountDTO> getBookRentalCounts(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다: " + limit);
+        }
+        // 순위표가 준비되었으면 메모리에서 바로 응답하고, 시작 직후 등 아직 로드 전이면 DB에서 집계합니다.
+        if (rentalCountLeaderboard.isReady()) {
+            return rentalCountLeaderboard.top(limit);
+        }
+        List<BookRentalCountDTO> counts = bookMapper.getBookRentalCounts(true);
+        return counts.size() > limit ? counts.subList(0, limit) : counts;
+    }
+
+    @Coalesce(versions = Resource.BOOKS)
     @Override
     public List<BookDTO> getMostExpensiveBooks() {
-        return bookMapper.findMostExpensiveBooks();
+        return bookCatalogIndex.findMostExpensive();
+    }
+
+    @Override
+    public List<BookDTO> getBooksByPriceRange(int minPrice, int maxPrice) {
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("min은 max보다 클 수 없습니다: " + minPrice + " > " + maxPrice);
+        }
+        return bookCatalogIndex.findByPriceRange(minPrice, maxPrice);
+    }
+
+    @Override
+    public List<BookDTO> getTopPricedBooks(int k) {
+        if (k < 1 || k > CursorPageDTO.MAX_SIZE) {
+            throw new IllegalArgumentException("k는 1 이상 " + CursorPageDTO.MAX_SIZE + " 이하여야 합니다: " + k);
+        }
+        return bookCatalogIndex.findTopByPrice(k);
+    }
+
+    @Override
+    public PageDTO<BookSearchHitDTO> searchBooksFullText(String query, int page, Integer size) {
+        if (NGrams.tokens(query).isEmpty()) {
+            throw new IllegalArgumentException("검색어는 글자나 숫자를 포함해야 합니다: " + query);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다: " + page);
+        }
+        return bookFullTextIndex.search(query, page, CursorPageDTO.clampSize(size));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#book.bookId")
     @Override
     public boolean updateBook(BookDTO book) {
         int affectedRows = bookMapper.updateBook(book);
+        if (affectedRows == 1) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, book.getBookId(), book));
+        }
         return affectedRows == 1;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     @Override
     public boolean deleteBook(int bookId) {
         int affectedRows = bookMapper.deleteBook(bookId);
+        if (affectedRows == 1) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, bookId, null));
+        }
         return affectedRows == 1;
     }
+
+    private static int parseYear(String year) {
+        try {
+            return Integer.parseInt(year.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("출판연도는 숫자여야 합니다: " + year);
+        }
+    }
 }
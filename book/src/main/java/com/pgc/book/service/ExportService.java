@@ -0,0 +1,19 @@
+package com.pgc.book.service;
+
+import com.pgc.book.io.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 전체 테이블을 MyBatis Cursor로 한 행씩 읽어 응답 스트림에 바로 쓰는 내보내기(Export) 서비스
+ */
+public interface ExportService {
+
+    long exportBooks(DataFormat format, OutputStream out) throws IOException;
+
+    long exportMembers(DataFormat format, OutputStream out) throws IOException;
+
+    // history = true 이면 보관된 대출까지 내보냅니다.
+    long exportRentals(DataFormat format, boolean history, OutputStream out) throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.pgc.book.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.io.CsvColumn;
+import com.pgc.book.io.DataFormat;
+import com.pgc.book.io.RowStreamWriter;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.MemberMapper;
+import com.pgc.book.mapper.RentalMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+// Cursor는 SqlSession(트랜잭션)이 열려 있는 동안에만 읽을 수 있으므로 메서드 전체를 트랜잭션으로 감쌉니다.
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<CsvColumn<BookDTO>> BOOK_COLUMNS = List.of(
+            new CsvColumn<>("book_id", BookDTO::getBookId),
+            new CsvColumn<>("title", BookDTO::getTitle),
+            new CsvColumn<>("author", BookDTO::getAuthor),
+            new CsvColumn<>("publisher", BookDTO::getPublisher),
+            new CsvColumn<>("price", BookDTO::getPrice),
+            new CsvColumn<>("pub_year", BookDTO::getPubYear));
+
+    private static final List<CsvColumn<MemberDTO>> MEMBER_COLUMNS = List.of(
+            new CsvColumn<>("member_id", MemberDTO::getMemberId),
+            new CsvColumn<>("name", MemberDTO::getName),
+            new CsvColumn<>("phone", MemberDTO::getPhone),
+            new CsvColumn<>("address", MemberDTO::getAddress));
+
+    private static final List<CsvColumn<RentalDTO>> RENTAL_COLUMNS = List.of(
+            new CsvColumn<>("rental_id", RentalDTO::getRentalId),
+            new CsvColumn<>("member_id", RentalDTO::getMemberId),
+            new CsvColumn<>("book_id", RentalDTO::getBookId),
+            new CsvColumn<>("rent_date", RentalDTO::getRentDate),
+            new CsvColumn<>("return_date", RentalDTO::getReturnDate));
+
+    private final BookMapper bookMapper;
+    private final MemberMapper memberMapper;
+    private final RentalMapper rentalMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportBooks(DataFormat format, OutputStream out) throws IOException {
+        try (Cursor<BookDTO> cursor = bookMapper.streamAllBooks()) {
+            long count = RowStreamWriter.write(cursor, format, BOOK_COLUMNS, objectMapper, out);
+            log.debug("book export 완료 ({} rows, {})", count, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportMembers(DataFormat format, OutputStream out) throws IOException {
+        try (Cursor<MemberDTO> cursor = memberMapper.streamAllMembers()) {
+            long count = RowStreamWriter.write(cursor, format, MEMBER_COLUMNS, objectMapper, out);
+            log.debug("member export 완료 ({} rows, {})", count, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportRentals(DataFormat format, boolean history, OutputStream out) throws IOException {
+        try (Cursor<RentalDTO> cursor = rentalMapper.streamAllRentals(history)) {
+            long count = RowStreamWriter.write(cursor, format, RENTAL_COLUMNS, objectMapper, out);
+            log.debug("rental export 완료 ({} rows, {})", count, format);
+            return count;
+        }
+    }
+}
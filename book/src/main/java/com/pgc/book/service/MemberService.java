@@ -1,7 +1,10 @@
 package com.pgc.book.service;
 
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.dto.RentalWithBookDTO;
 import java.util.List;
 
 public interface MemberService {
@@ -9,13 +12,28 @@ public interface MemberService {
     // 1. 회원 등록
     MemberDTO registerMember(MemberDTO member);
 
+    // 1-1. 회원 일괄 등록
+    BatchResultDTO<MemberDTO> registerMembers(List<MemberDTO> members);
+
     // 2. 모든 회원 조회
     List<MemberDTO> getAllMembers();
 
+    // 2-1. 회원 커서 페이지 조회
+    CursorPageDTO<MemberDTO> getMembersPage(Integer cursor, Integer size);
+
     // 3. ID로 회원 한 명 조회
     MemberDTO getMemberById(int memberId);
 
+    // 3-1. 회원의 대출 이력 (도서 정보 포함, 없는 회원이면 null)
+    List<RentalWithBookDTO> getMemberRentals(int memberId, boolean history);
+
     List<BookDTO> getBooksRentedByMemberName(String name);
 
+    // 4. 이름 자동완성 (접두어 일치 우선, 중간 일치 포함)
+    List<MemberDTO> searchMembers(String query, Integer limit);
+
+    // 4-1. 자동완성으로 찾은 회원들이 대출한 도서 목록
+    List<BookDTO> getBooksRentedByMatchingMembers(String query, Integer limit);
+
     boolean updateMember(MemberDTO member);
 }
\ No newline at end of file
@@ -1,12 +1,28 @@
 package com.pgc.book.service;
 
+import com.pgc.book.aop.ReadFromPrimary;
+import com.pgc.book.batch.BatchInsertTemplate;
+import com.pgc.book.config.CacheConfig;
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.dto.RentalWithBookDTO;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.MemberChangedEvent;
 import com.pgc.book.mapper.MemberMapper; // MemberMapper를 import
+import com.pgc.book.mapper.RentalMapper;
+import com.pgc.book.search.MemberNameIndex;
+import com.pgc.book.version.ResourceVersions.Resource;
+import com.pgc.book.version.VersionedCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service // Spring Service Bean으로 등록
@@ -16,25 +32,59 @@ public class MemberServiceImpl implements MemberService { // MemberService 구
 
     // MemberMapper를 주입받습니다.
     private final MemberMapper memberMapper;
+    private final RentalMapper rentalMapper;
+    private final BatchInsertTemplate batchInsertTemplate;
+    private final MemberNameIndex memberNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersionedCache versionedCache;
 
     @Transactional
     @Override
     public MemberDTO registerMember(MemberDTO member) {
         // Mapper에게 작업을 위임합니다.
         memberMapper.insertMember(member);
+        publishChanged(ChangeType.CREATED, member);
         return member;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // (청크마다 별도 트랜잭션)
+    @Override
+    public BatchResultDTO<MemberDTO> registerMembers(List<MemberDTO> members) {
+        return batchInsertTemplate.insertAll(members, MemberMapper.class, MemberMapper::insertMember,
+                member -> publishChanged(ChangeType.CREATED, member));
+    }
+
     @Override
     public List<MemberDTO> getAllMembers() {
         // Mapper에게 작업을 위임합니다.
         return memberMapper.findAllMembers();
     }
 
+    @Override
+    public CursorPageDTO<MemberDTO> getMembersPage(Integer cursor, Integer size) {
+        int pageSize = CursorPageDTO.clampSize(size);
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다.
+        List<MemberDTO> rows = memberMapper.findMembersPage(cursor, pageSize + 1);
+        return CursorPageDTO.of(rows, pageSize, MemberDTO::getMemberId);
+    }
+
+    // 결과가 캐시에 저장되므로 주 DB에서 읽습니다.
+    // 조회 중에 수정이 커밋되면 이전 행이 캐시에 남지 않도록 버전을 확인하는 캐시를 씁니다.
+    @ReadFromPrimary
     @Override
     public MemberDTO getMemberById(int memberId) {
         // Mapper에게 작업을 위임합니다.
-        return memberMapper.findMemberById(memberId);
+        return versionedCache.get(CacheConfig.MEMBERS, Resource.MEMBERS, memberId,
+                () -> memberMapper.findMemberById(memberId));
+    }
+
+    @Override
+    public List<RentalWithBookDTO> getMemberRentals(int memberId, boolean history) {
+        if (memberMapper.findMemberById(memberId) == null) {
+            return null;
+        }
+        // 대출과 도서를 JOIN 한 번으로 가져와 중첩 resultMap 으로 묶습니다. (대출마다 도서를 따로 조회하지 않도록)
+        return rentalMapper.findRentalsWithBookByMember(memberId, history);
     }
 
     @Override
@@ -42,11 +92,34 @@ public class MemberServiceImpl implements MemberService { // MemberService 구
         return memberMapper.findBooksRentedByMemberName(name);
     }
 
+    @Override
+    public List<MemberDTO> searchMembers(String query, Integer limit) {
+        return memberNameIndex.search(query, MemberNameIndex.clampLimit(limit));
+    }
+
+    @Override
+    public List<BookDTO> getBooksRentedByMatchingMembers(String query, Integer limit) {
+        List<Integer> memberIds = memberNameIndex.searchIds(query, MemberNameIndex.clampLimit(limit));
+        if (memberIds.isEmpty()) {
+            // (IN () 는 SQL 문법 오류이므로 조회하지 않습니다.)
+            return new ArrayList<>();
+        }
+        return memberMapper.findBooksRentedByMemberIds(memberIds);
+    }
+
     @Transactional // (쓰기 가능)
+    @CacheEvict(cacheNames = CacheConfig.MEMBERS, key = "#member.memberId") // (커밋 후 캐시 무효화)
     @Override
     public boolean updateMember(MemberDTO member) {
         int affectedRows = memberMapper.updateMember(member);
+        if (affectedRows == 1) {
+            publishChanged(ChangeType.UPDATED, member);
+        }
         // 업데이트된 행이 1개이면 true 반환
         return affectedRows == 1;
     }
+
+    private void publishChanged(ChangeType type, MemberDTO member) {
+        eventPublisher.publishEvent(new MemberChangedEvent(type, member.getMemberId(), member));
+    }
 }
\ No newline at end of file
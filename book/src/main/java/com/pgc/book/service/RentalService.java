@@ -1,17 +1,37 @@
 package com.pgc.book.service;
 
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.dto.RentalStatsDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface RentalService {
 
     RentalDTO registerRental(RentalDTO rental);
 
-    List<RentalDTO> getAllRentals();
+    BatchResultDTO<RentalDTO> registerRentals(List<RentalDTO> rentals);
 
+    // 반납 처리 (대출이 없으면 null, 이미 반납된 대출이면 409)
+    RentalDTO returnRental(int rentalId, LocalDate returnDate);
+
+    // history = true 이면 보관된(오래전에 반납된) 대출까지 포함합니다.
+    List<RentalDTO> getAllRentals(boolean history);
+
+    CursorPageDTO<RentalDTO> getRentalsPage(Integer cursor, Integer size, boolean history);
+
+    // 보관된 대출도 찾습니다.
     RentalDTO getRentalById(int rentalId);
 
     List<BookDTO> getUnreturnedBooks();
+
+    List<RentalDTO> getOverdueRentals();
+
+    List<RentalDTO> getOpenRentalsByMember(int memberId);
+
+    // 대출 통계 (groupBy=all|month|publisher|author|member, 대출일 [from, to], 통계 스냅샷 기준)
+    RentalStatsDTO getRentalStats(String groupBy, LocalDate from, LocalDate to, Integer limit);
 }
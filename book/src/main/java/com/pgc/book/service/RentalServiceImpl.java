@@ -1,13 +1,36 @@
 package com.pgc.book.service;
 
+import com.pgc.book.analytics.RentalAnalytics;
+import com.pgc.book.analytics.RentalColumns;
+import com.pgc.book.analytics.RentalGroupBy;
+import com.pgc.book.aop.Coalesce;
+import com.pgc.book.batch.BatchInsertTemplate;
+import com.pgc.book.checkout.BookAvailability;
+import com.pgc.book.dto.BatchResultDTO;
 import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.dto.RentalStatsDTO;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.index.BookCatalogIndex;
+import com.pgc.book.loan.OpenLoanIndex;
 import com.pgc.book.mapper.RentalMapper;
+import com.pgc.book.version.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.session.ExecutorType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -15,28 +38,140 @@ import java.util.List;
 public class RentalServiceImpl implements RentalService{
 
     private final RentalMapper rentalMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BatchInsertTemplate batchInsertTemplate;
+    private final OpenLoanIndex openLoanIndex;
+    private final BookAvailability bookAvailability;
+    private final BookCatalogIndex bookCatalogIndex;
+    private final RentalAnalytics rentalAnalytics;
 
     @Transactional
     @Override
     public RentalDTO registerRental(RentalDTO rental) {
-        rentalMapper.insertRental(rental);
+        insertRental(rentalMapper, rental);
+        // 커밋 후 대출 횟수 순위표 등이 갱신됩니다.
+        eventPublisher.publishEvent(new RentalChangedEvent(ChangeType.CREATED, rental));
         return rental;
     }
 
+    // 청크마다 별도 트랜잭션을 사용하므로 클래스 레벨의 readOnly 트랜잭션에 참여하지 않습니다.
+    // 한 건 등록과 같은 예약 + 조건부 INSERT 를 거치며, 결과를 행마다 바로 확인해야 하므로 REUSE 실행기로 실행합니다.
+    // (재고가 없는 행은 그 행만 409 메시지와 함께 실패로 보고됩니다.)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
-    public List<RentalDTO> getAllRentals() {
-        return rentalMapper.findAllRentals();
+    public BatchResultDTO<RentalDTO> registerRentals(List<RentalDTO> rentals) {
+        return batchInsertTemplate.insertAll(rentals, RentalMapper.class, this::insertRental,
+                rental -> eventPublisher.publishEvent(new RentalChangedEvent(ChangeType.CREATED, rental)),
+                ExecutorType.REUSE);
     }
 
+    // 현재 트랜잭션에서 대출 한 건을 INSERT 합니다. (mapper 는 한 건 등록이면 기본 세션, 여러 건 등록이면 REUSE 세션)
+    private void insertRental(RentalMapper mapper, RentalDTO rental) {
+        if (rental.getReturnDate() != null) {
+            // 이미 반납된 과거 대출 기록은 재고와 무관합니다.
+            mapper.insertRental(rental);
+            return;
+        }
+        // 재고가 없으면 DB에 가기 전에 409 (예약은 트랜잭션이 끝나면 풀립니다.)
+        bookAvailability.reserve(rental.getBookId());
+        int inserted;
+        try {
+            inserted = mapper.insertRentalIfAvailable(rental, bookAvailability.getCopiesPerBook());
+        } catch (PessimisticLockingFailureException e) {
+            // 다른 인스턴스 / 저널 반영과 같은 도서를 동시에 대출하면 재고 확인(COUNT)이 잡은 공유 잠금끼리 교착되어
+            // DB가 한쪽 트랜잭션을 롤백합니다. (이 트랜잭션은 이미 롤백되었으므로 다시 시도하지 않고 409 로 알립니다.)
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "같은 도서의 대출이 동시에 처리되고 있습니다. 다시 시도해 주세요: bookId=" + rental.getBookId(), e);
+        }
+        if (inserted != 1) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "대출 가능한 재고가 없습니다: bookId=" + rental.getBookId());
+        }
+    }
+
+    @Transactional
     @Override
-    public RentalDTO getRentalById(int rentalId) {
-        return rentalMapper.findRentalById(rentalId);
+    public RentalDTO returnRental(int rentalId, LocalDate returnDate) {
+        RentalDTO rental = rentalMapper.findRentalById(rentalId);
+        if (rental == null) {
+            return null;
+        }
+        if (rental.getReturnDate() != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 반납된 대출입니다: " + rentalId);
+        }
+        LocalDate date = (returnDate == null) ? LocalDate.now() : returnDate;
+        if (rental.getRentDate() != null && date.isBefore(rental.getRentDate())) {
+            throw new IllegalArgumentException("반납일은 대출일보다 빠를 수 없습니다: " + date + " < " + rental.getRentDate());
+        }
+        // (동시에 같은 대출을 반납하면 한쪽만 1행이 바뀝니다.)
+        if (rentalMapper.updateReturnDate(rentalId, date) != 1) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 반납된 대출입니다: " + rentalId);
+        }
+        rental.setReturnDate(date);
+        // 커밋 후 미반납 대출 인덱스에서 빠집니다.
+        eventPublisher.publishEvent(new RentalChangedEvent(ChangeType.UPDATED, rental));
+        return rental;
     }
 
+    @Override
+    public List<RentalDTO> getAllRentals(boolean history) {
+        return rentalMapper.findAllRentals(history);
+    }
 
+    @Override
+    public CursorPageDTO<RentalDTO> getRentalsPage(Integer cursor, Integer size, boolean history) {
+        int pageSize = CursorPageDTO.clampSize(size);
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다.
+        List<RentalDTO> rows = rentalMapper.findRentalsPage(cursor, pageSize + 1, history);
+        return CursorPageDTO.of(rows, pageSize, RentalDTO::getRentalId);
+    }
+
+    @Override
+    public RentalDTO getRentalById(int rentalId) {
+        RentalDTO rental = rentalMapper.findRentalById(rentalId);
+        // 없으면 보관 테이블에서 찾습니다. (ID는 두 테이블에서 겹치지 않습니다.)
+        return rental != null ? rental : rentalMapper.findArchivedRentalById(rentalId);
+    }
 
+    // 미반납 대출 인덱스 + 도서 카탈로그 인덱스로 조인 없이 만듭니다. (대출일 오름차순)
+    // 동시에 들어온 호출은 한 번만 만들어 함께 받습니다.
+    @Coalesce(versions = {Resource.RENTALS, Resource.BOOKS})
     @Override
     public List<BookDTO> getUnreturnedBooks(){
-        return rentalMapper.findUnreturnedBooks();
+        List<BookDTO> books = new ArrayList<>();
+        for (RentalDTO rental : openLoanIndex.findOpen()) {
+            bookCatalogIndex.findById(rental.getBookId()).ifPresent(books::add);
+        }
+        return books;
+    }
+
+    @Override
+    public List<RentalDTO> getOverdueRentals() {
+        return openLoanIndex.findOverdue(LocalDate.now());
+    }
+
+    @Override
+    public List<RentalDTO> getOpenRentalsByMember(int memberId) {
+        return openLoanIndex.findOpenByMember(memberId);
+    }
+
+    // DB가 아니라 주기적으로 갱신되는 컬럼형 스냅샷에서 병렬로 집계합니다.
+    @Override
+    public RentalStatsDTO getRentalStats(String groupBy, LocalDate from, LocalDate to, Integer limit) {
+        RentalGroupBy group = RentalGroupBy.from(groupBy);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다: " + from + " > " + to);
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다: " + limit);
+        }
+        RentalColumns snapshot = rentalAnalytics.snapshot();
+        return RentalStatsDTO.builder()
+                .groupBy(group.name().toLowerCase(Locale.ROOT))
+                .from(from)
+                .to(to)
+                .snapshotAt(snapshot.getLoadedAt())
+                .snapshotRows(snapshot.size())
+                .groups(snapshot.aggregate(group, from, to, limit == null ? Integer.MAX_VALUE : limit))
+                .build();
     }
 }
@@ -0,0 +1,264 @@
+package com.pgc.book.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.pgc.book.datasource.ReadYourWrites;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 직렬화된 응답 본문(JSON 바이트) 스냅샷 캐시
+ * : 자주 폴링되는 목록/통계 API의 응답을 Jackson 으로 한 번만 직렬화해서 (크면 gzip 압축본도 함께) 보관하고,
+ * 같은 버전(ETag)의 요청에는 저장된 바이트를 그대로 내려보냅니다.
+ *
+ * - 키 : API별 이름 (ex. "books:all", "stats:top-priced:10"), 값은 ETag 와 함께 저장
+ * - 무효화 : 쓰기가 커밋되면 ResourceVersions 가 ETag 를 바꾸므로 이전 스냅샷은 다음 조회 때 교체됩니다.
+ *   (새 ETag 에 뒤처진 복제본 데이터가 붙지 않도록 스냅샷을 만드는 조회는 주 DB에서 합니다.)
+ * - 용량 : 저장된 바이트 합계가 book.snapshot.max-bytes 를 넘으면 가장 오래 안 쓰인(LRU) 것부터 버립니다.
+ * - 지표 : book.snapshot.bytes / entries / hit.ratio (Gauge), book.snapshot.requests{result=hit|miss} (Counter)
+ */
+@Slf4j
+@Component
+public class ResponseSnapshotCache {
+
+    private static final String GZIP = "gzip";
+    private static final String GZIP_SUFFIX = "-gz";
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final int minGzipBytes;
+
+    // accessOrder = true : get 할 때마다 맨 뒤로 이동 (맨 앞이 LRU)
+    private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseSnapshotCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${book.snapshot.max-bytes:33554432}") long maxBytes,
+                                 @Value("${book.snapshot.min-gzip-bytes:1024}") int minGzipBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.minGzipBytes = minGzipBytes;
+
+        this.hits = Counter.builder("book.snapshot.requests").tag("result", "hit")
+                .description("응답 스냅샷 캐시 조회").register(meterRegistry);
+        this.misses = Counter.builder("book.snapshot.requests").tag("result", "miss")
+                .description("응답 스냅샷 캐시 조회").register(meterRegistry);
+        Gauge.builder("book.snapshot.bytes", this, ResponseSnapshotCache::totalBytes)
+                .description("스냅샷이 차지하는 바이트 (원본 + gzip)").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("book.snapshot.entries", this, ResponseSnapshotCache::size)
+                .register(meterRegistry);
+        Gauge.builder("book.snapshot.hit.ratio", this, ResponseSnapshotCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조건부 GET + 스냅샷 응답
+     * : If-None-Match 가 etag (또는 압축본 ETag) 와 같으면 304 Not Modified (본문을 만들지 않음),
+     * 아니면 스냅샷(없거나 버전이 다르면 body 로 새로 만듦)을 클라이언트가 받을 수 있는 인코딩으로 돌려줍니다.
+     * 압축본은 "-gz" 가 붙은 자기 ETag 로 응답합니다.
+     */
+    public ResponseEntity<byte[]> respond(String key, String etag, WebRequest webRequest, Supplier<?> body) {
+        boolean gzipAccepted = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String gzipEtag = gzipEtag(etag);
+        // 클라이언트는 받았던 본문의 ETag 를 보내므로 두 ETag 모두와 비교합니다.
+        // (ETag 를 응답마다 하나만 붙이기 위해 checkNotModified 대신 직접 비교합니다.)
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String matched = matches(ifNoneMatch, etag) ? etag
+                : gzipAccepted && matches(ifNoneMatch, gzipEtag) ? gzipEtag : null;
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        Snapshot snapshot = get(key, etag, body);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.gzip() != null && gzipAccepted) {
+            return response.eTag(gzipEtag).header(HttpHeaders.CONTENT_ENCODING, GZIP).body(snapshot.gzip());
+        }
+        return response.eTag(etag).body(snapshot.identity());
+    }
+
+    /**
+     * key 의 etag 버전 스냅샷 (없으면 body 를 직렬화해서 저장)
+     */
+    public Snapshot get(String key, String etag, Supplier<?> body) {
+        synchronized (snapshots) {
+            Snapshot cached = snapshots.get(key);
+            if (cached != null && cached.etag().equals(etag)) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        // 직렬화 / 압축은 락 밖에서 합니다.
+        Snapshot created = create(etag, ReadYourWrites.onPrimary(body));
+        synchronized (snapshots) {
+            Snapshot old = snapshots.put(key, created);
+            if (old != null) {
+                totalBytes -= old.bytes();
+            }
+            totalBytes += created.bytes();
+            evictOverBudget();
+        }
+        return created;
+    }
+
+    public long totalBytes() {
+        synchronized (snapshots) {
+            return totalBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    // (snapshots 락 안에서 호출)
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Snapshot>> eldest = snapshots.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Snapshot> entry = eldest.next();
+            totalBytes -= entry.getValue().bytes();
+            eldest.remove();
+            log.debug("응답 스냅샷 제거 (용량 초과): {}", entry.getKey());
+        }
+    }
+
+    private Snapshot create(String etag, Object body) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+        byte[] gzip = null;
+        if (identity.length >= minGzipBytes) {
+            byte[] compressed = gzip(identity);
+            // 거의 줄지 않으면 압축본을 저장하지 않습니다.
+            if (compressed.length < identity.length * 0.9) {
+                gzip = compressed;
+            }
+        }
+        return new Snapshot(etag, identity, gzip);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Accept-Encoding 으로 gzip 을 받을 수 있으면 true
+     * : 모든 항목을 읽어서 gzip 항목의 q 값을, 없으면 * 항목의 q 값을 봅니다. (q=0 은 "받지 않음")
+     * ex) "gzip, deflate, br" → true, "gzip;q=0" → false, "*;q=0.5, gzip;q=0" → false, "br, *" → true
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, quality(parts));
+            } else if (name.equals("*")) {
+                any = Math.max(any, quality(parts));
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    // "gzip;q=0.8" 의 q 값 (없으면 1, 읽을 수 없으면 0)
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * If-None-Match (ex. "a", W/"b" 또는 *) 에 etag 가 있으면 true (약한 비교 : W/ 는 무시)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * gzip 본문의 강한 ETag ("k3x9a-b12" → "k3x9a-b12-gz")
+     * : 같은 버전이라도 압축본과 원본은 바이트가 다르므로 강한 ETag 도 달라야 합니다.
+     * (Range 요청이나 중간 캐시가 두 본문을 섞지 않도록)
+     */
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * 직렬화된 응답 한 건 (gzip 은 압축하지 않았으면 null)
+     */
+    public record Snapshot(String etag, byte[] identity, byte[] gzip) {
+
+        long bytes() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.pgc.book.stats;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.index.InMemoryIndex;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.RentalMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 도서별 대출 횟수 순위표 (메모리에 유지되는 집계)
+ * : 시작 시 DB의 GROUP BY 결과로 한 번 채우고(rebuild), 이후에는 대출/도서 변경이
+ * 커밋될 때마다 해당 도서의 카운터만 갱신합니다.
+ * 순위는 (대출 횟수 DESC, book_id ASC) 정렬 집합으로 유지하므로 상위 N건 조회는 O(N) 입니다.
+ *
+ * 카운터 증가는 멱등이 아니므로, 로드한 집계에 이미 들어 있는 대출(집계 직전에 커밋되고 이벤트는 로드가 끝나기를
+ * 기다리던 대출)의 이벤트는 건너뜁니다. 집계와 같은 스냅샷(한 트랜잭션)에서 읽은 가장 큰 rental_id 이하이면 집계에 포함된 것입니다.
+ * (rental_id 는 INSERT 시점에 정해지므로, 더 큰 id 가 먼저 커밋된 뒤 집계 이후에 커밋된 대출은 드물게 빠질 수 있습니다.)
+ */
+@Slf4j
+@Component
+public class RentalCountLeaderboard extends InMemoryIndex {
+
+    private static final Comparator<Entry> RANKING_ORDER = Comparator
+            .comparingInt(Entry::rentalCount).reversed()
+            .thenComparingInt(Entry::bookId);
+
+    private final BookMapper bookMapper;
+    private final RentalMapper rentalMapper;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> ranking = new TreeSet<>(RANKING_ORDER);
+    // 로드한 집계에 포함된 가장 큰 rental_id
+    private int loadedMaxRentalId;
+
+    private record Entry(int bookId, String title, int rentalCount) {
+    }
+
+    private record Snapshot(List<BookRentalCountDTO> counts, int maxRentalId) {
+    }
+
+    public RentalCountLeaderboard(BookMapper bookMapper, RentalMapper rentalMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.bookMapper = bookMapper;
+        this.rentalMapper = rentalMapper;
+        // 두 쿼리가 같은 스냅샷을 보도록 한 트랜잭션(주 DB, REPEATABLE READ)에서 읽습니다.
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * DB에서 순위표를 다시 만듭니다. (보관된 대출까지 포함한 누적 횟수)
+     */
+    @Override
+    protected void load() {
+        Snapshot snapshot = snapshotTransaction.execute(status -> {
+            int maxRentalId = rentalMapper.findMaxRentalId();
+            return new Snapshot(bookMapper.getBookRentalCounts(true), maxRentalId);
+        });
+        entries.clear();
+        ranking.clear();
+        for (BookRentalCountDTO count : snapshot.counts()) {
+            put(new Entry(count.getBookId(), count.getTitle(), count.getRentalCount()));
+        }
+        loadedMaxRentalId = snapshot.maxRentalId();
+        log.info("대출 횟수 순위표 로드 완료 ({} books, rental_id <= {})", snapshot.counts().size(), loadedMaxRentalId);
+    }
+
+    /**
+     * 대출 횟수 상위 limit 건 (대출 횟수 DESC, book_id ASC)
+     */
+    public List<BookRentalCountDTO> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<BookRentalCountDTO> result = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Entry entry : ranking) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(new BookRentalCountDTO(entry.bookId(), entry.title(), entry.rentalCount()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        if (event.type() != ChangeType.CREATED) {
+            return;
+        }
+        int rentalId = event.rental().getRentalId();
+        int bookId = event.rental().getBookId();
+
+        // 순위표에 없는 도서(로드 이전에 등록된 도서 등)는 제목을 조회해서 추가합니다. (DB 조회는 락 밖에서)
+        String title = null;
+        if (!contains(bookId)) {
+            BookDTO book = bookMapper.findBookById(bookId);
+            title = book == null ? null : book.getTitle();
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 이미 로드한 집계에 들어 있는 대출 (rental_id 를 모르는 이벤트는 0)
+            if (rentalId > 0 && rentalId <= loadedMaxRentalId) {
+                return;
+            }
+            Entry entry = entries.get(bookId);
+            if (entry == null) {
+                entry = new Entry(bookId, title, 0);
+            } else {
+                remove(entry);
+            }
+            put(new Entry(bookId, entry.title(), entry.rentalCount() + 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(event.bookId());
+            switch (event.type()) {
+                // 대출 기록이 없는 도서도 0회로 순위표에 포함합니다. (LEFT JOIN 과 같은 결과)
+                case CREATED -> {
+                    if (entry != null) {
+                        remove(entry);
+                    }
+                    put(new Entry(event.bookId(), event.book().getTitle(), 0));
+                }
+                case UPDATED -> {
+                    int rentalCount = 0;
+                    if (entry != null) {
+                        remove(entry);
+                        rentalCount = entry.rentalCount();
+                    }
+                    put(new Entry(event.bookId(), event.book().getTitle(), rentalCount));
+                }
+                case DELETED -> {
+                    if (entry != null) {
+                        remove(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean contains(int bookId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.bookId(), entry);
+        ranking.add(entry);
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.bookId());
+        ranking.remove(entry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.pgc.book.version;
+
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.MemberChangedEvent;
+import com.pgc.book.event.RentalChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리소스 버전 카운터 (ETag 용)
+ * : 컬렉션(books / members / rentals)별, 엔티티(book 5번 등)별 버전을 메모리에 두고
+ * 쓰기가 커밋될 때마다 1씩 올립니다. 컨트롤러는 쿼리를 실행하기 전에 이 버전으로 ETag를 만들어
+ * If-None-Match 와 같으면 304 Not Modified 를 바로 돌려줍니다.
+ *
+ * 버전은 커밋 "후"에 올립니다. (커밋 전에 올리면 새 ETag가 이전 데이터에 붙어 캐시될 수 있음)
+ * 버전은 프로세스 메모리에만 있으므로 재시작 후에 이전 ETag와 겹치지 않도록 ETag에 시작 시점 값(epoch)을 넣습니다.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        BOOKS, MEMBERS, RENTALS
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Map<Resource, AtomicLong> collections = new EnumMap<>(Resource.class);
+    private final Map<Resource, Map<Integer, AtomicLong>> entities = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            collections.put(resource, new AtomicLong());
+            entities.put(resource, new ConcurrentHashMap<>());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bump(Resource.BOOKS, event.bookId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        bump(Resource.MEMBERS, event.memberId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        bump(Resource.RENTALS, event.rental().getRentalId());
+    }
+
+    public void bump(Resource resource, int id) {
+        entities.get(resource).computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+        collections.get(resource).incrementAndGet();
+    }
+
+    /**
+     * 컬렉션 버전만 올립니다. (엔티티 내용은 그대로인데 목록 구성이 바뀐 경우 ex. 대출 보관)
+     */
+    public void bump(Resource resource) {
+        collections.get(resource).incrementAndGet();
+    }
+
+    public long version(Resource resource) {
+        return collections.get(resource).get();
+    }
+
+    public long version(Resource resource, int id) {
+        AtomicLong version = entities.get(resource).get(id);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * 여러 컬렉션에 의존하는 응답의 강한(strong) ETag (ex. 대출 순위 = books + rentals)
+     * ex) "k3x9a-b12-r40"
+     */
+    public String etag(Resource... resources) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (Resource resource : resources) {
+            tag.append('-').append(Character.toLowerCase(resource.name().charAt(0))).append(version(resource));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * 엔티티 한 건의 강한(strong) ETag
+     */
+    public String etag(Resource resource, int id) {
+        return "\"" + epoch + "-" + Character.toLowerCase(resource.name().charAt(0)) + id + "v" + version(resource, id) + "\"";
+    }
+}
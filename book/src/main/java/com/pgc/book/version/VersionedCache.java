@@ -0,0 +1,52 @@
+package com.pgc.book.version;
+
+import com.pgc.book.version.ResourceVersions.Resource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 엔티티 버전을 함께 저장하는 단건 조회 캐시 (book / member)
+ * : @Cacheable 은 "캐시 miss → 이전 행 조회 → (그 사이 수정 커밋 + evict) → 이전 행 저장" 순서가 되면
+ * 만료될 때까지 이전 데이터를 새 ETag 와 함께 돌려줍니다. 그래서
+ * - 조회 전에 읽은 엔티티 버전을 값과 함께 저장하고, 꺼낼 때 현재 버전과 다르면 miss 로 봅니다.
+ * - 조회하는 동안 버전이 바뀌었으면 아예 저장하지 않습니다.
+ * 버전은 커밋 후에 오르므로, 같은 버전을 본 뒤 조회한 행은 그 버전까지의 쓰기를 모두 반영하고 있습니다.
+ * (저장 / 무효화는 CacheConfig 의 트랜잭션 인식 캐시를 그대로 쓰므로 커밋 후에 반영됩니다.)
+ */
+@Component
+@RequiredArgsConstructor
+public class VersionedCache {
+
+    private final CacheManager cacheManager;
+    private final ResourceVersions resourceVersions;
+
+    /**
+     * 캐시에 저장되는 값 (value 는 CacheConfig 가 저장 / 조회 시 복사합니다.)
+     */
+    public record Entry(long version, Object value) {
+    }
+
+    /**
+     * 캐시에 현재 버전의 값이 있으면 그 값을, 없으면 loader 로 조회해서 돌려줍니다. (null 은 저장하지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Resource resource, int id, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        long version = resourceVersions.version(resource, id);
+
+        Entry entry = cache.get(id, Entry.class);
+        if (entry != null && entry.version() == version) {
+            return (T) entry.value();
+        }
+
+        T value = loader.get();
+        if (value != null && resourceVersions.version(resource, id) == version) {
+            cache.put(id, new Entry(version, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,50 @@
+-- hrdbook.sql 과 같은 스키마 (H2 임베디드 DB 용 : 벤치마크 / 로컬 테스트)
+-- jdbc:h2:mem:...;MODE=MariaDB;DATABASE_TO_LOWER=TRUE
+
+CREATE TABLE IF NOT EXISTS member (
+    member_id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    address VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS book (
+    book_id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    author VARCHAR(100),
+    publisher VARCHAR(100),
+    price INT DEFAULT 0,
+    pub_year CHAR(4),
+    CONSTRAINT chk_price CHECK (price >= 0)
+);
+
+CREATE TABLE IF NOT EXISTS rental (
+    rental_id INT AUTO_INCREMENT PRIMARY KEY,
+    member_id INT,
+    book_id INT,
+    rent_date DATE,
+    return_date DATE,
+    CONSTRAINT fk_member FOREIGN KEY (member_id) REFERENCES member(member_id),
+    CONSTRAINT fk_book FOREIGN KEY (book_id) REFERENCES book(book_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rental_return_date ON rental (return_date);
+
+-- (H2 는 파티션 없이 같은 컬럼 / 키만 만듭니다.)
+CREATE TABLE IF NOT EXISTS rental_archive (
+    rental_id INT NOT NULL,
+    member_id INT,
+    book_id INT,
+    rent_date DATE,
+    return_date DATE NOT NULL,
+    PRIMARY KEY (rental_id, return_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rental_archive_book ON rental_archive (book_id);
+
+CREATE INDEX IF NOT EXISTS idx_member_name ON member (name);
+
+CREATE TABLE IF NOT EXISTS journal_checkpoint (
+    journal VARCHAR(50) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
@@ -20,8 +20,38 @@ CREATE TABLE rental (
 	member_id INT,
 	book_id INT,
 	rent_date DATE,
-	retrun_date DATE,
+	return_date DATE,
 	
 	CONSTRAINT fk_member FOREIGN KEY (member_id) REFERENCES MEMBER(member_id),
 	CONSTRAINT fk_book FOREIGN KEY (book_id) REFERENCES book(book_id)
-	) ENGINE=INNODB DEFAULT CHARSET=UTF8MB4;
\ No newline at end of file
+	) ENGINE=INNODB DEFAULT CHARSET=UTF8MB4;
+
+-- 보관 대상(오래전에 반납된 대출) 검색용 인덱스
+CREATE INDEX idx_rental_return_date ON rental (return_date);
+
+-- 보관된 대출 (RentalArchiver 가 rental 에서 옮김, 반납월 단위 파티션)
+-- 파티션 테이블은 외래 키를 가질 수 없고, 모든 UNIQUE 키에 파티션 컬럼이 있어야 합니다.
+-- 월별 파티션(pYYYYMM)은 보관 작업이 p_max 를 나누어 추가합니다.
+CREATE TABLE rental_archive (
+	rental_id INT NOT NULL,
+	member_id INT,
+	book_id INT,
+	rent_date DATE,
+	return_date DATE NOT NULL,
+
+	PRIMARY KEY (rental_id, return_date),
+	KEY idx_rental_archive_book (book_id),
+	KEY idx_rental_archive_member (member_id)
+	) ENGINE=INNODB DEFAULT CHARSET=UTF8MB4
+	PARTITION BY RANGE COLUMNS (return_date) (
+	PARTITION p_max VALUES LESS THAN (MAXVALUE)
+	);
+
+-- 이름 검색(findBooksRentedByMemberName)용 인덱스
+CREATE INDEX idx_member_name ON member (name);
+
+-- 대출 저널(write-behind) 반영 위치
+CREATE TABLE journal_checkpoint (
+	journal VARCHAR(50) PRIMARY KEY,
+	last_sequence BIGINT NOT NULL
+	) ENGINE=INNODB DEFAULT CHARSET=UTF8MB4;
@@ -3,6 +3,7 @@ SET FOREIGN_KEY_CHECKS = 0;
 
 -- 1. 기존 데이터 초기화 (ID를 1부터 다시 시작)
 TRUNCATE TABLE rental;
+TRUNCATE TABLE rental_archive;
 TRUNCATE TABLE member;
 TRUNCATE TABLE book;
 
@@ -0,0 +1,125 @@
+package com.pgc.book.analytics;
+
+import com.pgc.book.dto.RentalFactDTO;
+import com.pgc.book.dto.RentalStatDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// DB 없이 컬럼형 스냅샷의 그룹별 집계 / 기간 필터 / 평균 대출 기간 / 병렬 집계 결과만 검증합니다.
+class RentalColumnsTest {
+
+    private static final LocalDate OCT_1 = LocalDate.of(2025, 10, 1);
+
+    @Test
+    @DisplayName("월별 집계는 시간순이고 빈 달은 빠지며, 반납된 대출로 평균 대출 기간을 계산한다")
+    void aggregateByMonth_test() {
+        // [ 1. Given ]
+        RentalColumns columns = RentalColumns.builder()
+                .add(fact(1, "민음사", "한강", OCT_1, OCT_1.plusDays(3)))
+                .add(fact(2, "민음사", "한강", OCT_1.plusDays(5), OCT_1.plusDays(10)))
+                .add(fact(1, "창비", "김영하", OCT_1.plusMonths(2), null))
+                .build(Instant.now());
+
+        // [ 2. When ]
+        List<RentalStatDTO> stats = columns.aggregate(RentalGroupBy.MONTH, null, null, Integer.MAX_VALUE);
+
+        // [ 3. Then ]
+        assertThat(stats).extracting(RentalStatDTO::getKey, RentalStatDTO::getRentals,
+                        RentalStatDTO::getReturned, RentalStatDTO::getAvgLoanDays)
+                .containsExactly(
+                        tuple("2025-10", 2L, 2L, 4.0),
+                        tuple("2025-12", 1L, 0L, null));
+    }
+
+    @Test
+    @DisplayName("출판사 / 회원별 집계는 대출 수 많은 순이고, 기간 필터와 limit 을 적용한다")
+    void aggregateByPublisherAndMember_test() {
+        // [ 1. Given ]
+        RentalColumns columns = RentalColumns.builder()
+                .add(fact(7, "창비", "김영하", OCT_1, null))
+                .add(fact(7, "민음사", "한강", OCT_1.plusDays(1), null))
+                .add(fact(8, "민음사", "한강", OCT_1.plusDays(2), null))
+                .add(fact(9, null, null, OCT_1.plusDays(2), null))
+                .add(fact(9, "문학동네", "한강", OCT_1.plusDays(30), null))
+                .add(fact(9, "민음사", "한강", null, null))
+                .build(Instant.now());
+
+        // [ 2. When ]
+        List<RentalStatDTO> byPublisher = columns.aggregate(RentalGroupBy.PUBLISHER,
+                OCT_1, OCT_1.plusDays(7), Integer.MAX_VALUE);
+        List<RentalStatDTO> topMember = columns.aggregate(RentalGroupBy.MEMBER, null, null, 1);
+        List<RentalStatDTO> all = columns.aggregate(RentalGroupBy.ALL, null, null, Integer.MAX_VALUE);
+
+        // [ 3. Then ]
+        // (기간 밖의 문학동네와 대출일이 없는 행은 빠지고, 출판사가 없는 도서는 null 그룹)
+        assertThat(byPublisher).extracting(RentalStatDTO::getKey, RentalStatDTO::getRentals)
+                .containsExactly(tuple("민음사", 2L), tuple("창비", 1L), tuple(null, 1L));
+        assertThat(topMember).extracting(RentalStatDTO::getKey, RentalStatDTO::getRentals)
+                .containsExactly(tuple("7", 2L));
+        assertThat(all).extracting(RentalStatDTO::getKey, RentalStatDTO::getRentals)
+                .containsExactly(tuple(null, 5L));
+    }
+
+    @Test
+    @DisplayName("여러 구간으로 나눈 병렬 집계 결과가 한 줄씩 센 결과와 같다")
+    void parallelAggregationMatchesSequential_test() {
+        // [ 1. Given ]
+        Random random = new Random(42);
+        RentalColumns.Builder builder = RentalColumns.builder();
+        Map<String, long[]> expected = new HashMap<>();
+        LocalDate from = OCT_1.minusDays(200);
+        LocalDate to = OCT_1;
+        for (int i = 0; i < 200_000; i++) {
+            LocalDate rentDate = OCT_1.minusDays(random.nextInt(400));
+            LocalDate returnDate = random.nextBoolean() ? rentDate.plusDays(random.nextInt(30)) : null;
+            String author = "author-" + random.nextInt(50);
+            builder.add(fact(random.nextInt(1000), "publisher", author, rentDate, returnDate));
+            if (!rentDate.isBefore(from) && !rentDate.isAfter(to)) {
+                long[] counts = expected.computeIfAbsent(author, key -> new long[3]);
+                counts[0]++;
+                if (returnDate != null) {
+                    counts[1]++;
+                    counts[2] += returnDate.toEpochDay() - rentDate.toEpochDay();
+                }
+            }
+        }
+        RentalColumns columns = builder.build(Instant.now());
+
+        // [ 2. When ]
+        List<RentalStatDTO> byAuthor = columns.aggregate(RentalGroupBy.AUTHOR, from, to, Integer.MAX_VALUE);
+
+        // [ 3. Then ]
+        assertThat(columns.size()).isEqualTo(200_000);
+        assertThat(byAuthor).hasSize(expected.size());
+        for (RentalStatDTO stat : byAuthor) {
+            long[] counts = expected.get(stat.getKey());
+            assertThat(stat.getRentals()).isEqualTo(counts[0]);
+            assertThat(stat.getReturned()).isEqualTo(counts[1]);
+            assertThat(stat.getAvgLoanDays()).isEqualTo(Math.round(counts[2] * 100.0 / counts[1]) / 100.0);
+        }
+        // 대출 수 많은 순
+        assertThat(byAuthor).isSortedAccordingTo((a, b) -> Long.compare(b.getRentals(), a.getRentals()));
+    }
+
+    private static RentalFactDTO fact(int memberId, String publisher, String author,
+                                      LocalDate rentDate, LocalDate returnDate) {
+        return RentalFactDTO.builder()
+                .memberId(memberId)
+                .bookId(1)
+                .publisher(publisher)
+                .author(author)
+                .rentDate(rentDate)
+                .returnDate(returnDate)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.pgc.book.aop;
+
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Spring 컨텍스트 없이 프록시 하나로 요청 합치기 / 버전별 키 / 예외 전달 / 대기 시간 초과 / 메트릭만 검증합니다.
+class CoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResourceVersions resourceVersions;
+    private SlowReport target;
+    private SlowReport proxy;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        resourceVersions = new ResourceVersions();
+        target = new SlowReport();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(meterRegistry, resourceVersions, 5000));
+        proxy = factory.getProxy();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("실행 중인 같은 호출에 들어온 호출들은 한 번의 실행 결과를 함께 받는다")
+    void coalesceConcurrentCalls_test() throws Exception {
+        // [ 1. Given ]
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> proxy.report(7)));
+        }
+        awaitFollowers("SlowReport.report", CALLERS - 1);
+
+        // [ 2. When ]
+        target.release.countDown();
+
+        // [ 3. Then ]
+        for (Future<List<Integer>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(7, 1);
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+        assertThat(calls("SlowReport.report", "leader")).isEqualTo(1);
+        assertThat(calls("SlowReport.report", "follower")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("인자가 다르면 합치지 않고, 실행이 끝나면 다음 호출은 새로 실행한다")
+    void differentArgsAndNoCaching_test() {
+        // [ 1. Given ]
+        target.release.countDown();
+
+        // [ 2. When ]
+        proxy.report(1);
+        proxy.report(2);
+        proxy.report(1);
+
+        // [ 3. Then ]
+        assertThat(target.executions.get()).isEqualTo(3);
+        assertThat(calls("SlowReport.report", "follower")).isZero();
+    }
+
+    @Test
+    @DisplayName("버전이 오른 뒤 들어온 호출은 그 전에 시작한 실행에 합쳐지지 않는다")
+    void newVersionStartsNewFlight_test() throws Exception {
+        // [ 1. Given ] 커밋 전에 시작한 실행과 거기에 합쳐진 호출
+        Future<List<Integer>> before = executor.submit(() -> proxy.versionedReport(5));
+        awaitLeader("versioned");
+        Future<List<Integer>> sameVersion = executor.submit(() -> proxy.versionedReport(5));
+        awaitFollowers("versioned", 1);
+
+        // [ 2. When ] 쓰기가 커밋되어 버전이 오른 뒤의 호출
+        resourceVersions.bump(Resource.BOOKS, 5);
+        Future<List<Integer>> after = executor.submit(() -> proxy.versionedReport(5));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("versioned", "leader") < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        target.release.countDown();
+
+        // [ 3. Then ]
+        assertThat(calls("versioned", "leader")).isEqualTo(2);
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo(sameVersion.get(5, TimeUnit.SECONDS));
+        assertThat(after.get(5, TimeUnit.SECONDS)).isNotEqualTo(before.get());
+        assertThat(target.executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실행이 실패하면 기다리던 호출들도 같은 예외를 받는다")
+    void propagateFailure_test() throws Exception {
+        // [ 1. Given ]
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> proxy.report(-1)));
+        }
+        awaitFollowers("SlowReport.report", CALLERS - 1);
+
+        // [ 2. When ]
+        target.release.countDown();
+
+        // [ 3. Then ]
+        for (Future<List<Integer>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("음수");
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기다리는 시간이 키별 timeoutMs 를 넘으면 503 으로 끝나고 실행 중인 호출은 계속된다")
+    void followerTimeout_test() throws Exception {
+        // [ 1. Given ]
+        Future<List<Integer>> leader = executor.submit(() -> proxy.quickGiveUp(3));
+        awaitLeader("quick");
+
+        // [ 2. When / 3. Then ]
+        assertThatThrownBy(() -> proxy.quickGiveUp(3))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+        assertThat(meterRegistry.counter("book.coalesce.timeouts", "name", "quick").count()).isEqualTo(1);
+
+        target.release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).containsExactly(3, 1);
+    }
+
+    private void awaitFollowers(String name, int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls(name, "follower") < followers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(calls(name, "follower")).isEqualTo(followers);
+    }
+
+    private void awaitLeader(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls(name, "leader") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double calls(String name, String role) {
+        return meterRegistry.counter("book.coalesce.calls", "name", name, "role", role).count();
+    }
+
+    // release 가 열릴 때까지 끝나지 않는 느린 조회 (실행 횟수를 셉니다.)
+    static class SlowReport {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+
+        @Coalesce
+        public List<Integer> report(int id) {
+            return run(id);
+        }
+
+        @Coalesce(value = "versioned", versions = Resource.BOOKS)
+        public List<Integer> versionedReport(int id) {
+            return run(id);
+        }
+
+        @Coalesce(value = "quick", timeoutMs = 50)
+        public List<Integer> quickGiveUp(int id) {
+            return run(id);
+        }
+
+        private List<Integer> run(int id) {
+            int execution = executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (id < 0) {
+                throw new IllegalArgumentException("음수 id: " + id);
+            }
+            return List.of(id, execution);
+        }
+    }
+}
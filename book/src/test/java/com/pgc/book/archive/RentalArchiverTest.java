@@ -0,0 +1,104 @@
+package com.pgc.book.archive;
+
+import com.pgc.book.mapper.RentalArchiveMapper;
+import com.pgc.book.version.ResourceVersions;
+import com.pgc.book.version.ResourceVersions.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// DB 없이 보관 작업의 배치 분할 / 주기당 상한 / 월 파티션 추가만 검증합니다. (batch-size 2, 주기당 최대 3 배치)
+class RentalArchiverTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2025, 3, 15);
+
+    private RentalArchiveMapper archiveMapper;
+    private ResourceVersions resourceVersions;
+    private RentalArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiveMapper = mock(RentalArchiveMapper.class);
+        resourceVersions = new ResourceVersions();
+        archiver = new RentalArchiver(archiveMapper, mock(PlatformTransactionManager.class), resourceVersions,
+                365, 2, 3, true);
+        when(archiveMapper.copyToArchive(anyCollection())).thenAnswer(call -> call.<Collection<?>>getArgument(0).size());
+        when(archiveMapper.deleteArchived(anyCollection())).thenAnswer(call -> call.<Collection<?>>getArgument(0).size());
+    }
+
+    @Test
+    @DisplayName("보관 대상을 batch-size 단위로 옮기고 마지막 배치가 덜 차면 멈춘다")
+    void archiveInBatches_test() {
+        // [ 1. Given ]
+        when(archiveMapper.findArchivableIds(CUTOFF, 2)).thenReturn(List.of(1, 2), List.of(3));
+
+        // [ 2. When ]
+        int moved = archiver.archive(CUTOFF);
+
+        // [ 3. Then ]
+        assertThat(moved).isEqualTo(3);
+        verify(archiveMapper, times(2)).deleteArchived(anyCollection());
+        // 커밋된 배치마다 대출 목록 버전이 올라갑니다.
+        assertThat(resourceVersions.version(Resource.RENTALS)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한 주기에 max-batches-per-run 배치까지만 옮긴다")
+    void maxBatchesPerRun_test() {
+        // [ 1. Given ] 보관 대상이 계속 남아 있음
+        when(archiveMapper.findArchivableIds(CUTOFF, 2)).thenReturn(List.of(1, 2));
+
+        // [ 2. When ]
+        int moved = archiver.archive(CUTOFF);
+
+        // [ 3. Then ]
+        assertThat(moved).isEqualTo(6);
+        verify(archiveMapper, times(3)).copyToArchive(anyCollection());
+    }
+
+    @Test
+    @DisplayName("마지막 월 파티션 다음 달부터 cutoff 의 달까지 파티션을 추가한다")
+    void ensurePartitions_test() {
+        // [ 1. Given ]
+        when(archiveMapper.findArchivePartitions()).thenReturn(List.of("p202501", "p_max"));
+
+        // [ 2. When ]
+        archiver.ensurePartitions(CUTOFF);
+
+        // [ 3. Then ]
+        verify(archiveMapper).addArchivePartition("p202502", LocalDate.of(2025, 3, 1));
+        verify(archiveMapper).addArchivePartition("p202503", LocalDate.of(2025, 4, 1));
+        verify(archiveMapper, times(2)).addArchivePartition(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("파티션이 없는 테이블이면 파티션을 만들지 않는다")
+    void noPartitions_test() {
+        // [ 1. Given ]
+        when(archiveMapper.findArchivePartitions()).thenReturn(List.of());
+
+        // [ 2. When ]
+        archiver.ensurePartitions(CUTOFF);
+
+        // [ 3. Then ]
+        verify(archiveMapper, never()).addArchivePartition(anyString(), any());
+        verify(archiveMapper, never()).findArchivableIds(eq(CUTOFF), anyInt());
+    }
+}
@@ -0,0 +1,104 @@
+package com.pgc.book.checkout;
+
+import com.pgc.book.loan.OpenLoanIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 재고 예약/반환만 여러 스레드로 돌려서
+// (1) 어떤 순간에도 도서별 예약 수가 보유 권수를 넘지 않는지, (2) 인기 도서로 쏠려도 모든 요청이 예약 또는 거절로 끝나고
+// 예약이 전부 반환되는지 확인합니다. (처리량 측정은 src/loadtest 에서 합니다.)
+class BookAvailabilityStressTest {
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 20_000;
+    private static final int BOOKS = 1_000;
+    private static final int HOT_BOOK = 0;
+    private static final int COPIES = 3;
+
+    @ParameterizedTest(name = "인기 도서 비율 {0}%")
+    @ValueSource(ints = {0, 10, 50, 90, 100})
+    @DisplayName("동시 대출에도 보유 권수를 넘지 않는다 (인기 도서 쏠림 비율별)")
+    void reserveRelease_stress_test(int hotPercent) throws Exception {
+        // [ 1. Given ] 커밋된 미반납 대출은 없다고 가정
+        OpenLoanIndex openLoanIndex = mock(OpenLoanIndex.class);
+        when(openLoanIndex.countOpenByBook(anyInt())).thenReturn(0);
+        BookAvailability availability = new BookAvailability(openLoanIndex, COPIES);
+
+        AtomicIntegerArray holders = new AtomicIntegerArray(BOOKS);
+        AtomicInteger maxHolders = new AtomicInteger();
+        AtomicLong granted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // [ 2. When ] 예약 → (대출 중) → 반환 을 반복
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int bookId = random.nextInt(100) < hotPercent ? HOT_BOOK : 1 + random.nextInt(BOOKS - 1);
+                    if (availability.tryReserve(bookId)) {
+                        int current = holders.incrementAndGet(bookId);
+                        maxHolders.accumulateAndGet(current, Math::max);
+                        holders.decrementAndGet(bookId);
+                        availability.release(bookId);
+                        granted.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // [ 3. Then ]
+        long total = (long) THREADS * OPS_PER_THREAD;
+
+        assertThat(granted.get() + rejected.get()).isEqualTo(total);
+        assertThat(maxHolders.get()).isLessThanOrEqualTo(COPIES);
+        // 모든 예약이 반환되었으므로 다시 전부 대출 가능
+        assertThat(availability.available(HOT_BOOK)).isEqualTo(COPIES);
+    }
+
+    @Test
+    @DisplayName("복구된 대출의 예약은 재고 판정 없이 잡히고, 풀릴 때까지 새 대출을 막는다")
+    void reserveAccepted_test() {
+        // [ 1. Given ]
+        OpenLoanIndex openLoanIndex = mock(OpenLoanIndex.class);
+        when(openLoanIndex.countOpenByBook(anyInt())).thenReturn(0);
+        BookAvailability availability = new BookAvailability(openLoanIndex, 1);
+
+        // [ 2. When ]
+        availability.reserveAccepted(7);
+        boolean newCheckout = availability.tryReserve(7);
+        availability.release(7);
+
+        // [ 3. Then ]
+        assertThat(newCheckout).isFalse();
+        assertThat(availability.tryReserve(7)).isTrue();
+    }
+}
@@ -0,0 +1,110 @@
+package com.pgc.book.checkout;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.RentalMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메모리 재고 예약을 거치지 않고(다른 인스턴스 / 저널 반영과 같은 상황) 실제 DB에서 같은 도서의 조건부 INSERT 를
+// 여러 스레드로 동시에 실행해서, 재고를 넘지 않고 모든 시도가 등록 / 재고 없음 / 잠금 충돌 중 하나로 끝나는지 확인합니다.
+// (테스트 트랜잭션으로 감쌀 수 없으므로 직접 커밋하고, 끝나면 만든 행을 지웁니다.)
+@SpringBootTest
+class GuardedRentalInsertTest {
+
+    private static final int THREADS = 16;
+    private static final int COPIES = 2;
+
+    @Autowired
+    private RentalMapper rentalMapper;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+    private BookDTO book;
+
+    private enum Outcome {
+        INSERTED, NO_STOCK, LOCK_FAILURE
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        book = BookDTO.builder().title("동시 대출 테스트").author("테스터").publisher("IT출판").price(10000).pubYear("2025").build();
+        transactionTemplate.executeWithoutResult(status -> bookMapper.insertBook(book));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).update("DELETE FROM rental WHERE book_id = ?", book.getBookId());
+        transactionTemplate.executeWithoutResult(status -> bookMapper.deleteBook(book.getBookId()));
+    }
+
+    @Test
+    @DisplayName("같은 도서를 동시에 조건부 INSERT 해도 재고를 넘지 않고, 실패는 재고 없음 또는 잠금 충돌뿐이다")
+    void concurrentGuardedInsert_test() throws Exception {
+        // [ 1. Given ]
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Outcome>> outcomes = new ArrayList<>();
+
+        // [ 2. When ]
+        for (int t = 0; t < THREADS; t++) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                RentalDTO rental = RentalDTO.builder().memberId(1).bookId(book.getBookId()).rentDate(LocalDate.now()).build();
+                try {
+                    Integer inserted = transactionTemplate.execute(
+                            status -> rentalMapper.insertRentalIfAvailable(rental, COPIES));
+                    return inserted != null && inserted == 1 ? Outcome.INSERTED : Outcome.NO_STOCK;
+                } catch (PessimisticLockingFailureException e) {
+                    return Outcome.LOCK_FAILURE;
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // [ 3. Then ] (다른 예외가 났으면 get() 에서 실패합니다.)
+        int inserted = 0;
+        for (Future<Outcome> outcome : outcomes) {
+            if (outcome.get() == Outcome.INSERTED) {
+                inserted++;
+            }
+        }
+        Integer open = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM rental WHERE book_id = ? AND return_date IS NULL", Integer.class, book.getBookId());
+
+        assertThat(inserted).isBetween(1, COPIES);
+        assertThat(open).isEqualTo(inserted);
+    }
+}
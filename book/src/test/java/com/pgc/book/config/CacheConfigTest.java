@@ -0,0 +1,35 @@
+package com.pgc.book.config;
+
+import com.pgc.book.dto.BookDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스프링 컨텍스트 없이 CacheManager 만 만들어서, 캐시에 든 DTO 가 호출자와 공유되지 않는지 검증합니다.
+class CacheConfigTest {
+
+    private final CacheManager cacheManager = new CacheConfig().cacheManager("maximumSize=100");
+
+    @Test
+    @DisplayName("저장한 뒤 원본을 고쳐도, 꺼낸 값을 고쳐도 캐시의 값은 바뀌지 않는다")
+    void copyOnPutAndGet_test() {
+        // [ 1. Given ]
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        BookDTO book = BookDTO.builder().bookId(1).title("JPA 프로그래밍").price(30000).build();
+        books.put(1, book);
+
+        // [ 2. When ]
+        book.setTitle("원본 수정");
+        BookDTO first = books.get(1, BookDTO.class);
+        first.setPrice(0);
+        BookDTO second = books.get(1, BookDTO.class);
+
+        // [ 3. Then ]
+        assertThat(first).isNotSameAs(book).isNotSameAs(second);
+        assertThat(second.getTitle()).isEqualTo("JPA 프로그래밍");
+        assertThat(second.getPrice()).isEqualTo(30000);
+    }
+}
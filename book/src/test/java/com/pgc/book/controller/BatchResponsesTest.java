@@ -0,0 +1,73 @@
+package com.pgc.book.controller;
+
+import com.pgc.book.dto.BatchResultDTO;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.RowErrorDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 일괄 등록 결과 → 응답 상태 코드(201 / 207 / 400) 매핑을 검증합니다.
+class BatchResponsesTest {
+
+    private static final BookDTO BOOK = BookDTO.builder().bookId(1).title("JPA 프로그래밍").build();
+    private static final RowErrorDTO ERROR = new RowErrorDTO(1, Map.of("title", "공백일 수 없습니다"));
+
+    @Test
+    @DisplayName("실패한 행이 없으면 201 Created")
+    void allCreated_test() {
+        // [ 1. Given ]
+        BatchResultDTO<BookDTO> result = new BatchResultDTO<>(1, List.of(BOOK), List.of());
+
+        // [ 2. When ]
+        ResponseEntity<BatchResultDTO<BookDTO>> response = BatchResponses.of(result);
+
+        // [ 3. Then ]
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isSameAs(result);
+    }
+
+    @Test
+    @DisplayName("일부 행만 실패하면 207 Multi-Status")
+    void partiallyCreated_test() {
+        // [ 1. Given ]
+        BatchResultDTO<BookDTO> result = new BatchResultDTO<>(2, List.of(BOOK), List.of(ERROR));
+
+        // [ 2. When ]
+        ResponseEntity<BatchResultDTO<BookDTO>> response = BatchResponses.of(result);
+
+        // [ 3. Then ]
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        assertThat(response.getBody()).isSameAs(result);
+    }
+
+    @Test
+    @DisplayName("한 행도 등록되지 않았으면 400 Bad Request (본문에 행별 오류)")
+    void noneCreated_test() {
+        // [ 1. Given ]
+        BatchResultDTO<BookDTO> result = new BatchResultDTO<>(1, List.of(), List.of(ERROR));
+
+        // [ 2. When ]
+        ResponseEntity<BatchResultDTO<BookDTO>> response = BatchResponses.of(result);
+
+        // [ 3. Then ]
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getErrors()).containsExactly(ERROR);
+    }
+
+    @Test
+    @DisplayName("빈 요청은 실패한 행이 없으므로 201 Created")
+    void emptyRequest_test() {
+        // [ 1. Given ]
+        BatchResultDTO<BookDTO> result = new BatchResultDTO<>(0, List.of(), List.of());
+
+        // [ 2. When ] / [ 3. Then ]
+        assertThat(BatchResponses.of(result).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,171 @@
+package com.pgc.book.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 내장 H2 두 개(주 DB / 복제본)로 readOnly 트랜잭션 라우팅, read-your-writes, 장애 전환을 검증합니다.
+class ReadWriteRoutingTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+        new JdbcTemplate(primary).execute("DROP TABLE node");
+        new JdbcTemplate(replica).execute("DROP TABLE node");
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 복제본, 쓰기 트랜잭션은 주 DB에서 실행된다")
+    void routeByReadOnly_test() {
+        // [ 1. Given ]
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica));
+
+        // [ 2. When ]
+        String read = nodeName(router, true);
+        String write = nodeName(router, false);
+
+        // [ 3. Then ]
+        assertThat(read).isEqualTo("replica");
+        assertThat(write).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("방금 쓴 클라이언트의 읽기는 주 DB로 고정된다")
+    void readYourWrites_test() {
+        // [ 1. Given ]
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica));
+        ReadYourWrites.activate();
+
+        // [ 2. When ]
+        String read = nodeName(router, true);
+
+        // [ 3. Then ]
+        assertThat(read).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("캐시를 채우는 읽기(onPrimary)는 주 DB에서 하고, 복제본에서 읽은 트랜잭션만 표시된다")
+    void cacheFillingReadOnPrimary_test() {
+        // [ 1. Given ]
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica));
+        List<Boolean> replicaRead = new ArrayList<>();
+
+        // [ 2. When ]
+        String cached = ReadYourWrites.onPrimary(() -> nodeName(router, true, replicaRead));
+        String uncached = nodeName(router, true, replicaRead);
+
+        // [ 3. Then ]
+        assertThat(cached).isEqualTo("primary");
+        assertThat(uncached).isEqualTo("replica");
+        assertThat(replicaRead).containsExactly(false, true);
+        // 트랜잭션이 끝나면 지워지고, onPrimary 도 끝나면 꺼집니다.
+        assertThat(ReplicaRoutingDataSource.isReadingReplica()).isFalse();
+        assertThat(ReadYourWrites.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("연결할 수 없는 복제본은 내리고 다른 복제본 / 주 DB로 넘어간다")
+    void failover_test() {
+        // [ 1. Given ] 1번 복제본은 열려 있지 않은 포트를 가리킵니다.
+        DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://127.0.0.1:1/down", "sa", "");
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(down, replica));
+
+        // [ 2. When ]
+        String first = nodeName(router, true);
+        String second = nodeName(router, true);
+
+        // [ 3. Then ]
+        assertThat(first).isEqualTo("replica");
+        assertThat(second).isEqualTo("replica");
+        assertThat(router.healthyReplicas()).isEqualTo(1);
+
+        // 모든 복제본이 내려가면 주 DB에서 읽습니다.
+        ReplicaRoutingDataSource allDown = new ReplicaRoutingDataSource(primary, List.of(down));
+        assertThat(nodeName(allDown, true)).isEqualTo("primary");
+        allDown.checkHealth();
+        assertThat(allDown.healthyReplicas()).isZero();
+    }
+
+    @Test
+    @DisplayName("계정을 지정한 커넥션도 복제본 → 주 DB 순으로 라우팅된다")
+    void connectionWithCredentials_test() throws Exception {
+        // [ 1. Given ]
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica));
+        ReplicaRoutingDataSource noReplica = new ReplicaRoutingDataSource(primary, List.of());
+
+        // [ 2. When ]
+        String read = nodeName(router.getConnection("sa", ""));
+        ReadYourWrites.activate();
+        String sticky = nodeName(router.getConnection("sa", ""));
+        ReadYourWrites.clear();
+        String fallback = nodeName(noReplica.getConnection("sa", ""));
+
+        // [ 3. Then ]
+        assertThat(read).isEqualTo("replica");
+        assertThat(sticky).isEqualTo("primary");
+        assertThat(fallback).isEqualTo("primary");
+        assertThat(router.healthyReplicas()).isEqualTo(1);
+    }
+
+    private static String nodeName(Connection connection) throws SQLException {
+        try (connection; Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    // 서비스 계층과 같은 방식(트랜잭션 매니저 + LazyConnectionDataSourceProxy)으로 node 이름을 읽습니다.
+    private String nodeName(ReplicaRoutingDataSource router, boolean readOnly) {
+        return nodeName(router, readOnly, new ArrayList<>());
+    }
+
+    // replicaRead : 쿼리 직후(커밋 전) isReadingReplica() 값을 모읍니다.
+    private String nodeName(ReplicaRoutingDataSource router, boolean readOnly, List<Boolean> replicaRead) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(router);
+
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return tx.execute(status -> {
+            String name = jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+            replicaRead.add(ReplicaRoutingDataSource.isReadingReplica());
+            return name;
+        });
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
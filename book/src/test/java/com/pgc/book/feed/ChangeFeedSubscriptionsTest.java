@@ -0,0 +1,163 @@
+package com.pgc.book.feed;
+
+import com.pgc.book.dto.ChangeEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 응답(SSE / NDJSON) 없이 기록용 출력으로 구독 pump 의 이어 받기 / RESET / LAGGED 만 검증합니다. (버퍼 용량 8)
+class ChangeFeedSubscriptionsTest {
+
+    private static final int CAPACITY = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChangeFeed changeFeed = new ChangeFeed(CAPACITY, meterRegistry);
+    private final ChangeFeedSubscriptions subscriptions =
+            new ChangeFeedSubscriptions(changeFeed, meterRegistry, 10, 60_000, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.close();
+    }
+
+    @Test
+    @DisplayName("받은 cursor 다음 이벤트부터 이어서 받고, 이후 들어온 이벤트도 받는다")
+    void resumeFromCursor_test() throws Exception {
+        // [ 1. Given ]
+        ChangeEventDTO first = changeFeed.append("book", "CREATED", 1, null);
+        changeFeed.append("book", "UPDATED", 1, null);
+        changeFeed.append("rental", "CREATED", 9, null);
+        RecordingSink sink = new RecordingSink();
+
+        // [ 2. When ]
+        subscriptions.subscribe(first.getCursor(), sink);
+        changeFeed.append("member", "UPDATED", 3, null);
+
+        // [ 3. Then ]
+        assertThat(sink.take(3)).extracting(ChangeEventDTO::getSeq).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("버퍼에서 밀려난 cursor 는 RESET 후 남은 이벤트를 모두 받고, 버퍼 전체만큼 뒤처져도 끊기지 않는다")
+    void resetThenCatchUp_test() throws Exception {
+        // [ 1. Given ] (1 ~ 20 중 13 ~ 20 만 남음)
+        ChangeEventDTO first = changeFeed.append("rental", "CREATED", 1, null);
+        for (int i = 2; i <= 20; i++) {
+            changeFeed.append("rental", "CREATED", i, null);
+        }
+        RecordingSink sink = new RecordingSink();
+
+        // [ 2. When ]
+        subscriptions.subscribe(first.getCursor(), sink);
+        List<ChangeEventDTO> received = sink.take(1 + CAPACITY);
+        changeFeed.append("rental", "CREATED", 21, null);
+
+        // [ 3. Then ]
+        assertThat(received.get(0).getChange()).isEqualTo("RESET");
+        assertThat(received.get(0).getSeq()).isEqualTo(12);
+        assertThat(received.subList(1, received.size())).extracting(ChangeEventDTO::getSeq)
+                .containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+        assertThat(sink.take(1).get(0).getSeq()).isEqualTo(21);
+        assertThat(sink.completed.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시작 전 cursor 도 RESET 으로 시작한다")
+    void previousRunCursor_test() throws Exception {
+        // [ 1. Given ]
+        changeFeed.append("book", "CREATED", 1, null);
+        RecordingSink sink = new RecordingSink();
+
+        // [ 2. When ]
+        subscriptions.subscribe("previousrun-5", sink);
+
+        // [ 3. Then ]
+        List<ChangeEventDTO> received = sink.take(2);
+        assertThat(received).extracting(ChangeEventDTO::getChange).containsExactly("RESET", "CREATED");
+    }
+
+    @Test
+    @DisplayName("보내는 사이 아직 못 보낸 이벤트가 덮어써지면 LAGGED 를 보내고 끊는다")
+    void disconnectLaggedSubscriber_test() throws Exception {
+        // [ 1. Given ] 첫 이벤트를 보내다가 멈추는 느린 구독자
+        RecordingSink sink = new RecordingSink();
+        sink.blockFirstSend = new CountDownLatch(1);
+        subscriptions.subscribe(null, sink);
+        changeFeed.append("book", "CREATED", 1, null);
+        assertThat(sink.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // [ 2. When ] 멈춰 있는 동안 버퍼가 한 바퀴 넘게 돕니다.
+        for (int i = 2; i <= CAPACITY + 2; i++) {
+            changeFeed.append("book", "CREATED", i, null);
+        }
+        sink.blockFirstSend.countDown();
+
+        // [ 3. Then ]
+        List<ChangeEventDTO> received = sink.take(2);
+        assertThat(received).extracting(ChangeEventDTO::getChange).containsExactly("CREATED", "LAGGED");
+        assertThat(received.get(1).getSeq()).isEqualTo(1);
+        assertThat(sink.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitCount(() -> meterRegistry.counter("book.feed.disconnects", "reason", "lagged").count() == 1);
+        assertThat(subscriptions.activeSubscribers()).isZero();
+    }
+
+    private static void awaitCount(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    // 받은 이벤트를 큐에 모으는 출력 (blockFirstSend 가 있으면 첫 send 에서 멈춤)
+    private static class RecordingSink implements ChangeFeedSubscriptions.Sink {
+
+        final BlockingQueue<ChangeEventDTO> events = new LinkedBlockingQueue<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile CountDownLatch blockFirstSend;
+
+        @Override
+        public void send(ChangeEventDTO event) {
+            events.add(event);
+            if (blockFirstSend != null && sending.getCount() > 0) {
+                sending.countDown();
+                try {
+                    blockFirstSend.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        List<ChangeEventDTO> take(int count) throws InterruptedException {
+            List<ChangeEventDTO> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ChangeEventDTO event = events.poll(5, TimeUnit.SECONDS);
+                assertThat(event).as("%d번째 이벤트", i + 1).isNotNull();
+                taken.add(event);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pgc.book.feed;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.ChangeEventDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// 링 버퍼(용량 4)의 순번 / 이어 읽기 / 덮어쓰기 / cursor 해석만 검증합니다.
+class ChangeFeedTest {
+
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new ChangeFeed(4, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("커밋된 변경에 1부터 순번을 매기고, 받은 위치 다음부터 최대 max 건을 읽는다")
+    void appendAndReadAfter_test() {
+        // [ 1. Given ]
+        BookDTO book = BookDTO.builder().bookId(5).title("채식주의자").build();
+        changeFeed.onBookChanged(new BookChangedEvent(ChangeType.CREATED, 5, book));
+        changeFeed.onBookChanged(new BookChangedEvent(ChangeType.DELETED, 5, null));
+        changeFeed.append("member", "UPDATED", 3, null);
+
+        // [ 2. When ]
+        List<ChangeEventDTO> firstTwo = changeFeed.readAfter(0, 2);
+        List<ChangeEventDTO> rest = changeFeed.readAfter(2, 10);
+
+        // [ 3. Then ]
+        assertThat(firstTwo).extracting(ChangeEventDTO::getSeq, ChangeEventDTO::getResource, ChangeEventDTO::getChange)
+                .containsExactly(
+                        tuple(1L, "book", "CREATED"),
+                        tuple(2L, "book", "DELETED"));
+        assertThat(firstTwo.get(0).getData()).isSameAs(book);
+        assertThat(rest).extracting(ChangeEventDTO::getSeq).containsExactly(3L);
+        assertThat(changeFeed.readAfter(3, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("버퍼에서 밀려난 위치나 아직 없는 위치에서는 이어 읽을 수 없다")
+    void overwrittenPosition_test() {
+        // [ 1. Given ] (용량 4 에 6건 -> 3 ~ 6 만 남음)
+        for (int i = 1; i <= 6; i++) {
+            changeFeed.append("rental", "CREATED", i, null);
+        }
+
+        // [ 2. When / 3. Then ]
+        assertThat(changeFeed.readAfter(1, 10)).isNull();
+        assertThat(changeFeed.readAfter(2, 10)).extracting(ChangeEventDTO::getSeq).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(changeFeed.readAfter(7, 10)).isNull();
+        assertThat(changeFeed.resetSeq()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("cursor 는 이 실행의 것만 seq 로 바꾸고, 재시작 전 cursor 는 -1, 형식 오류는 예외")
+    void parseCursor_test() {
+        // [ 1. Given ]
+        ChangeEventDTO event = changeFeed.append("book", "UPDATED", 1, null);
+
+        // [ 2. When / 3. Then ]
+        assertThat(changeFeed.parseCursor(event.getCursor())).isEqualTo(1);
+        assertThat(changeFeed.parseCursor("previousrun-1")).isEqualTo(-1);
+        assertThatThrownBy(() -> changeFeed.parseCursor("12"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeed.parseCursor(event.getCursor().replace("-1", "-x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("기다리던 구독자는 새 변경이 들어오면 바로 깨어난다")
+    void awaitAfter_test() throws Exception {
+        // [ 1. Given ]
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                changeFeed.awaitAfter(0, 5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return changeFeed.lastSeq();
+        });
+
+        // [ 2. When ]
+        Thread.sleep(50);
+        changeFeed.append("book", "CREATED", 1, null);
+
+        // [ 3. Then ]
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.pgc.book.index;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.mapper.BookMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 인덱스 자료구조만 검증합니다. (library.sql 더미 데이터와 같은 5권)
+class BookCatalogIndexTest {
+
+    private BookCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookMapper bookMapper = mock(BookMapper.class);
+        when(bookMapper.findAllBooks()).thenReturn(List.of(
+                book(1, "JPA 프로그래밍", 30000, "2021"),
+                book(2, "스프링 부트 입문", 22000, "2023"),
+                book(3, "SQL 기초", 18000, "2019"),
+                book(4, "알고리즘 A", 20000, "2020"),
+                book(5, "클린 코드", 25000, "2018")));
+
+        index = new BookCatalogIndex(bookMapper);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("출판연도 범위 조회는 pub_year DESC 로 정렬된다")
+    void findPublishedAfter_test() {
+        assertThat(index.findPublishedAfter(2020))
+                .extracting(BookDTO::getBookId)
+                .containsExactly(2, 1, 4);
+    }
+
+    @Test
+    @DisplayName("가격 범위 / 상위 K / 최고가 조회")
+    void priceQueries_test() {
+        assertThat(index.findByPriceRange(20000, 25000))
+                .extracting(BookDTO::getBookId)
+                .containsExactly(4, 2, 5);
+        assertThat(index.findTopByPrice(2))
+                .extracting(BookDTO::getBookId)
+                .containsExactly(1, 5);
+        assertThat(index.findMostExpensive())
+                .extracting(BookDTO::getTitle)
+                .containsExactly("JPA 프로그래밍");
+    }
+
+    @Test
+    @DisplayName("수정/삭제 커밋 이벤트 이후에도 인덱스가 일관된다")
+    void onBookChanged_test() {
+        // [ 2. When ] 최고가 도서 삭제, 3번 도서 가격 인상
+        index.onBookChanged(new BookChangedEvent(ChangeType.DELETED, 1, null));
+        index.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, 3, book(3, "SQL 기초", 40000, "2019")));
+
+        // [ 3. Then ]
+        assertThat(index.findMostExpensive()).extracting(BookDTO::getBookId).containsExactly(3);
+        assertThat(index.findByPriceRange(0, 20000)).extracting(BookDTO::getBookId).containsExactly(4);
+        assertThat(index.findById(1)).isEmpty();
+    }
+
+    private static BookDTO book(int bookId, String title, int price, String pubYear) {
+        return BookDTO.builder().bookId(bookId).title(title).price(price).pubYear(pubYear).build();
+    }
+}
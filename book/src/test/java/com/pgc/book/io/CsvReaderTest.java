@@ -0,0 +1,38 @@
+package com.pgc.book.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("따옴표 안의 쉼표/줄바꿈/이중 따옴표를 한 값으로 읽는다")
+    void readRecord_quoted_test() throws IOException {
+        // [ 1. Given ]
+        String csv = "title,author,price\r\n"
+                + "\"클린 코드, 2판\",\"로버트 \"\"밥\"\" 마틴\",25000\r\n"
+                + "\"여러\n줄 제목\",,18000\n";
+
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            // [ 2. When / 3. Then ]
+            assertThat(reader.readRecord()).containsExactly("title", "author", "price");
+            assertThat(reader.readRecord()).containsExactly("클린 코드, 2판", "로버트 \"밥\" 마틴", "25000");
+            assertThat(reader.readRecord()).containsExactly("여러\n줄 제목", "", "18000");
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Csv.escape 로 쓴 값은 CsvReader 로 그대로 읽힌다")
+    void escape_roundTrip_test() throws IOException {
+        String value = "a,\"b\"\nc";
+        try (CsvReader reader = new CsvReader(new StringReader(Csv.escape(value) + ",x\n"))) {
+            assertThat(reader.readRecord()).containsExactly(value, "x");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pgc.book.journal;
+
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.journal.RentalJournal.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RentalJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("다시 열면 체크포인트 이후 레코드만 복구한다")
+    void reopen_recover_test() throws Exception {
+        Path path = dir.resolve("rental.journal");
+        try (RentalJournal journal = RentalJournal.open(path, CAPACITY, 0)) {
+            assertThat(journal.append(rental(1, 10, LocalDate.of(2025, 3, 1)))).isEqualTo(1);
+            assertThat(journal.append(rental(2, 20, null))).isEqualTo(2);
+            assertThat(journal.append(rental(3, 30, LocalDate.of(2025, 3, 2)))).isEqualTo(3);
+        }
+
+        // 1번까지 DB에 반영되었다고 가정
+        try (RentalJournal journal = RentalJournal.open(path, CAPACITY, 1)) {
+            assertThat(journal.recovered()).extracting(Entry::sequence).containsExactly(2L, 3L);
+            assertThat(journal.recovered().get(0).rental().getBookId()).isEqualTo(20);
+            assertThat(journal.recovered().get(0).rental().getRentDate()).isNull();
+            assertThat(journal.recovered().get(1).rental().getRentDate()).isEqualTo(LocalDate.of(2025, 3, 2));
+            // 순번은 이어집니다.
+            assertThat(journal.append(rental(4, 40, null))).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("CRC 가 맞지 않는 레코드부터는 버린다 (쓰다 만 레코드)")
+    void corruptedTail_test() throws Exception {
+        Path path = dir.resolve("rental.journal");
+        try (RentalJournal journal = RentalJournal.open(path, CAPACITY, 0)) {
+            journal.append(rental(1, 10, null));
+            journal.append(rental(2, 20, null));
+        }
+        // 두 번째 레코드의 book_id 를 망가뜨립니다.
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(RentalJournal.RECORD_BYTES + 16);
+            file.writeInt(999);
+        }
+
+        try (RentalJournal journal = RentalJournal.open(path, CAPACITY, 0)) {
+            assertThat(journal.recovered()).extracting(Entry::sequence).containsExactly(1L);
+            assertThat(journal.usedBytes()).isEqualTo(RentalJournal.RECORD_BYTES);
+        }
+    }
+
+    @Test
+    @DisplayName("reset 후에는 이전 레코드가 복구되지 않고 가득 차면 -1 을 돌려준다")
+    void resetAndFull_test() throws Exception {
+        Path path = dir.resolve("rental.journal");
+        try (RentalJournal journal = RentalJournal.open(path, RentalJournal.RECORD_BYTES * 2 + 4, 0)) {
+            journal.append(rental(1, 10, null));
+            journal.append(rental(2, 20, null));
+            assertThat(journal.append(rental(3, 30, null))).isEqualTo(-1);
+
+            journal.reset();
+            assertThat(journal.append(rental(3, 30, null))).isEqualTo(3);
+        }
+
+        try (RentalJournal journal = RentalJournal.open(path, RentalJournal.RECORD_BYTES * 2 + 4, 2)) {
+            assertThat(journal.recovered()).extracting(Entry::sequence).containsExactly(3L);
+        }
+    }
+
+    private static RentalDTO rental(int memberId, int bookId, LocalDate rentDate) {
+        return RentalDTO.builder().memberId(memberId).bookId(bookId).rentDate(rentDate).build();
+    }
+}
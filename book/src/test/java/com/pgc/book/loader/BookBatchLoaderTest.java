@@ -0,0 +1,115 @@
+package com.pgc.book.loader;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.mapper.BookMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// DB 없이 묶음 조회기의 IN 쿼리 합치기 / 중복 제거 / 없는 ID / 예외 전달만 검증합니다. (묶음 대기 50ms)
+class BookBatchLoaderTest {
+
+    private final List<Collection<Integer>> calls = new ArrayList<>();
+
+    private BookMapper bookMapper;
+    private BookBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        bookMapper = mock(BookMapper.class);
+        loader = new BookBatchLoader(bookMapper, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                50_000, 3);
+        when(bookMapper.findBooksByIds(anyCollection())).thenAnswer(call -> {
+            Collection<Integer> ids = call.getArgument(0);
+            synchronized (calls) {
+                calls.add(Set.copyOf(ids));
+            }
+            return ids.stream().filter(id -> id != 404).map(BookBatchLoaderTest::book).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.close();
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 들어온 조회는 IN 쿼리 한 번으로 합치고 같은 ID는 한 번만 조회한다")
+    void mergeConcurrentLoads_test() {
+        // [ 1. Given / 2. When ]
+        CompletableFuture<BookDTO> first = loader.load(1);
+        CompletableFuture<BookDTO> second = loader.load(2);
+        CompletableFuture<BookDTO> again = loader.load(1);
+
+        // [ 3. Then ]
+        assertThat(first.join().getTitle()).isEqualTo("book-1");
+        assertThat(second.join().getTitle()).isEqualTo("book-2");
+        assertThat(again.join().getTitle()).isEqualTo("book-1");
+        assertThat(calls).containsExactly(Set.of(1, 2));
+        // 같은 도서를 요청한 호출자들은 서로 다른 복사본을 받습니다.
+        assertThat(again.join()).isNotSameAs(first.join());
+    }
+
+    @Test
+    @DisplayName("max-batch-size 만큼 모이면 기다리지 않고 조회하고, 나머지는 다음 묶음으로 조회한다")
+    void dispatchWhenFull_test() {
+        // [ 1. Given / 2. When ]
+        List<CompletableFuture<BookDTO>> futures = new ArrayList<>();
+        for (int id = 1; id <= 4; id++) {
+            futures.add(loader.load(id));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // [ 3. Then ]
+        assertThat(calls).containsExactly(Set.of(1, 2, 3), Set.of(4));
+    }
+
+    @Test
+    @DisplayName("없는 도서는 null 로 완료된다")
+    void missingBook_test() {
+        // [ 1. Given / 2. When ]
+        BookDTO missing = loader.get(404);
+
+        // [ 3. Then ]
+        assertThat(missing).isNull();
+    }
+
+    @Test
+    @DisplayName("조회가 실패하면 묶음의 모든 호출자에게 예외가 전달된다")
+    void propagateFailure_test() {
+        // [ 1. Given ]
+        doThrow(new IllegalStateException("db down")).when(bookMapper).findBooksByIds(anyCollection());
+
+        // [ 2. When ]
+        CompletableFuture<BookDTO> other = loader.load(2);
+
+        // [ 3. Then ]
+        assertThatThrownBy(() -> loader.get(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("db down");
+        assertThatThrownBy(other::join).hasCauseInstanceOf(IllegalStateException.class);
+        verify(bookMapper, times(1)).findBooksByIds(anyCollection());
+    }
+
+    private static BookDTO book(int bookId) {
+        return BookDTO.builder().bookId(bookId).title("book-" + bookId).price(10000).pubYear("2020").build();
+    }
+}
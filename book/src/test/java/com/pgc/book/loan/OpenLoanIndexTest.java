@@ -0,0 +1,69 @@
+package com.pgc.book.loan;
+
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.mapper.RentalMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 미반납 대출 인덱스와 증분 연체 스캔만 검증합니다. (대출 기간 14일)
+class OpenLoanIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 31);
+
+    private OpenLoanIndex index;
+
+    @BeforeEach
+    void setUp() {
+        RentalMapper rentalMapper = mock(RentalMapper.class);
+        when(rentalMapper.findOpenRentals()).thenReturn(List.of(
+                rental(1, 1, 10, TODAY.minusDays(30)),
+                rental(2, 2, 20, TODAY.minusDays(15)),
+                rental(3, 1, 30, TODAY.minusDays(14)),
+                rental(4, 3, 10, TODAY.minusDays(1))));
+
+        index = new OpenLoanIndex(rentalMapper, 14);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("회원별 / 연체 조회는 대출일 오름차순이다")
+    void findOpenAndOverdue_test() {
+        assertThat(index.findOpenByMember(1)).extracting(RentalDTO::getRentalId).containsExactly(1, 3);
+        assertThat(index.findOpenByBook(10)).extracting(RentalDTO::getRentalId).containsExactly(1, 4);
+        // 14일 전 대출(3번)은 오늘이 반납 기한이므로 아직 연체가 아닙니다.
+        assertThat(index.findOverdue(TODAY)).extracting(RentalDTO::getRentalId).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("연체 스캔은 새로 연체된 대출만 한 번씩 돌려준다")
+    void drainNewlyOverdue_test() {
+        assertThat(index.drainNewlyOverdue(TODAY)).extracting(RentalDTO::getRentalId).containsExactly(1, 2);
+        assertThat(index.drainNewlyOverdue(TODAY)).isEmpty();
+
+        // 하루가 지나면 3번이 새로 연체됩니다. 그 사이 반납된 대출은 나오지 않습니다.
+        index.onRentalChanged(new RentalChangedEvent(ChangeType.CREATED, rental(5, 3, 40, TODAY.minusDays(40))));
+        index.onRentalChanged(new RentalChangedEvent(ChangeType.UPDATED, returned(rental(1, 1, 10, TODAY.minusDays(30)))));
+
+        assertThat(index.drainNewlyOverdue(TODAY.plusDays(1))).extracting(RentalDTO::getRentalId).containsExactly(5, 3);
+        assertThat(index.findOpenByMember(1)).extracting(RentalDTO::getRentalId).containsExactly(3);
+    }
+
+    private static RentalDTO rental(int rentalId, int memberId, int bookId, LocalDate rentDate) {
+        return RentalDTO.builder().rentalId(rentalId).memberId(memberId).bookId(bookId).rentDate(rentDate).build();
+    }
+
+    private static RentalDTO returned(RentalDTO rental) {
+        rental.setReturnDate(TODAY);
+        return rental;
+    }
+}
@@ -0,0 +1,134 @@
+package com.pgc.book.mybatis;
+
+import com.pgc.book.dto.BookDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 블록 256 bytes x 16개(4KB) 캐시로 직렬화 저장, LRU 밀어내기, 만료, namespace 간 flush 전파를 검증합니다.
+class OffHeapCacheTest {
+
+    // (캐시 목록이 전역이므로 테스트마다 다른 namespace 를 씁니다.)
+    private final String prefix = "test." + UUID.randomUUID() + ".";
+
+    @Test
+    @DisplayName("저장한 결과를 역직렬화한 새 객체로 돌려준다")
+    void roundTrip_test() {
+        // [ 1. Given ]
+        OffHeapCache cache = cache("Book", "");
+        List<BookDTO> books = List.of(BookDTO.builder().bookId(1).title("JPA 프로그래밍").price(30000).pubYear("2021").build());
+
+        // [ 2. When ]
+        cache.putObject("findAllBooks", books);
+        @SuppressWarnings("unchecked")
+        List<BookDTO> cached = (List<BookDTO>) cache.getObject("findAllBooks");
+
+        // [ 3. Then ]
+        assertThat(cached).isNotSameAs(books).singleElement().isNotSameAs(books.get(0))
+                .usingRecursiveComparison().isEqualTo(books.get(0));
+        assertThat(cache.getObject("unknown")).isNull();
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("공간이 모자라면 가장 오래 안 쓴 항목부터 밀어낸다")
+    void lruEviction_test() {
+        // [ 1. Given ] 500자 문자열 = 2블록 → 8건이면 가득 참
+        OffHeapCache cache = cache("Lru", "");
+        for (int i = 0; i < 8; i++) {
+            cache.putObject("k" + i, "a".repeat(500));
+        }
+        cache.getObject("k0");
+
+        // [ 2. When ]
+        cache.putObject("k8", "b".repeat(500));
+
+        // [ 3. Then ] k0 은 방금 읽었으므로 남고, 그다음으로 오래된 k1 이 밀려납니다.
+        assertThat(cache.getObject("k0")).isNotNull();
+        assertThat(cache.getObject("k1")).isNull();
+        assertThat(cache.getObject("k8")).isEqualTo("b".repeat(500));
+        assertThat(cache.getSize()).isEqualTo(8);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().usedBytes()).isLessThanOrEqualTo(cache.stats().maxBytes());
+    }
+
+    @Test
+    @DisplayName("캐시의 1/4 보다 큰 결과는 저장하지 않는다")
+    void rejectLargeEntry_test() {
+        // [ 1. Given ]
+        OffHeapCache cache = cache("Large", "");
+        cache.putObject("small", "a".repeat(100));
+
+        // [ 2. When ]
+        cache.putObject("large", "a".repeat(2000));
+
+        // [ 3. Then ] 다른 항목을 밀어내지 않습니다.
+        assertThat(cache.getObject("large")).isNull();
+        assertThat(cache.getObject("small")).isNotNull();
+        assertThat(cache.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("namespace 캐시를 비우면 그 namespace 에 의존하는 캐시도 비운다 (순환 의존 포함)")
+    void clearDependents_test() {
+        // [ 1. Given ] Book → Rental 의존, Rental → Book 의존, Member → Book 의존
+        OffHeapCache rental = cache("Rental", prefix + "Book");
+        OffHeapCache book = cache("Book", prefix + "Rental");
+        OffHeapCache member = cache("Member", prefix + "Book, " + prefix + "Rental");
+        OffHeapCache unrelated = cache("Other", "");
+        for (OffHeapCache cache : List.of(rental, book, member, unrelated)) {
+            cache.putObject("key", "value");
+        }
+
+        // [ 2. When ] 대출 INSERT 커밋
+        rental.clear();
+
+        // [ 3. Then ]
+        assertThat(rental.getSize()).isZero();
+        assertThat(book.getSize()).isZero();
+        assertThat(member.getSize()).isZero();
+        assertThat(unrelated.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ttlMillis 가 지난 항목은 없는 것으로 보고 지운다")
+    void expiration_test() {
+        // [ 1. Given ] 만료 1초, 시계를 직접 움직입니다.
+        AtomicLong now = new AtomicLong();
+        OffHeapCache cache = new OffHeapCache(prefix + "Ttl", now::get);
+        cache.setMaxBytes(4096);
+        cache.setBlockBytes(256);
+        cache.setTtlMillis(1000);
+        cache.initialize();
+        cache.putObject("key", "value");
+
+        // [ 2. When ]
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        Object beforeExpiry = cache.getObject("key");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        Object afterExpiry = cache.getObject("key");
+
+        // [ 3. Then ]
+        assertThat(beforeExpiry).isEqualTo("value");
+        assertThat(afterExpiry).isNull();
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.stats().usedBytes()).isZero();
+        assertThat(cache.stats().expirations()).isEqualTo(1);
+    }
+
+    private OffHeapCache cache(String name, String dependsOn) {
+        OffHeapCache cache = new OffHeapCache(prefix + name);
+        cache.setMaxBytes(4096);
+        cache.setBlockBytes(256);
+        cache.setDependsOn(dependsOn);
+        cache.initialize();
+        return cache;
+    }
+}
@@ -0,0 +1,76 @@
+package com.pgc.book.search;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookSearchHitDTO;
+import com.pgc.book.dto.PageDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.mapper.BookMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 역색인과 순위만 검증합니다.
+class BookFullTextIndexTest {
+
+    private BookFullTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookMapper bookMapper = mock(BookMapper.class);
+        when(bookMapper.findAllBooks()).thenReturn(List.of(
+                book(1, "JPA 프로그래밍", "김영한", "에이콘"),
+                book(2, "스프링 부트 입문", "홍길동", "IT출판"),
+                book(3, "SQL 기초", "이순신", "데이터북"),
+                book(4, "실전 스프링부트", "김영한", "스프링출판"),
+                book(5, "클린 코드", "로버트 마틴", "인사이트")));
+
+        index = new BookFullTextIndex(bookMapper);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("제목 일치가 출판사 일치보다 높은 점수를 받는다")
+    void search_fieldWeight_test() {
+        PageDTO<BookSearchHitDTO> result = index.search("스프링", 0, 10);
+
+        // 4번은 제목과 출판사 모두 일치, 2번은 제목만, 출판사만 일치하는 도서는 없음
+        assertThat(result.getItems()).extracting(hit -> hit.getBook().getBookId()).containsExactly(4, 2);
+        assertThat(result.getTotalCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("띄어쓰기와 무관하게 찾고, 모든 단어를 포함한 도서만 돌려준다")
+    void search_spacingAndAllTerms_test() {
+        assertThat(index.search("스프링부트", 0, 10).getItems())
+                .extracting(hit -> hit.getBook().getBookId()).containsExactlyInAnyOrder(2, 4);
+        assertThat(index.search("김영한 jpa", 0, 10).getItems())
+                .extracting(hit -> hit.getBook().getBookId()).containsExactly(1);
+        assertThat(index.search("없는책", 0, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("페이지를 나누고 수정/삭제 이벤트를 반영한다")
+    void search_pageAndChange_test() {
+        PageDTO<BookSearchHitDTO> second = index.search("김영한", 1, 1);
+        assertThat(second.getItems()).hasSize(1);
+        assertThat(second.isHasNext()).isFalse();
+
+        index.onBookChanged(new BookChangedEvent(ChangeType.DELETED, 4, null));
+        index.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, 3, book(3, "SQL 기초", "김영한", "데이터북")));
+
+        assertThat(index.search("김영한", 0, 10).getItems())
+                .extracting(hit -> hit.getBook().getBookId()).containsExactlyInAnyOrder(1, 3);
+        assertThat(index.search("실전", 0, 10).getItems()).isEmpty();
+    }
+
+    private static BookDTO book(int bookId, String title, String author, String publisher) {
+        return BookDTO.builder().bookId(bookId).title(title).author(author).publisher(publisher).price(10000).build();
+    }
+}
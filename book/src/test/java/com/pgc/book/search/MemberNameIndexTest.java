@@ -0,0 +1,74 @@
+package com.pgc.book.search;
+
+import com.pgc.book.dto.MemberDTO;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.MemberChangedEvent;
+import com.pgc.book.mapper.MemberMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 이름 인덱스만 검증합니다.
+class MemberNameIndexTest {
+
+    private MemberNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MemberMapper memberMapper = mock(MemberMapper.class);
+        when(memberMapper.findAllMembers()).thenReturn(List.of(
+                member(1, "홍길동"),
+                member(2, "김철수"),
+                member(3, "이영희"),
+                member(4, "홍길순"),
+                member(5, "고길동"),
+                member(6, "John Smith")));
+
+        index = new MemberNameIndex(memberMapper);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("접두어 일치가 중간 일치보다 먼저 나온다")
+    void search_prefixFirst_test() {
+        assertThat(index.searchIds("없는이름", 10)).isEmpty();
+        assertThat(index.searchIds("홍길", 10)).containsExactly(1, 4);
+        // "길동" : 접두어 일치 없음 → 중간 일치 (이름 오름차순 : 고길동, 홍길동)
+        assertThat(index.searchIds("길동", 10)).containsExactly(5, 1);
+        // 한 글자는 유니그램으로 찾습니다.
+        assertThat(index.searchIds("동", 10)).containsExactly(5, 1);
+    }
+
+    @Test
+    @DisplayName("자모가 분리된(NFD) 입력, 대소문자, 공백을 정규화한다")
+    void search_normalization_test() {
+        String decomposed = Normalizer.normalize("홍길", Normalizer.Form.NFD);
+
+        assertThat(index.searchIds(decomposed, 10)).containsExactly(1, 4);
+        assertThat(index.search("john s", 10)).extracting(MemberDTO::getName).containsExactly("John Smith");
+        assertThat(index.searchIds("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("limit 과 회원 변경 이벤트를 반영한다")
+    void search_limitAndChange_test() {
+        assertThat(index.searchIds("홍", 1)).containsExactly(1);
+
+        index.onMemberChanged(new MemberChangedEvent(ChangeType.UPDATED, 1, member(1, "박길동")));
+        index.onMemberChanged(new MemberChangedEvent(ChangeType.CREATED, 7, member(7, "홍길자")));
+
+        assertThat(index.searchIds("홍길", 10)).containsExactly(4, 7);
+        assertThat(index.searchIds("박", 10)).containsExactly(1);
+    }
+
+    private static MemberDTO member(int memberId, String name) {
+        return MemberDTO.builder().memberId(memberId).name(name).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.pgc.book.service;
 
 import com.pgc.book.dto.BookDTO;
 import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.CursorPageDTO;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -275,4 +276,27 @@ class BookServiceTest {
         // (검증 2) 삭제된 책을 다시 조회하면 'null'이어야 합니다.
         assertThat(foundBook).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("커서(Keyset) 페이지 조회 TDD")
+    @Transactional
+    void getBooksPage_test() {
+        // [ 1. Given ]
+        // (더미 데이터 5권 사용)
+
+        // [ 2. When ]
+        // 첫 페이지(2권) -> nextCursor로 두 번째 페이지(2권) 조회
+        CursorPageDTO<BookDTO> first = bookService.getBooksPage(null, 2);
+        CursorPageDTO<BookDTO> second = bookService.getBooksPage(first.getNextCursor(), 2);
+
+        // [ 3. Then ]
+        assertThat(first.getItems()).hasSize(2);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(first.getItems().get(1).getBookId());
+
+        // 두 번째 페이지는 첫 페이지의 마지막 ID보다 작은 ID만 포함해야 합니다. (ID 내림차순)
+        assertThat(second.getItems())
+                .isNotEmpty()
+                .allSatisfy(book -> assertThat(book.getBookId()).isLessThan(first.getNextCursor()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.pgc.book.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgc.book.snapshot.ResponseSnapshotCache.Snapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSnapshotCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("같은 버전은 다시 직렬화하지 않고, 버전이 바뀌면 새로 만든다")
+    void get_versioned_test() {
+        ResponseSnapshotCache cache = new ResponseSnapshotCache(objectMapper, new SimpleMeterRegistry(), 1 << 20, 1024);
+        AtomicInteger serialized = new AtomicInteger();
+
+        cache.get("books:all", "\"v1\"", () -> { serialized.incrementAndGet(); return List.of("a"); });
+        cache.get("books:all", "\"v1\"", () -> { serialized.incrementAndGet(); return List.of("a"); });
+        Snapshot changed = cache.get("books:all", "\"v2\"", () -> { serialized.incrementAndGet(); return List.of("b"); });
+
+        assertThat(serialized.get()).isEqualTo(2);
+        assertThat(new String(changed.identity())).isEqualTo("[\"b\"]");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    @DisplayName("큰 응답은 gzip 압축본을 함께 저장한다")
+    void get_gzip_test() throws Exception {
+        ResponseSnapshotCache cache = new ResponseSnapshotCache(objectMapper, new SimpleMeterRegistry(), 1 << 20, 1024);
+        List<String> body = Collections.nCopies(500, "스프링 부트 입문");
+
+        Snapshot snapshot = cache.get("books:all", "\"v1\"", () -> body);
+
+        assertThat(snapshot.gzip()).isNotNull();
+        assertThat(snapshot.gzip().length).isLessThan(snapshot.identity().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(snapshot.identity());
+        }
+        // 작은 응답은 압축하지 않습니다.
+        assertThat(cache.get("small", "\"v1\"", () -> List.of(1)).gzip()).isNull();
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 가장 오래 안 쓰인 스냅샷부터 버린다")
+    void get_lruEviction_test() {
+        // 스냅샷 하나 = 약 1KB (압축 안 함)
+        ResponseSnapshotCache cache = new ResponseSnapshotCache(objectMapper, new SimpleMeterRegistry(), 2_500, Integer.MAX_VALUE);
+        String kilobyte = "x".repeat(1_000);
+
+        cache.get("a", "\"v1\"", () -> kilobyte);
+        cache.get("b", "\"v1\"", () -> kilobyte);
+        cache.get("a", "\"v1\"", () -> kilobyte); // a 를 최근 사용으로
+        cache.get("c", "\"v1\"", () -> kilobyte); // b 가 밀려남
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.totalBytes()).isLessThanOrEqualTo(2_500);
+        AtomicInteger serialized = new AtomicInteger();
+        cache.get("a", "\"v1\"", () -> { serialized.incrementAndGet(); return kilobyte; });
+        cache.get("b", "\"v1\"", () -> { serialized.incrementAndGet(); return kilobyte; });
+        assertThat(serialized.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding 해석")
+    void acceptsGzip_test() {
+        assertThat(ResponseSnapshotCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ResponseSnapshotCache.acceptsGzip("br;q=1.0, *;q=0.5")).isTrue();
+        assertThat(ResponseSnapshotCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseSnapshotCache.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseSnapshotCache.acceptsGzip(null)).isFalse();
+        // gzip 항목이 있으면 * 보다 우선합니다. (순서와 무관)
+        assertThat(ResponseSnapshotCache.acceptsGzip("*;q=0.5, gzip;q=0")).isFalse();
+        assertThat(ResponseSnapshotCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(ResponseSnapshotCache.acceptsGzip("br, gzip;q=0.5, *;q=0")).isTrue();
+        assertThat(ResponseSnapshotCache.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(ResponseSnapshotCache.acceptsGzip("GZIP; Q=0.0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("압축본은 -gz ETag 로 응답하고, 두 ETag 모두 304 로 확인된다")
+    void respond_gzipEtag_test() {
+        ResponseSnapshotCache cache = new ResponseSnapshotCache(objectMapper, new SimpleMeterRegistry(), 1 << 20, 1024);
+        List<String> body = Collections.nCopies(500, "스프링 부트 입문");
+
+        ResponseEntity<byte[]> gzip = cache.respond("books:all", "\"v1\"", request("gzip", null), () -> body);
+        ResponseEntity<byte[]> identity = cache.respond("books:all", "\"v1\"", request(null, null), () -> body);
+
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("\"v1-gz\"");
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(identity.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        ResponseEntity<byte[]> gzipRevalidated = cache.respond("books:all", "\"v1\"", request("gzip", "\"v1-gz\""), () -> body);
+        ResponseEntity<byte[]> identityRevalidated = cache.respond("books:all", "\"v1\"", request("gzip", "W/\"v1\""), () -> body);
+        assertThat(gzipRevalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(gzipRevalidated.getHeaders().getETag()).isEqualTo("\"v1-gz\"");
+        assertThat(identityRevalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        // 압축본 ETag 를 가진 클라이언트가 이제 gzip 을 받지 않으면 원본을 새로 받습니다.
+        ResponseEntity<byte[]> changedEncoding = cache.respond("books:all", "\"v1\"", request(null, "\"v1-gz\""), () -> body);
+        assertThat(changedEncoding.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changedEncoding.getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    private static ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
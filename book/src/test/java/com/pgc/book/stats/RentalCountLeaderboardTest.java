@@ -0,0 +1,139 @@
+package com.pgc.book.stats;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.BookRentalCountDTO;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.mapper.BookMapper;
+import com.pgc.book.mapper.RentalMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 순위표 자료구조만 검증합니다. (BookMapper / RentalMapper / 트랜잭션 매니저는 Mockito mock)
+class RentalCountLeaderboardTest {
+
+    private BookMapper bookMapper;
+    private RentalCountLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        bookMapper = mock(BookMapper.class);
+        when(bookMapper.getBookRentalCounts(true)).thenReturn(List.of(
+                new BookRentalCountDTO(1, "JPA 프로그래밍", 2),
+                new BookRentalCountDTO(2, "스프링 부트 입문", 1),
+                new BookRentalCountDTO(5, "클린 코드", 0)));
+
+        leaderboard = new RentalCountLeaderboard(bookMapper, mock(RentalMapper.class),
+                mock(PlatformTransactionManager.class));
+        leaderboard.rebuild();
+    }
+
+    @Test
+    @DisplayName("대출 커밋 이벤트로 카운터와 순위가 갱신된다")
+    void onRentalChanged_test() {
+        // [ 2. When ] '스프링 부트 입문'(2)을 두 번 더 대출
+        leaderboard.onRentalChanged(rentalCreated(2));
+        leaderboard.onRentalChanged(rentalCreated(2));
+
+        // [ 3. Then ] 3회로 1위, 'JPA 프로그래밍'은 2위
+        assertThat(leaderboard.top(2))
+                .extracting(BookRentalCountDTO::getBookId, BookRentalCountDTO::getRentalCount)
+                .containsExactly(
+                        tuple(2, 3),
+                        tuple(1, 2));
+    }
+
+    @Test
+    @DisplayName("도서 등록/삭제 이벤트가 순위표에 반영된다")
+    void onBookChanged_test() {
+        // [ 2. When ]
+        BookDTO newBook = BookDTO.builder().bookId(6).title("새 책").build();
+        leaderboard.onBookChanged(new BookChangedEvent(ChangeType.CREATED, 6, newBook));
+        leaderboard.onBookChanged(new BookChangedEvent(ChangeType.DELETED, 1, null));
+
+        // [ 3. Then ] 새 책은 0회로 포함되고, 삭제된 책은 빠진다.
+        List<BookRentalCountDTO> counts = leaderboard.top(Integer.MAX_VALUE);
+        assertThat(counts).extracting(BookRentalCountDTO::getBookId).containsExactly(2, 5, 6);
+    }
+
+    @Test
+    @DisplayName("다시 로드하는 도중 커밋된 대출은 집계에 없을 때만 로드가 끝난 뒤 더해진다")
+    void eventDuringRebuild_test() throws Exception {
+        // [ 1. Given ] 집계가 시작되면 이벤트를 보내고, 이벤트 스레드들이 락을 기다리기 시작한 뒤
+        // rental_id 10 까지 들어 있는 집계(2회)를 돌려준다.
+        BookMapper bookMapper = mock(BookMapper.class);
+        RentalMapper rentalMapper = mock(RentalMapper.class);
+        RentalCountLeaderboard reloading = new RentalCountLeaderboard(bookMapper, rentalMapper,
+                mock(PlatformTransactionManager.class));
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch eventsSent = new CountDownLatch(1);
+        when(rentalMapper.findMaxRentalId()).thenReturn(10);
+        when(bookMapper.getBookRentalCounts(true)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            eventsSent.await(5, TimeUnit.SECONDS);
+            return List.of(new BookRentalCountDTO(1, "JPA 프로그래밍", 2));
+        });
+
+        // [ 2. When ] 집계에 포함된 대출(10)과 집계 이후의 대출(11)
+        Thread loader = new Thread(reloading::rebuild);
+        loader.start();
+        queryStarted.await(5, TimeUnit.SECONDS);
+        List<Thread> events = List.of(
+                new Thread(() -> reloading.onRentalChanged(rentalCreated(10, 1))),
+                new Thread(() -> reloading.onRentalChanged(rentalCreated(11, 1))));
+        for (Thread event : events) {
+            event.start();
+            while (event.getState() != Thread.State.WAITING && event.isAlive()) {
+                Thread.onSpinWait();
+            }
+        }
+        eventsSent.countDown();
+        loader.join();
+        for (Thread event : events) {
+            event.join();
+        }
+
+        // [ 3. Then ] 집계(2회)에 11번 대출만 더해진다.
+        assertThat(reloading.top(1))
+                .extracting(BookRentalCountDTO::getBookId, BookRentalCountDTO::getRentalCount)
+                .containsExactly(tuple(1, 3));
+    }
+
+    @Test
+    @DisplayName("순위표에 없는 도서의 대출은 제목을 조회해서 1회로 추가한다")
+    void unknownBook_test() {
+        // [ 1. Given ]
+        when(bookMapper.findBookById(9)).thenReturn(BookDTO.builder().bookId(9).title("새 책").build());
+
+        // [ 2. When ]
+        leaderboard.onRentalChanged(rentalCreated(9));
+
+        // [ 3. Then ]
+        assertThat(leaderboard.top(Integer.MAX_VALUE))
+                .filteredOn(count -> count.getBookId() == 9)
+                .extracting(BookRentalCountDTO::getTitle, BookRentalCountDTO::getRentalCount)
+                .containsExactly(tuple("새 책", 1));
+    }
+
+    private RentalChangedEvent rentalCreated(int bookId) {
+        return new RentalChangedEvent(ChangeType.CREATED, RentalDTO.builder().memberId(1).bookId(bookId).build());
+    }
+
+    private RentalChangedEvent rentalCreated(int rentalId, int bookId) {
+        return new RentalChangedEvent(ChangeType.CREATED,
+                RentalDTO.builder().rentalId(rentalId).memberId(1).bookId(bookId).build());
+    }
+}
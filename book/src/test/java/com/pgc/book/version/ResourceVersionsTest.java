@@ -0,0 +1,41 @@
+package com.pgc.book.version;
+
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.dto.RentalDTO;
+import com.pgc.book.event.BookChangedEvent;
+import com.pgc.book.event.ChangeType;
+import com.pgc.book.event.RentalChangedEvent;
+import com.pgc.book.version.ResourceVersions.Resource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions versions = new ResourceVersions();
+
+    @Test
+    @DisplayName("쓰기 이벤트가 해당 컬렉션과 엔티티의 ETag만 바꾼다")
+    void etag_test() {
+        // [ 1. Given ]
+        String books = versions.etag(Resource.BOOKS);
+        String stats = versions.etag(Resource.BOOKS, Resource.RENTALS);
+        String book1 = versions.etag(Resource.BOOKS, 1);
+        String book2 = versions.etag(Resource.BOOKS, 2);
+        String members = versions.etag(Resource.MEMBERS);
+
+        // [ 2. When ] 1번 도서 수정, 대출 등록
+        versions.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, 1, BookDTO.builder().bookId(1).build()));
+        versions.onRentalChanged(new RentalChangedEvent(ChangeType.CREATED, RentalDTO.builder().rentalId(7).bookId(2).build()));
+
+        // [ 3. Then ]
+        assertThat(versions.etag(Resource.BOOKS)).isNotEqualTo(books);
+        assertThat(versions.etag(Resource.BOOKS, Resource.RENTALS)).isNotEqualTo(stats);
+        assertThat(versions.etag(Resource.BOOKS, 1)).isNotEqualTo(book1);
+        assertThat(versions.etag(Resource.BOOKS, 2)).isEqualTo(book2);
+        assertThat(versions.etag(Resource.MEMBERS)).isEqualTo(members);
+        // 강한(strong) ETag 형식 : 따옴표로 감싸고 W/ 접두어 없음
+        assertThat(books).startsWith("\"").endsWith("\"");
+    }
+}
@@ -0,0 +1,118 @@
+package com.pgc.book.version;
+
+import com.pgc.book.config.CacheConfig;
+import com.pgc.book.dto.BookDTO;
+import com.pgc.book.version.ResourceVersions.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스프링 컨텍스트 없이 캐시 + 버전만으로 커밋 후 무효화와 "조회 중 수정 커밋" 경쟁을 검증합니다.
+class VersionedCacheTest {
+
+    private final CacheManager cacheManager = new CacheConfig().cacheManager("maximumSize=100");
+    private final ResourceVersions versions = new ResourceVersions();
+    private final VersionedCache versionedCache = new VersionedCache(cacheManager, versions);
+
+    // DB 대신 쓰는 1번 도서 행과 조회 횟수
+    private final AtomicReference<BookDTO> row = new AtomicReference<>(book("JPA 프로그래밍"));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 버전이면 캐시에서, 수정이 커밋되어 버전이 오르면 다시 조회한다")
+    void hitAndVersionMiss_test() {
+        // [ 1. Given ]
+        get();
+        get();
+
+        // [ 2. When ] 수정 커밋 (버전만 오르고 evict 는 아직)
+        row.set(book("JPA 프로그래밍 2판"));
+        versions.bump(Resource.BOOKS, 1);
+
+        // [ 3. Then ]
+        assertThat(get().getTitle()).isEqualTo("JPA 프로그래밍 2판");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("조회하는 동안 수정이 커밋되면 이전 행을 저장하지 않는다")
+    void updateCommittedDuringLoad_test() {
+        // [ 1. Given ] 이전 행을 읽은 직후 수정이 커밋되고 evict + 버전 증가가 일어납니다.
+        BookDTO stale = versionedCache.get(CacheConfig.BOOKS, Resource.BOOKS, 1, () -> {
+            BookDTO loaded = row.get().copy();
+            row.set(book("JPA 프로그래밍 2판"));
+            cacheManager.getCache(CacheConfig.BOOKS).evict(1);
+            versions.bump(Resource.BOOKS, 1);
+            return loaded;
+        });
+
+        // [ 2. When ]
+        BookDTO next = get();
+
+        // [ 3. Then ] 이번 호출은 이전 행을 받지만, 다음 호출은 새 행을 받습니다.
+        assertThat(stale.getTitle()).isEqualTo("JPA 프로그래밍");
+        assertThat(next.getTitle()).isEqualTo("JPA 프로그래밍 2판");
+    }
+
+    @Test
+    @DisplayName("evict 가 버전 증가보다 먼저 일어나 이전 행이 다시 저장되어도, 버전이 오르면 버린다")
+    void stalePutAfterEvict_test() {
+        // [ 1. Given ] 이전 행을 읽는 동안 evict 만 먼저 반영되고, 조회가 끝난 뒤 버전이 오릅니다.
+        versionedCache.get(CacheConfig.BOOKS, Resource.BOOKS, 1, () -> {
+            BookDTO loaded = row.get().copy();
+            row.set(book("JPA 프로그래밍 2판"));
+            cacheManager.getCache(CacheConfig.BOOKS).evict(1);
+            return loaded;
+        });
+
+        // [ 2. When ]
+        versions.bump(Resource.BOOKS, 1);
+
+        // [ 3. Then ]
+        assertThat(get().getTitle()).isEqualTo("JPA 프로그래밍 2판");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 무효화는 커밋된 뒤에 반영된다")
+    void evictAfterCommit_test() {
+        // [ 1. Given ]
+        get();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // [ 2. When ] 수정 트랜잭션 안에서 evict
+        cacheManager.getCache(CacheConfig.BOOKS).evict(1);
+        boolean cachedBeforeCommit = cacheManager.getCache(CacheConfig.BOOKS).get(1) != null;
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // [ 3. Then ]
+        assertThat(cachedBeforeCommit).isTrue();
+        assertThat(cacheManager.getCache(CacheConfig.BOOKS).get(1)).isNull();
+    }
+
+    private BookDTO get() {
+        return versionedCache.get(CacheConfig.BOOKS, Resource.BOOKS, 1, () -> {
+            loads.incrementAndGet();
+            return row.get().copy();
+        });
+    }
+
+    private static BookDTO book(String title) {
+        return BookDTO.builder().bookId(1).title(title).price(30000).build();
+    }
+}